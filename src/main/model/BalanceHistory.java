@@ -0,0 +1,128 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Represents the running balance of a financial tracker over time, aggregated
+ * into one bucket per day that has transactions. The balance is a step
+ * function: it holds the balance at the end of the last bucket on or before a
+ * day, and 0 before the first. A range of days can be downsampled into a
+ * fixed number of columns holding the lowest and highest balance in each, so
+ * a chart draws at most two points per column however many days it spans.
+ * A history does not follow later changes to the tracker.
+ */
+public class BalanceHistory {
+
+    private final long[] days;
+    private final double[] balances;
+
+    /**
+     * EFFECTS: constructs history of the balance of the transactions in
+     * tracker, sorting their epoch days without boxing them
+     */
+    public BalanceHistory(FinancialTracker tracker) {
+        int count = tracker.getTransactionCount();
+        long[] dated = new long[count];
+        for (int i = 0; i < count; i++) {
+            dated[i] = tracker.getTransaction(i).getDate().toEpochDay();
+        }
+        long[] sorted = dated.clone();
+        Arrays.sort(sorted);
+        days = distinct(sorted);
+        balances = new double[days.length];
+        for (int i = 0; i < count; i++) {
+            balances[Arrays.binarySearch(days, dated[i])] += tracker.getTransaction(i).getAmount();
+        }
+        for (int i = 1; i < balances.length; i++) {
+            balances[i] += balances[i - 1];
+        }
+    }
+
+    /**
+     * EFFECTS: returns number of days that have transactions
+     */
+    public int getDayCount() {
+        return days.length;
+    }
+
+    /**
+     * REQUIRES: getDayCount() > 0
+     * EFFECTS: returns epoch day of the earliest transaction
+     */
+    public long getFirstDay() {
+        return days[0];
+    }
+
+    /**
+     * REQUIRES: getDayCount() > 0
+     * EFFECTS: returns epoch day of the latest transaction
+     */
+    public long getLastDay() {
+        return days[days.length - 1];
+    }
+
+    /**
+     * EFFECTS: returns balance at the end of date
+     */
+    public double balanceOn(LocalDate date) {
+        int next = firstAfter(date.toEpochDay());
+        return next == 0 ? 0 : balances[next - 1];
+    }
+
+    /**
+     * REQUIRES: low.length == high.length > 0 and fromDay < toDay
+     * MODIFIES: low, high
+     * EFFECTS: splits the epoch days from fromDay to toDay into low.length
+     * equal columns and sets low and high of each to the lowest and highest
+     * balance in that column, looking only at the buckets in the range
+     */
+    public void downsample(double fromDay, double toDay, double[] low, double[] high) {
+        double width = (toDay - fromDay) / low.length;
+        int next = firstAfter(fromDay);
+        double current = next == 0 ? 0 : balances[next - 1];
+        for (int column = 0; column < low.length; column++) {
+            double end = fromDay + width * (column + 1);
+            double lowest = current;
+            double highest = current;
+            while (next < days.length && days[next] < end) {
+                current = balances[next++];
+                lowest = Math.min(lowest, current);
+                highest = Math.max(highest, current);
+            }
+            low[column] = lowest;
+            high[column] = highest;
+        }
+    }
+
+    /**
+     * EFFECTS: returns index of the first bucket later than day
+     */
+    private int firstAfter(double day) {
+        int lo = 0;
+        int hi = days.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * REQUIRES: sorted is in ascending order
+     * EFFECTS: returns the distinct values of sorted, in order
+     */
+    private static long[] distinct(long[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+}
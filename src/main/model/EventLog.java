@@ -1,8 +1,9 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Represents a log of alarm system events.
@@ -13,7 +14,7 @@ import java.util.Iterator;
 public class EventLog implements Iterable<Event> {
     /** the only EventLog in the system (Singleton Design Pattern) */
     private static EventLog theLog;
-    private final Collection<Event> events;
+    private final List<Event> events;
     
     /** 
      * Prevent external construction.
@@ -53,6 +54,78 @@ public class EventLog implements Iterable<Event> {
         logEvent(new Event("Event log cleared."));
     }
     
+    /**
+     * Gets the number of events in the log.
+     * @return the number of events logged since the log was last cleared
+     */
+    public int getEventCount() {
+        return events.size();
+    }
+
+    /**
+     * Gets an event by its position in the log, oldest first.
+     * @param index the position of the event, from 0 to getEventCount() - 1
+     * @return the event at index
+     */
+    public Event getEvent(int index) {
+        return events.get(index);
+    }
+
+    /**
+     * Finds the next event whose description contains the given text,
+     * ignoring case.
+     * @param text the text to look for
+     * @param fromIndex the position to start looking from
+     * @return the position of the first such event at or after fromIndex,
+     *     or -1 if there is none
+     */
+    public int findEvent(String text, int fromIndex) {
+        for (int i = Math.max(0, fromIndex); i < events.size(); i++) {
+            if (containsIgnoreCase(events.get(i).getDescription(), text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tells whether a description contains some text, ignoring case, without
+     * making lower-case copies of either.
+     * @param description the description to look in
+     * @param text the text to look for
+     * @return true if description contains text, ignoring case
+     */
+    private static boolean containsIgnoreCase(String description, String text) {
+        int last = description.length() - text.length();
+        for (int start = 0; start <= last; start++) {
+            if (description.regionMatches(true, start, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first event logged at or after the given time. As events
+     * are logged in time order, this is a binary search.
+     * @param time the time to look for
+     * @return the position of the first event logged at or after time, or
+     *     getEventCount() if every event was logged before it
+     */
+    public int indexAt(Date time) {
+        int lo = 0;
+        int hi = events.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (events.get(mid).getDate().before(time)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
     @Override
     public Iterator<Event> iterator() {
         return events.iterator();
@@ -1,23 +1,56 @@
 package model;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import persistence.RecordSink;
 import persistence.Writable;
 
 public class FinancialTracker implements Writable {
 
-    private List<Transaction> transactions;
+    private TransactionStorage transactions;
+    private List<TrackerListener> listeners;
+    private long version;
+    private boolean totalsValid;
+    private double totalIncome;
+    private double totalExpenses;
 
     /**
      * EFFECT: construct a financial tracker with empty transaction list
      */
     public FinancialTracker() {
-        transactions = new ArrayList<>();
+        this(new MemoryStorage());
+    }
+
+    /**
+     * EFFECT: construct a financial tracker holding the transactions kept in
+     * given storage; transactions are indexed in the storage's order
+     */
+    public FinancialTracker(TransactionStorage storage) {
+        transactions = storage;
+        listeners = new ArrayList<>();
+    }
+
+    /**
+     * MODIFIES: this EFFECTS: registers listener to be notified of every
+     * later change to the transactions
+     */
+    public void addListener(TrackerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * MODIFIES: this EFFECTS: stops notifying listener of changes
+     */
+    public void removeListener(TrackerListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -25,9 +58,44 @@ public class FinancialTracker implements Writable {
      * budget if applicable REQUIRES: transaction is not null
      */
     public void addTransaction(Transaction transaction) {
-        transactions.add(transaction);
+        int index = transactions.add(transaction);
+        List<Transaction> added = Collections.singletonList(transaction);
+        changed(index == transactions.size() - 1 ? added : null);
         EventLog.getInstance().logEvent(new Event("Transaction added: " + transaction.getDescription()
                 + " ($" + transaction.getAmount() + ")"));
+        for (TrackerListener listener : listeners) {
+            listener.transactionsAdded(index, added);
+        }
+    }
+
+    /**
+     * MODIFIES: this EFFECTS: adds given transactions to the end of the
+     * tracker in order; listeners are notified once for the whole list, or
+     * once per transaction if the storage orders transactions itself
+     * REQUIRES: no transaction is null
+     */
+    public void addTransactions(List<Transaction> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        if (!transactions.keepsInsertionOrder()) {
+            for (Transaction transaction : added) {
+                addTransaction(transaction);
+            }
+            return;
+        }
+        int index = transactions.size();
+        transactions.addAll(added);
+        changed(added);
+        EventLog log = EventLog.getInstance();
+        for (Transaction transaction : added) {
+            log.logEvent(new Event("Transaction added: " + transaction.getDescription()
+                    + " ($" + transaction.getAmount() + ")"));
+        }
+        List<Transaction> view = Collections.unmodifiableList(added);
+        for (TrackerListener listener : listeners) {
+            listener.transactionsAdded(index, view);
+        }
     }
 
     /**
@@ -35,19 +103,36 @@ public class FinancialTracker implements Writable {
      * updates budget if applicabl REQUIRES: transaction is not null
      */
     public boolean removeTransaction(Transaction transaction) {
-        boolean removed = transactions.remove(transaction);
-        if (removed) {
-            EventLog.getInstance().logEvent(new Event("Transaction removed: " + transaction.getDescription()
-                    + " ($" + transaction.getAmount() + ")"));
+        int index = transactions.remove(transaction);
+        if (index < 0) {
+            return false;
+        }
+        changed(null);
+        EventLog.getInstance().logEvent(new Event("Transaction removed: " + transaction.getDescription()
+                + " ($" + transaction.getAmount() + ")"));
+        for (TrackerListener listener : listeners) {
+            listener.transactionRemoved(index, transaction);
         }
-        return removed;
+        return true;
     }
 
     /**
      * EFFECTS: returns list of all transactions
      */
     public List<Transaction> getTransactions() {
-        return new ArrayList<>(transactions);
+        List<Transaction> copy = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            copy.add(transaction);
+        }
+        return copy;
+    }
+
+    /**
+     * REQUIRES: 0 <= index < getTransactionCount() EFFECTS: returns the
+     * transaction at given index without copying the transaction list
+     */
+    public Transaction getTransaction(int index) {
+        return transactions.get(index);
     }
 
     /**
@@ -55,37 +140,120 @@ public class FinancialTracker implements Writable {
      * category is not null
      */
     public List<Transaction> getTransactionsByCategory(String category) {
-        List<Transaction> filteredTransactions = new ArrayList<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getCategory().equals(category)) {
-                filteredTransactions.add(transaction);
-            }
-        }
-        EventLog.getInstance().logEvent(new Event("Transactions filtered by category: " + category
-                + " (found " + filteredTransactions.size() + " transactions)"));
+        List<Transaction> filteredTransactions = transactions.findByCategory(category);
+        logCategoryFilter(category, filteredTransactions.size());
         return filteredTransactions;
     }
 
+    /**
+     * EFFECTS: logs that the transactions were filtered by category and count
+     * of them were found; used by every view that filters by category
+     */
+    public static void logCategoryFilter(String category, int count) {
+        EventLog.getInstance().logEvent(new Event("Transactions filtered by category: " + category
+                + " (found " + count + " transactions)"));
+    }
+
+    /**
+     * EFFECTS: returns list of transactions dated between from and to
+     * inclusive REQUIRES: from and to are not null
+     */
+    public List<Transaction> getTransactionsBetween(LocalDate from, LocalDate to) {
+        return transactions.findBetween(from, to);
+    }
+
     /**
      * MODIFIES: this EFFECTS: removes all transactions from the tracker
      */
     public void clearTransactions() {
         int count = transactions.size();
         transactions.clear();
+        changed(null);
         EventLog.getInstance().logEvent(new Event("All transactions cleared (" + count + " transactions removed)"));
+        for (TrackerListener listener : listeners) {
+            listener.transactionsCleared(count);
+        }
     }
 
     /**
-     * EFFECTS: returns total income amount
+     * EFFECTS: returns a point-in-time copy of this tracker holding the same
+     * transactions in memory; the copy has no listeners and creating it logs
+     * no events
+     */
+    public FinancialTracker snapshot() {
+        FinancialTracker copy = new FinancialTracker();
+        copy.transactions.addAll(getTransactions());
+        return copy;
+    }
+
+    /**
+     * EFFECTS: returns total income amount; the total is kept up to date as
+     * transactions are appended, so this does not scan the transactions
+     * unless some were removed or inserted out of order since the last call
      */
     public double getTotalIncome() {
-        double totalIncome = 0.0;
-        for (Transaction transaction : transactions) {
-            if (transaction.getAmount() > 0) {
-                totalIncome += transaction.getAmount();
+        computeTotals();
+        return totalIncome;
+    }
+
+    /**
+     * EFFECTS: returns total amount of expenses as a positive number, kept up
+     * to date as getTotalIncome is
+     */
+    public double getTotalExpenses() {
+        computeTotals();
+        return totalExpenses;
+    }
+
+    /**
+     * EFFECTS: returns a number that changes whenever the transactions do, so
+     * that views can tell whether what they show is out of date
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * MODIFIES: this EFFECTS: counts a change to the transactions; adds the
+     * appended transactions to the totals, or drops the totals so that they
+     * are recomputed if the change was anything but appending them
+     */
+    private void changed(List<Transaction> appended) {
+        version++;
+        if (appended == null) {
+            totalsValid = false;
+        } else if (totalsValid) {
+            for (Transaction transaction : appended) {
+                accumulate(transaction);
             }
         }
-        return totalIncome;
+    }
+
+    /**
+     * MODIFIES: this EFFECTS: recomputes the totals if they are out of date,
+     * summing in transaction order
+     */
+    private void computeTotals() {
+        if (totalsValid) {
+            return;
+        }
+        totalIncome = 0.0;
+        totalExpenses = 0.0;
+        for (Transaction transaction : transactions) {
+            accumulate(transaction);
+        }
+        totalsValid = true;
+    }
+
+    /**
+     * MODIFIES: this EFFECTS: adds transaction to the income or expense total
+     */
+    private void accumulate(Transaction transaction) {
+        if (transaction.getAmount() > 0) {
+            totalIncome += transaction.getAmount();
+        } else if (transaction.getAmount() < 0) {
+            totalExpenses -= transaction.getAmount();
+        }
     }
 
     /**
@@ -102,6 +270,17 @@ public class FinancialTracker implements Writable {
         return json;
     }
 
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.beginRecord(1);
+        sink.beginList("transactions", transactions.size());
+        for (Transaction t : transactions) {
+            t.writeTo(sink);
+        }
+        sink.endList();
+        sink.endRecord();
+    }
+
     // EFFECTS: returns transactions in this financial tracker as a JSON array
     private JSONArray transactionsToJson() {
         JSONArray jsonArray = new JSONArray();
@@ -0,0 +1,89 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents transaction storage backed by a list in memory, keeping
+ * transactions in the order they were added.
+ */
+class MemoryStorage implements TransactionStorage {
+
+    private List<Transaction> transactions;
+
+    /**
+     * EFFECTS: constructs empty storage
+     */
+    MemoryStorage() {
+        transactions = new ArrayList<>();
+    }
+
+    @Override
+    public int size() {
+        return transactions.size();
+    }
+
+    @Override
+    public Transaction get(int index) {
+        return transactions.get(index);
+    }
+
+    @Override
+    public boolean keepsInsertionOrder() {
+        return true;
+    }
+
+    @Override
+    public int add(Transaction transaction) {
+        transactions.add(transaction);
+        return transactions.size() - 1;
+    }
+
+    @Override
+    public void addAll(List<Transaction> added) {
+        transactions.addAll(added);
+    }
+
+    @Override
+    public int remove(Transaction transaction) {
+        int index = transactions.indexOf(transaction);
+        if (index >= 0) {
+            transactions.remove(index);
+        }
+        return index;
+    }
+
+    @Override
+    public void clear() {
+        transactions.clear();
+    }
+
+    @Override
+    public List<Transaction> findByCategory(String category) {
+        List<Transaction> found = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.hasCategory(category)) {
+                found.add(transaction);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Transaction> findBetween(LocalDate from, LocalDate to) {
+        List<Transaction> found = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            if (!transaction.getDate().isBefore(from) && !transaction.getDate().isAfter(to)) {
+                found.add(transaction);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Iterator<Transaction> iterator() {
+        return transactions.iterator();
+    }
+}
@@ -0,0 +1,29 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Represents an observer that is notified whenever the transactions held by
+ * a FinancialTracker change. Notifications are delivered on the thread that
+ * made the change, after the change has been applied.
+ */
+public interface TrackerListener {
+
+    /**
+     * EFFECTS: called after added transactions have been stored in the
+     * tracker, the first of them at fromIndex and the rest right after it
+     */
+    void transactionsAdded(int fromIndex, List<Transaction> added);
+
+    /**
+     * EFFECTS: called after removed transaction has been taken out of the
+     * tracker from position index
+     */
+    void transactionRemoved(int index, Transaction removed);
+
+    /**
+     * EFFECTS: called after all count transactions have been removed from
+     * the tracker
+     */
+    void transactionsCleared(int count);
+}
@@ -1,7 +1,10 @@
 package model;
 
 import java.time.LocalDate;
+import java.io.IOException;
+import java.util.List;
 import org.json.JSONObject;
+import persistence.RecordSink;
 import persistence.Writable;
 
 /**
@@ -11,6 +14,13 @@ import persistence.Writable;
  */
 public class Transaction implements Writable {
 
+    /**
+     * The categories offered when a transaction is entered. Loaded transactions
+     * share these very instances, so filtering by one of them matches by reference
+     */
+    public static final List<String> CATEGORIES = List.of(
+            "Food", "Rent", "Salary", "Entertainment", "Transportation", "Other");
+
     private double amount;
     private String description;
     private String category;
@@ -48,6 +58,16 @@ public class Transaction implements Writable {
         return category;
     }
 
+    /**
+     * EFFECTS: returns true if the transaction is in category. Loaded transactions
+     * share one string per category, so a match is usually decided by reference
+     * and a mismatch by the hash codes each string caches, without comparing text
+     */
+    public boolean hasCategory(String category) {
+        return this.category == category
+                || (this.category.hashCode() == category.hashCode() && this.category.equals(category));
+    }
+
     /**
      * EFFECTS: returns the date of the transaction
      */
@@ -65,4 +85,14 @@ public class Transaction implements Writable {
         return json;
     }
 
+    @Override
+    public void writeTo(RecordSink sink) throws IOException {
+        sink.beginRecord(4);
+        sink.writeDate("date", date);
+        sink.writeAmount("amount", amount);
+        sink.writeString("description", description);
+        sink.writeString("category", category);
+        sink.endRecord();
+    }
+
 }
@@ -0,0 +1,264 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents cached sort orders over the transactions of a financial tracker,
+ * one permutation of tracker indices per sort key. A permutation is built the
+ * first time its key is asked for and is then kept up to date as transactions
+ * are added, removed or cleared, so switching back to a key costs nothing and
+ * switching between ascending and descending only reads the permutation the
+ * other way. Equal transactions stay in tracker order. Changes to the tracker
+ * must be passed on to this object as a TrackerListener, before anything
+ * reads it.
+ */
+public class TransactionPermutations implements TrackerListener {
+
+    /**
+     * The fields transactions can be sorted by.
+     */
+    public enum Key { DATE, AMOUNT, CATEGORY, DESCRIPTION }
+
+    private final FinancialTracker tracker;
+    private final int[][] permutations;
+
+    /**
+     * EFFECTS: constructs sort orders over the transactions of tracker, none
+     * of which is built yet
+     */
+    public TransactionPermutations(FinancialTracker tracker) {
+        this.tracker = tracker;
+        this.permutations = new int[Key.values().length][];
+    }
+
+    /**
+     * EFFECTS: returns true if the permutation for key has been built
+     */
+    public boolean isBuilt(Key key) {
+        return permutations[key.ordinal()] != null;
+    }
+
+    /**
+     * REQUIRES: 0 <= row < number of transactions in the tracker
+     * MODIFIES: this
+     * EFFECTS: returns tracker index of the transaction at row when sorted by
+     * key, ascending or descending, building the permutation if needed
+     */
+    public int indexAt(Key key, boolean ascending, int row) {
+        int[] permutation = permutations[key.ordinal()];
+        if (permutation == null) {
+            permutation = sortedRange(0, tracker.getTransactionCount(), key);
+            permutations[key.ordinal()] = permutation;
+        }
+        return ascending ? permutation[row] : permutation[permutation.length - 1 - row];
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shifts the indices at or after fromIndex past the added
+     * transactions, then sorts the added transactions on their own and merges
+     * them into each built permutation
+     */
+    @Override
+    public void transactionsAdded(int fromIndex, List<Transaction> added) {
+        int count = added.size();
+        for (Key key : Key.values()) {
+            int[] permutation = permutations[key.ordinal()];
+            if (permutation == null) {
+                continue;
+            }
+            for (int i = 0; i < permutation.length; i++) {
+                if (permutation[i] >= fromIndex) {
+                    permutation[i] += count;
+                }
+            }
+            permutations[key.ordinal()] = merge(permutation, sortedRange(fromIndex, count, key), key);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: drops index from each built permutation and shifts the
+     * indices after it down by one
+     */
+    @Override
+    public void transactionRemoved(int index, Transaction removed) {
+        for (Key key : Key.values()) {
+            int[] permutation = permutations[key.ordinal()];
+            if (permutation == null) {
+                continue;
+            }
+            int[] kept = new int[permutation.length - 1];
+            int count = 0;
+            for (int position : permutation) {
+                if (position != index) {
+                    kept[count++] = position > index ? position - 1 : position;
+                }
+            }
+            permutations[key.ordinal()] = kept;
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: empties each built permutation
+     */
+    @Override
+    public void transactionsCleared(int count) {
+        for (Key key : Key.values()) {
+            if (permutations[key.ordinal()] != null) {
+                permutations[key.ordinal()] = new int[0];
+            }
+        }
+    }
+
+    /**
+     * EFFECTS: returns the count tracker indices from first on, sorted by key;
+     * each transaction's key is read once into an array that the merge sort
+     * moves along with the indices, so sorting reads memory in order
+     */
+    private int[] sortedRange(int first, int count, Key key) {
+        int[] indices = new int[count];
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = first + i;
+            Transaction transaction = tracker.getTransaction(first + i);
+            if (key == Key.DATE) {
+                keys[i] = transaction.getDate().toEpochDay();
+            } else if (key == Key.AMOUNT) {
+                long bits = Double.doubleToLongBits(transaction.getAmount());
+                keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            }
+        }
+        if (key == Key.CATEGORY || key == Key.DESCRIPTION) {
+            rankStrings(first, key, keys);
+        }
+        sort(keys, indices);
+        return indices;
+    }
+
+    /**
+     * MODIFIES: keys
+     * EFFECTS: sets each key to the rank, among the distinct values in the
+     * range, of the category or description of the transaction at first plus
+     * its position, so that strings are compared once per distinct value
+     */
+    private void rankStrings(int first, Key key, long[] keys) {
+        Map<String, Integer> ranks = new HashMap<>();
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = text(tracker.getTransaction(first + i), key);
+            ranks.putIfAbsent(values[i], 0);
+        }
+        String[] distinct = ranks.keySet().toArray(new String[0]);
+        Arrays.sort(distinct);
+        for (int rank = 0; rank < distinct.length; rank++) {
+            ranks.put(distinct[rank], rank);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ranks.get(values[i]);
+        }
+    }
+
+    /**
+     * REQUIRES: key is CATEGORY or DESCRIPTION
+     * EFFECTS: returns the text transaction is sorted by under key
+     */
+    private static String text(Transaction transaction, Key key) {
+        return key == Key.CATEGORY ? transaction.getCategory() : transaction.getDescription();
+    }
+
+    /**
+     * EFFECTS: returns comparison of the transactions at two tracker indices
+     * by key, ties going to the lower index
+     */
+    private int compare(int a, int b, Key key) {
+        Transaction first = tracker.getTransaction(a);
+        Transaction second = tracker.getTransaction(b);
+        int result;
+        if (key == Key.DATE) {
+            result = first.getDate().compareTo(second.getDate());
+        } else if (key == Key.AMOUNT) {
+            result = Double.compare(first.getAmount(), second.getAmount());
+        } else {
+            result = text(first, key).compareTo(text(second, key));
+        }
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    /**
+     * REQUIRES: indices is in ascending order
+     * MODIFIES: keys, indices
+     * EFFECTS: sorts keys with a stable bottom-up merge sort, moving indices
+     * along with them
+     */
+    private static void sort(long[] keys, int[] indices) {
+        long[] sourceKeys = keys;
+        int[] source = indices;
+        long[] targetKeys = new long[keys.length];
+        int[] target = new int[indices.length];
+        for (int width = 1; width < keys.length; width *= 2) {
+            for (int start = 0; start < keys.length; start += 2 * width) {
+                int middle = Math.min(start + width, keys.length);
+                int end = Math.min(start + 2 * width, keys.length);
+                mergeRuns(sourceKeys, source, start, middle, end, targetKeys, target);
+            }
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != indices) {
+            System.arraycopy(source, 0, indices, 0, indices.length);
+        }
+    }
+
+    /**
+     * MODIFIES: targetKeys, target
+     * EFFECTS: merges the sorted runs [start..middle) and [middle..end) of
+     * sourceKeys into targetKeys, taking from the first run on ties, and
+     * moves the indices of source into target the same way
+     */
+    private static void mergeRuns(long[] sourceKeys, int[] source, int start, int middle, int end,
+                                  long[] targetKeys, int[] target) {
+        int left = start;
+        int right = middle;
+        for (int out = start; out < end; out++) {
+            int from = right >= end || (left < middle && sourceKeys[left] <= sourceKeys[right]) ? left++ : right++;
+            targetKeys[out] = sourceKeys[from];
+            target[out] = source[from];
+        }
+    }
+
+    /**
+     * EFFECTS: returns the permutation sorted by key with the sorted indices
+     * of added merged in; the place of each added index is found by binary
+     * search, so a few additions cost few comparisons
+     */
+    private int[] merge(int[] permutation, int[] added, Key key) {
+        int[] merged = new int[permutation.length + added.length];
+        int copied = 0;
+        for (int i = 0; i < added.length; i++) {
+            int lo = copied;
+            int hi = permutation.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(permutation[mid], added[i], key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            System.arraycopy(permutation, copied, merged, copied + i, lo - copied);
+            merged[lo + i] = added[i];
+            copied = lo;
+        }
+        System.arraycopy(permutation, copied, merged, copied + added.length, permutation.length - copied);
+        return merged;
+    }
+}
@@ -0,0 +1,114 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Represents the criteria of a transaction search: a category, text that the
+ * description must contain ignoring case, an amount range and a date range.
+ * Unset criteria match every transaction. Queries are immutable, and a query
+ * that refines another matches only transactions the other matches, so its
+ * results can be found among the other's results.
+ */
+public class TransactionQuery {
+
+    public static final TransactionQuery ALL = new TransactionQuery(null, "",
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, null, null);
+
+    private final String category;
+    private final String text;
+    private final double minAmount;
+    private final double maxAmount;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * REQUIRES: text is not null
+     * EFFECTS: constructs query matching transactions in category, whose
+     * description contains text ignoring case, whose amount is between
+     * minAmount and maxAmount and whose date is between from and to, all
+     * inclusive; a null category or date leaves that criterion unset
+     */
+    public TransactionQuery(String category, String text, double minAmount, double maxAmount,
+                            LocalDate from, LocalDate to) {
+        this.category = category;
+        this.text = text;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * EFFECTS: returns query matching only the transactions in category
+     */
+    public static TransactionQuery byCategory(String category) {
+        return new TransactionQuery(category, "", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, null, null);
+    }
+
+    /**
+     * EFFECTS: returns category searched for, or null if any category matches
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * EFFECTS: returns true if this query matches every transaction
+     */
+    public boolean isAll() {
+        return category == null && isCategoryOnly();
+    }
+
+    /**
+     * EFFECTS: returns true if no criterion other than the category is set
+     */
+    public boolean isCategoryOnly() {
+        return text.isEmpty() && minAmount == Double.NEGATIVE_INFINITY && maxAmount == Double.POSITIVE_INFINITY
+                && from == null && to == null;
+    }
+
+    /**
+     * EFFECTS: returns true if transaction meets every criterion; the cheap
+     * criteria are checked before the description text
+     */
+    public boolean matches(Transaction transaction) {
+        double amount = transaction.getAmount();
+        if (amount < minAmount || amount > maxAmount) {
+            return false;
+        }
+        if (category != null && !transaction.hasCategory(category)) {
+            return false;
+        }
+        LocalDate date = transaction.getDate();
+        if ((from != null && date.isBefore(from)) || (to != null && date.isAfter(to))) {
+            return false;
+        }
+        return text.isEmpty() || containsIgnoreCase(transaction.getDescription(), text);
+    }
+
+    /**
+     * EFFECTS: returns true if every transaction this query matches is also
+     * matched by previous
+     */
+    public boolean refines(TransactionQuery previous) {
+        return (previous.category == null || previous.category.equals(category))
+                && containsIgnoreCase(text, previous.text)
+                && minAmount >= previous.minAmount && maxAmount <= previous.maxAmount
+                && (previous.from == null || (from != null && !from.isBefore(previous.from)))
+                && (previous.to == null || (to != null && !to.isAfter(previous.to)));
+    }
+
+    /**
+     * EFFECTS: returns true if value contains part, ignoring case, without
+     * allocating lower-case copies
+     */
+    private static boolean containsIgnoreCase(String value, String part) {
+        int last = value.length() - part.length();
+        for (int start = 0; start <= last; start++) {
+            if (value.regionMatches(true, start, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+
+/**
+ * Represents a search over the transactions of a financial tracker that
+ * remembers its last result. When the next query refines the last one and
+ * the tracker has not changed since, only the transactions in the last result
+ * are checked, so narrowing a search as it is typed gets cheaper with each
+ * step. A search can be run over a copy of the transactions taken at a
+ * known version, so it can run on a background thread while the tracker
+ * changes; searches can be cancelled, and one search runs at a time.
+ */
+public class TransactionSearch {
+
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final FinancialTracker tracker;
+    private TransactionQuery lastQuery;
+    private long lastVersion;
+    private int[] lastRows;
+
+    /**
+     * EFFECTS: constructs search over the transactions of tracker
+     */
+    public TransactionSearch(FinancialTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * EFFECTS: returns tracker searched
+     */
+    public FinancialTracker getTracker() {
+        return tracker;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: returns the indices, in order, of the transactions matching
+     * query, or null if cancelled returned true before the search finished;
+     * the result is remembered so that a later refining query only checks
+     * these transactions. The tracker must not change while this runs
+     */
+    public synchronized int[] search(TransactionQuery query, BooleanSupplier cancelled) {
+        return scan(query, tracker.getVersion(), tracker.getTransactionCount(), tracker::getTransaction, cancelled);
+    }
+
+    /**
+     * REQUIRES: transactions holds the tracker's transactions, in order, as
+     * they were when its version was version
+     * MODIFIES: this
+     * EFFECTS: searches as search(query, cancelled) does, but reads the
+     * transactions from the given copy rather than the tracker, so the
+     * tracker may change on another thread while this runs; the indices
+     * returned are those of the tracker at version
+     */
+    public synchronized int[] search(TransactionQuery query, Transaction[] transactions, long version,
+                                     BooleanSupplier cancelled) {
+        return scan(query, version, transactions.length, index -> transactions[index], cancelled);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: returns the indices, in order, of the size transactions that
+     * transactions gives for the tracker at version that match query,
+     * checking only those in the last result if query refines the last query
+     * at the same version; returns null if cancelled returned true first
+     */
+    private int[] scan(TransactionQuery query, long version, int size, IntFunction<Transaction> transactions,
+                       BooleanSupplier cancelled) {
+        boolean refining = lastQuery != null && lastVersion == version && query.refines(lastQuery);
+        int candidates = refining ? lastRows.length : size;
+        int[] rows = new int[Math.min(candidates, CANCEL_CHECK_INTERVAL)];
+        int count = 0;
+        for (int i = 0; i < candidates; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            int index = refining ? lastRows[i] : i;
+            if (query.matches(transactions.apply(index))) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, Math.min(candidates, count * 2));
+                }
+                rows[count++] = index;
+            }
+        }
+        lastQuery = query;
+        lastVersion = version;
+        lastRows = count == rows.length ? rows : Arrays.copyOf(rows, count);
+        return lastRows;
+    }
+}
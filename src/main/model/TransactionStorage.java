@@ -0,0 +1,63 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the place a FinancialTracker keeps its transactions. The
+ * default storage is a list in memory that keeps transactions in the order
+ * they were added; other storages may keep them elsewhere, such as on disk,
+ * and in a different order, such as by date.
+ */
+public interface TransactionStorage extends Iterable<Transaction> {
+
+    /**
+     * EFFECTS: returns number of transactions stored
+     */
+    int size();
+
+    /**
+     * REQUIRES: 0 <= index < size() EFFECTS: returns the transaction at index
+     */
+    Transaction get(int index);
+
+    /**
+     * EFFECTS: returns true if add always puts the transaction after all the
+     * others, so that transactions keep the order they were added in
+     */
+    boolean keepsInsertionOrder();
+
+    /**
+     * MODIFIES: this EFFECTS: stores transaction and returns the index it is
+     * stored at
+     */
+    int add(Transaction transaction);
+
+    /**
+     * MODIFIES: this EFFECTS: stores given transactions, in order if
+     * keepsInsertionOrder() is true
+     */
+    void addAll(List<Transaction> transactions);
+
+    /**
+     * MODIFIES: this EFFECTS: removes transaction and returns the index it was
+     * stored at, or -1 if it is not stored
+     */
+    int remove(Transaction transaction);
+
+    /**
+     * MODIFIES: this EFFECTS: removes all transactions
+     */
+    void clear();
+
+    /**
+     * EFFECTS: returns stored transactions with given category, in storage order
+     */
+    List<Transaction> findByCategory(String category);
+
+    /**
+     * EFFECTS: returns stored transactions dated between from and to
+     * inclusive, in storage order
+     */
+    List<Transaction> findBetween(LocalDate from, LocalDate to);
+}
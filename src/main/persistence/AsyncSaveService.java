@@ -0,0 +1,153 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Represents a service that saves financial trackers to a JSON file on a background thread.
+// A save captures a point-in-time copy of the tracker on the calling thread, which only copies
+// its list of references, and serializes that copy on the worker thread. Output goes to a
+// temporary file that is forced to disk and then renamed over the destination, so the file is
+// never seen partly written. A save requested while an earlier one is still waiting to start
+// replaces it, so a burst of requests results in a single write of the latest state
+public class AsyncSaveService {
+
+    private String destination;
+    private volatile int compressionLevel;
+    private ExecutorService worker;
+    private List<SaveListener> listeners;
+    private FinancialTracker pending;
+    private CompletableFuture<Void> pendingResult;
+
+    // EFFECTS: constructs service that saves to destination file
+    public AsyncSaveService(String destination) {
+        this.destination = destination;
+        this.compressionLevel = CompressedStreams.UNCOMPRESSED;
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.worker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "save-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // REQUIRES: level is CompressedStreams.UNCOMPRESSED or a valid Deflater level
+    // MODIFIES: this
+    // EFFECTS: sets level at which later saves are gzip compressed
+    public void setCompressionLevel(int level) {
+        this.compressionLevel = level;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers listener to be notified of the progress and outcome of every save
+    public void addListener(SaveListener listener) {
+        listeners.add(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: schedules the current state of tracker to be saved and returns a future that
+    // completes once it is on disk, or fails with an IOException for whatever prevented it; if a save
+    // is already waiting to start, it is replaced and shares the returned future
+    public synchronized Future<Void> save(FinancialTracker tracker) {
+        FinancialTracker snapshot = tracker.snapshot();
+        if (pending == null) {
+            pendingResult = new CompletableFuture<>();
+            worker.execute(this::writePending);
+        }
+        pending = snapshot;
+        return pendingResult;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the worker thread once saves already requested have been written
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the latest requested snapshot, notifies listeners and completes its future,
+    // even if a listener throws
+    private void writePending() {
+        FinancialTracker snapshot;
+        CompletableFuture<Void> result;
+        synchronized (this) {
+            snapshot = pending;
+            result = pendingResult;
+            pending = null;
+            pendingResult = null;
+        }
+        IOException failure = write(snapshot);
+        try {
+            notifyListeners(failure);
+        } finally {
+            if (failure == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    // EFFECTS: tells listeners the save completed if failure is null, or that it failed otherwise
+    private void notifyListeners(IOException failure) {
+        for (SaveListener listener : listeners) {
+            if (failure == null) {
+                listener.saveCompleted();
+            } else {
+                listener.saveFailed(failure);
+            }
+        }
+    }
+
+    // EFFECTS: writes snapshot to the destination file and returns null, or returns the exception
+    // that prevented it, wrapping any unchecked exception thrown while serializing in an IOException
+    private IOException write(FinancialTracker snapshot) {
+        try {
+            writeAtomically(snapshot);
+            return null;
+        } catch (IOException e) {
+            return e;
+        } catch (RuntimeException e) {
+            return new IOException("Unable to write " + destination + ": " + e.getMessage(), e);
+        }
+    }
+
+    // EFFECTS: writes snapshot to a temporary file, forces it to disk and renames it over the
+    // destination file
+    private void writeAtomically(FinancialTracker snapshot) throws IOException {
+        Path temp = Paths.get(destination + ".tmp");
+        JsonStreamWriter writer = new JsonStreamWriter(temp.toString());
+        writer.setProgressListener(this::reportProgress);
+        writer.setCompressionLevel(compressionLevel);
+        writer.open();
+        try {
+            writer.write(snapshot);
+        } finally {
+            writer.close();
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, Paths.get(destination), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // EFFECTS: forwards progress of the save being written to listeners
+    private void reportProgress(long written, long total) {
+        for (SaveListener listener : listeners) {
+            listener.saveProgress(written, total);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Represents a B+tree stored in the pages of a BufferPool, mapping unique keys made of two longs
+// (hi, lo), ordered by hi and then lo, to long values. Leaves are chained in key order, and each
+// entry of an internal page records the number of keys below it, so the tree can find the key
+// at a position, or the position of a key, in one descent from the root.
+//
+// page layout:     byte type, 3 unused bytes, int entryCount, int nextLeaf, 4 unused bytes,
+//                  then entryCount entries of ENTRY_SIZE bytes in key order
+// leaf entry:      long hi, long lo, long value
+// internal entry:  long hi, long lo, int childPage, int keyCount; the child holds the keys from
+//                  this entry's key up to the next entry's key, and the first entry's key is
+//                  treated as smaller than any other
+//
+// Deleting a key does not merge pages that become underfull, so a leaf can be left empty; a
+// tree that shrinks a lot keeps its pages until it is rebuilt
+public class BPlusTree {
+
+    private static final byte LEAF = 0;
+    private static final byte INTERNAL = 1;
+    private static final int TYPE_OFFSET = 0;
+    private static final int COUNT_OFFSET = 4;
+    private static final int NEXT_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 24;
+    private static final int VALUE_OFFSET = 16;
+    private static final int KEY_COUNT_OFFSET = 20;
+
+    private BufferPool pool;
+    private int root;
+    private int capacity;
+    private long insertedPosition;
+
+    // EFFECTS: constructs tree whose root is page root of pool
+    public BPlusTree(BufferPool pool, int root) {
+        this.pool = pool;
+        this.root = root;
+        this.capacity = (pool.getPageSize() - HEADER_SIZE) / ENTRY_SIZE;
+    }
+
+    // MODIFIES: pool
+    // EFFECTS: allocates the root page of an empty tree in pool and returns its id
+    public static int create(BufferPool pool) throws IOException {
+        int id = pool.allocate();
+        ByteBuffer page = pool.page(id);
+        page.put(TYPE_OFFSET, LEAF).putInt(COUNT_OFFSET, 0).putInt(NEXT_OFFSET, -1);
+        pool.markDirty(id, page);
+        return id;
+    }
+
+    // EFFECTS: returns id of the root page, which changes when the root is split
+    public int getRoot() {
+        return root;
+    }
+
+    // EFFECTS: returns number of keys in the tree
+    public long size() throws IOException {
+        return keyCount(root);
+    }
+
+    // REQUIRES: key (hi, lo) is not in the tree
+    // MODIFIES: this, pool
+    // EFFECTS: adds key (hi, lo) with given value and returns its position in key order
+    public long insert(long hi, long lo, long value) throws IOException {
+        insertedPosition = 0;
+        long[] split = insertInto(root, hi, lo, value);
+        if (split != null) {
+            int left = root;
+            root = pool.allocate();
+            ByteBuffer page = pool.page(root);
+            page.put(TYPE_OFFSET, INTERNAL).putInt(COUNT_OFFSET, 2).putInt(NEXT_OFFSET, -1);
+            putChild(page, 0, Long.MIN_VALUE, Long.MIN_VALUE, left, keyCount(left));
+            putChild(page, 1, split[0], split[1], (int) split[2], keyCount((int) split[2]));
+            pool.markDirty(root, page);
+        }
+        return insertedPosition;
+    }
+
+    // MODIFIES: this, pool
+    // EFFECTS: removes key (hi, lo) and returns true if it was in the tree
+    public boolean delete(long hi, long lo) throws IOException {
+        return deleteFrom(root, hi, lo);
+    }
+
+    // EFFECTS: returns number of keys in the tree that are smaller than (hi, lo)
+    public long rank(long hi, long lo) throws IOException {
+        long rank = 0;
+        int id = root;
+        ByteBuffer page = pool.page(id);
+        while (page.get(TYPE_OFFSET) == INTERNAL) {
+            int child = childIndex(page, hi, lo);
+            rank += keysBefore(page, child);
+            id = page.getInt(entry(child) + VALUE_OFFSET);
+            page = pool.page(id);
+        }
+        return rank + lowerBound(page, hi, lo);
+    }
+
+    // EFFECTS: returns cursor positioned before the first key that is not smaller than (hi, lo)
+    public Cursor seek(long hi, long lo) throws IOException {
+        int id = root;
+        ByteBuffer page = pool.page(id);
+        while (page.get(TYPE_OFFSET) == INTERNAL) {
+            id = page.getInt(entry(childIndex(page, hi, lo)) + VALUE_OFFSET);
+            page = pool.page(id);
+        }
+        return new Cursor(id, lowerBound(page, hi, lo));
+    }
+
+    // REQUIRES: 0 <= position <= size()
+    // EFFECTS: returns cursor positioned before the key at position in key order
+    public Cursor at(long position) throws IOException {
+        long remaining = position;
+        int id = root;
+        ByteBuffer page = pool.page(id);
+        while (page.get(TYPE_OFFSET) == INTERNAL) {
+            int child = 0;
+            int count = page.getInt(COUNT_OFFSET);
+            while (child < count - 1 && remaining >= page.getInt(entry(child) + KEY_COUNT_OFFSET)) {
+                remaining -= page.getInt(entry(child) + KEY_COUNT_OFFSET);
+                child++;
+            }
+            id = page.getInt(entry(child) + VALUE_OFFSET);
+            page = pool.page(id);
+        }
+        return new Cursor(id, (int) remaining);
+    }
+
+    // MODIFIES: this, pool
+    // EFFECTS: adds key to the subtree at page id, adding the number of smaller keys in the
+    // subtree to insertedPosition; returns the first key and page id of the new
+    // right sibling if the page had to be split, or null otherwise
+    private long[] insertInto(int id, long hi, long lo, long value) throws IOException {
+        ByteBuffer page = pool.page(id);
+        if (page.get(TYPE_OFFSET) == LEAF) {
+            int slot = lowerBound(page, hi, lo);
+            insertedPosition += slot;
+            return insertEntry(id, page, slot, hi, lo, value);
+        }
+        int child = childIndex(page, hi, lo);
+        insertedPosition += keysBefore(page, child);
+        int childId = page.getInt(entry(child) + VALUE_OFFSET);
+        long[] split = insertInto(childId, hi, lo, value);
+        if (split == null) {
+            page = pool.page(id);
+            int keys = entry(child) + KEY_COUNT_OFFSET;
+            page.putInt(keys, page.getInt(keys) + 1);
+            pool.markDirty(id, page);
+            return null;
+        }
+        int right = (int) split[2];
+        long leftKeys = keyCount(childId);
+        long rightKeys = keyCount(right);
+        page = pool.page(id);
+        page.putInt(entry(child) + KEY_COUNT_OFFSET, (int) leftKeys);
+        return insertEntry(id, page, child + 1, split[0], split[1], ((long) right << 32) | rightKeys);
+    }
+
+    // MODIFIES: pool
+    // EFFECTS: inserts entry with key (hi, lo) at slot of page id, splitting the page in two if
+    // it is full; for an internal page, value holds the child id in its high and the key count in
+    // its low 32 bits. Returns first key and id of the new right page if split, or null otherwise
+    private long[] insertEntry(int id, ByteBuffer page, int slot, long hi, long lo, long value)
+            throws IOException {
+        int count = page.getInt(COUNT_OFFSET);
+        if (count < capacity) {
+            putEntry(page, slot, count, hi, lo, value);
+            pool.markDirty(id, page);
+            return null;
+        }
+        int half = count / 2;
+        int rightId = pool.allocate();
+        ByteBuffer right = pool.page(rightId);
+        right.put(TYPE_OFFSET, page.get(TYPE_OFFSET)).putInt(COUNT_OFFSET, count - half);
+        right.putInt(NEXT_OFFSET, page.getInt(NEXT_OFFSET));
+        System.arraycopy(page.array(), entry(half), right.array(), entry(0), (count - half) * ENTRY_SIZE);
+        page.putInt(COUNT_OFFSET, half);
+        if (page.get(TYPE_OFFSET) == LEAF) {
+            page.putInt(NEXT_OFFSET, rightId);
+        }
+        if (slot <= half) {
+            putEntry(page, slot, half, hi, lo, value);
+        } else {
+            putEntry(right, slot - half, count - half, hi, lo, value);
+        }
+        pool.markDirty(id, page);
+        pool.markDirty(rightId, right);
+        return new long[] {right.getLong(entry(0)), right.getLong(entry(0) + Long.BYTES), rightId};
+    }
+
+    // MODIFIES: page
+    // EFFECTS: shifts the count entries of page from slot on up by one and writes entry at slot
+    private void putEntry(ByteBuffer page, int slot, int count, long hi, long lo, long value) {
+        System.arraycopy(page.array(), entry(slot), page.array(), entry(slot + 1), (count - slot) * ENTRY_SIZE);
+        page.putInt(COUNT_OFFSET, count + 1);
+        if (page.get(TYPE_OFFSET) == LEAF) {
+            page.putLong(entry(slot), hi).putLong(entry(slot) + Long.BYTES, lo).putLong(entry(slot) + VALUE_OFFSET,
+                    value);
+        } else {
+            putChild(page, slot, hi, lo, (int) (value >>> 32), (int) value);
+        }
+    }
+
+    // MODIFIES: page
+    // EFFECTS: writes internal entry at slot pointing to child page holding keys keys
+    private static void putChild(ByteBuffer page, int slot, long hi, long lo, int child, long keys) {
+        page.putLong(entry(slot), hi).putLong(entry(slot) + Long.BYTES, lo);
+        page.putInt(entry(slot) + VALUE_OFFSET, child).putInt(entry(slot) + KEY_COUNT_OFFSET, (int) keys);
+    }
+
+    // MODIFIES: pool
+    // EFFECTS: removes key from the subtree at page id and returns true if it was there
+    private boolean deleteFrom(int id, long hi, long lo) throws IOException {
+        ByteBuffer page = pool.page(id);
+        int count = page.getInt(COUNT_OFFSET);
+        if (page.get(TYPE_OFFSET) == LEAF) {
+            int slot = lowerBound(page, hi, lo);
+            if (slot == count || compare(page, slot, hi, lo) != 0) {
+                return false;
+            }
+            System.arraycopy(page.array(), entry(slot + 1), page.array(), entry(slot),
+                    (count - slot - 1) * ENTRY_SIZE);
+            page.putInt(COUNT_OFFSET, count - 1);
+            pool.markDirty(id, page);
+            return true;
+        }
+        int child = childIndex(page, hi, lo);
+        if (!deleteFrom(page.getInt(entry(child) + VALUE_OFFSET), hi, lo)) {
+            return false;
+        }
+        page = pool.page(id);
+        int keys = entry(child) + KEY_COUNT_OFFSET;
+        page.putInt(keys, page.getInt(keys) - 1);
+        pool.markDirty(id, page);
+        return true;
+    }
+
+    // EFFECTS: returns number of keys in the subtree at page id
+    private long keyCount(int id) throws IOException {
+        ByteBuffer page = pool.page(id);
+        int count = page.getInt(COUNT_OFFSET);
+        return page.get(TYPE_OFFSET) == LEAF ? count : keysBefore(page, count);
+    }
+
+    // EFFECTS: returns number of keys below the internal entries of page before slot
+    private static long keysBefore(ByteBuffer page, int slot) {
+        long keys = 0;
+        for (int i = 0; i < slot; i++) {
+            keys += page.getInt(entry(i) + KEY_COUNT_OFFSET);
+        }
+        return keys;
+    }
+
+    // EFFECTS: returns slot of the internal entry whose child may hold key (hi, lo)
+    private static int childIndex(ByteBuffer page, long hi, long lo) {
+        int low = 0;
+        int high = page.getInt(COUNT_OFFSET) - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (compare(page, middle, hi, lo) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    // EFFECTS: returns slot of the first leaf entry whose key is not smaller than (hi, lo)
+    private static int lowerBound(ByteBuffer page, long hi, long lo) {
+        int low = 0;
+        int high = page.getInt(COUNT_OFFSET);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(page, middle, hi, lo) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // EFFECTS: compares key of entry at slot of page with (hi, lo)
+    private static int compare(ByteBuffer page, int slot, long hi, long lo) {
+        int order = Long.compare(page.getLong(entry(slot)), hi);
+        return order != 0 ? order : Long.compare(page.getLong(entry(slot) + Long.BYTES), lo);
+    }
+
+    // EFFECTS: returns offset of entry at slot within a page
+    private static int entry(int slot) {
+        return HEADER_SIZE + slot * ENTRY_SIZE;
+    }
+
+    // Represents a position between two keys of the tree, which moves forward through the
+    // chain of leaves. A cursor must not be used after the tree has been modified
+    public class Cursor {
+
+        private int leaf;
+        private int slot;
+        private long hi;
+        private long lo;
+        private long value;
+
+        // EFFECTS: constructs cursor positioned before entry at slot of page leaf
+        private Cursor(int leaf, int slot) {
+            this.leaf = leaf;
+            this.slot = slot;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: moves onto the next key and returns true, or returns false if there is none
+        public boolean next() throws IOException {
+            while (leaf != -1) {
+                ByteBuffer page = pool.page(leaf);
+                if (slot < page.getInt(COUNT_OFFSET)) {
+                    hi = page.getLong(entry(slot));
+                    lo = page.getLong(entry(slot) + Long.BYTES);
+                    value = page.getLong(entry(slot) + VALUE_OFFSET);
+                    slot++;
+                    return true;
+                }
+                leaf = page.getInt(NEXT_OFFSET);
+                slot = 0;
+            }
+            return false;
+        }
+
+        // REQUIRES: next() has returned true
+        // EFFECTS: returns high part of the current key
+        public long getHi() {
+            return hi;
+        }
+
+        // REQUIRES: next() has returned true
+        // EFFECTS: returns low part of the current key
+        public long getLo() {
+            return lo;
+        }
+
+        // REQUIRES: next() has returned true
+        // EFFECTS: returns value of the current key
+        public long getValue() {
+            return value;
+        }
+    }
+}
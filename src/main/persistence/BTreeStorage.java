@@ -0,0 +1,398 @@
+package persistence;
+
+import model.Transaction;
+import model.TransactionStorage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+
+// Represents transaction storage kept on disk, so a FinancialTracker constructed over it can hold
+// more history than fits in memory. Transactions are stored in date order, keyed by (date, id)
+// where id is a sequence number given to each transaction as it is added, in a BPlusTree whose
+// pages are cached by a BufferPool. A second tree holds the same keys prefixed by a hash of the
+// category, so category and date range queries read only the pages holding matching keys. The
+// fields of each transaction are appended to a separate record file that the trees point into.
+//
+// page 0 of the tree file:  int magic, int version, int pageCount, int dateRoot,
+//                           int categoryRoot, long nextId, long recordsEnd
+// record:                   double amount, int categoryLength, int descriptionLength, then the
+//                           UTF-8 category and description
+//
+// Changes are written to disk by flush and close. There is no journal, so the files are only
+// consistent after flush returns; removed records stay in the record file. The TransactionStorage
+// methods cannot throw IOException, so they report failures to read or write the files by
+// throwing UncheckedIOException
+public class BTreeStorage implements TransactionStorage {
+
+    public static final int PAGE_SIZE = 4096;
+    public static final int DEFAULT_CACHED_PAGES = 2048;
+
+    private static final int MAGIC = 0x46544254; // "FTBT"
+    private static final int VERSION = 1;
+    private static final int META_SIZE = 36;
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final int RECORD_READ_SIZE = 256;
+    private static final int RECORD_BUFFER_SIZE = 1 << 16;
+    private static final int CACHED_RECORDS = 4096;
+
+    private String path;
+    private int cachedPages;
+    private FileChannel treeChannel;
+    private FileChannel recordChannel;
+    private BufferPool pool;
+    private BPlusTree byDate;
+    private BPlusTree byCategory;
+    private long nextId;
+    private int size;
+    private ByteBuffer pendingRecords;
+    private long recordsWritten;
+    private Map<Long, Transaction> records;
+    private Map<Transaction, Long> ids;
+
+    // EFFECTS: constructs storage kept in the file at path and a record file next to it,
+    // caching DEFAULT_CACHED_PAGES tree pages
+    public BTreeStorage(String path) {
+        this(path, DEFAULT_CACHED_PAGES);
+    }
+
+    // REQUIRES: cachedPages >= 8
+    // EFFECTS: constructs storage kept in the file at path and a record file next to it,
+    // caching up to cachedPages tree pages
+    public BTreeStorage(String path, int cachedPages) {
+        this.path = path;
+        this.cachedPages = cachedPages;
+    }
+
+    // EFFECTS: returns path of the record file kept next to the tree file at path
+    public static String recordPath(String path) {
+        return path + ".records";
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the files, creating empty ones if they do not exist; throws IOException if
+    // they cannot be opened or the tree file is not in the expected format
+    public void open() throws IOException {
+        treeChannel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        recordChannel = FileChannel.open(Paths.get(recordPath(path)), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (treeChannel.size() == 0) {
+                initialize();
+            } else {
+                readMeta();
+            }
+        } catch (IOException e) {
+            treeChannel.close();
+            recordChannel.close();
+            throw e;
+        }
+        pendingRecords = ByteBuffer.allocate(RECORD_BUFFER_SIZE);
+        records = new LinkedHashMap<Long, Transaction>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Transaction> eldest) {
+                return size() > CACHED_RECORDS;
+            }
+        };
+        ids = new WeakHashMap<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes buffered records, dirty pages and the page holding the tree roots to disk
+    public void flush() throws IOException {
+        writePendingRecords();
+        recordChannel.force(false);
+        ByteBuffer meta = pool.page(0);
+        meta.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, pool.getPageCount());
+        meta.putInt(12, byDate.getRoot()).putInt(16, byCategory.getRoot());
+        meta.putLong(20, nextId).putLong(28, recordsWritten);
+        pool.markDirty(0, meta);
+        pool.flush();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes changes and closes the files
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            treeChannel.close();
+            recordChannel.close();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Transaction get(int index) {
+        try {
+            BPlusTree.Cursor cursor = byDate.at(index);
+            cursor.next();
+            return transaction(cursor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean keepsInsertionOrder() {
+        return false;
+    }
+
+    @Override
+    public int add(Transaction transaction) {
+        try {
+            long id = nextId++;
+            long offset = appendRecord(transaction);
+            long day = transaction.getDate().toEpochDay();
+            long position = byDate.insert(day, id, offset);
+            byCategory.insert(categoryKey(transaction.getCategory(), day), id, offset);
+            size++;
+            remember(id, transaction);
+            return (int) position;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addAll(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            add(transaction);
+        }
+    }
+
+    @Override
+    public int remove(Transaction transaction) {
+        try {
+            long day = transaction.getDate().toEpochDay();
+            Long id = ids.get(transaction);
+            if (id == null || !byDate.delete(day, id)) {
+                return -1;
+            }
+            byCategory.delete(categoryKey(transaction.getCategory(), day), id);
+            size--;
+            records.remove(id);
+            ids.remove(transaction);
+            return (int) byDate.rank(day, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            initialize();
+            records.clear();
+            ids.clear();
+            pendingRecords.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<Transaction> findByCategory(String category) {
+        try {
+            long prefix = (long) category.hashCode() << 32;
+            BPlusTree.Cursor cursor = byCategory.seek(prefix, Long.MIN_VALUE);
+            List<Transaction> found = new ArrayList<>();
+            while (cursor.next() && (cursor.getHi() & 0xFFFFFFFF00000000L) == prefix) {
+                Transaction transaction = transaction(cursor);
+                if (transaction.hasCategory(category)) {
+                    found.add(transaction);
+                }
+            }
+            return found;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<Transaction> findBetween(LocalDate from, LocalDate to) {
+        try {
+            BPlusTree.Cursor cursor = byDate.seek(from.toEpochDay(), Long.MIN_VALUE);
+            List<Transaction> found = new ArrayList<>();
+            while (cursor.next() && cursor.getHi() <= to.toEpochDay()) {
+                found.add(transaction(cursor));
+            }
+            return found;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Iterator<Transaction> iterator() {
+        try {
+            return new CursorIterator(byDate.at(0));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // EFFECTS: returns first key of the category tree for category on the given day; days are
+    // offset so that they order correctly as the unsigned low half of the key
+    private static long categoryKey(String category, long epochDay) {
+        return ((long) category.hashCode() << 32) | ((epochDay - Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties both files and creates the meta page and two empty trees
+    private void initialize() throws IOException {
+        pool = new BufferPool(treeChannel, PAGE_SIZE, cachedPages, 0);
+        pool.clear();
+        recordChannel.truncate(0);
+        pool.allocate();
+        byDate = new BPlusTree(pool, BPlusTree.create(pool));
+        byCategory = new BPlusTree(pool, BPlusTree.create(pool));
+        nextId = 0;
+        size = 0;
+        recordsWritten = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the tree roots from page 0 and drops records written after the last flush
+    private void readMeta() throws IOException {
+        ByteBuffer meta = ByteBuffer.allocate(META_SIZE);
+        RecordSplitter.readFully(treeChannel, meta, 0);
+        if (meta.getInt(0) != MAGIC || meta.getInt(4) != VERSION) {
+            throw new IOException("Not a financial tracker B+tree file: " + path);
+        }
+        pool = new BufferPool(treeChannel, PAGE_SIZE, cachedPages, meta.getInt(8));
+        byDate = new BPlusTree(pool, meta.getInt(12));
+        byCategory = new BPlusTree(pool, meta.getInt(16));
+        nextId = meta.getLong(20);
+        recordsWritten = meta.getLong(28);
+        recordChannel.truncate(recordsWritten);
+        size = (int) byDate.size();
+    }
+
+    // EFFECTS: returns the transaction the cursor's current key points to
+    private Transaction transaction(BPlusTree.Cursor cursor) throws IOException {
+        Transaction transaction = records.get(cursor.getLo());
+        if (transaction == null) {
+            transaction = readRecord(cursor.getValue(), LocalDate.ofEpochDay(cursor.getHi()));
+            remember(cursor.getLo(), transaction);
+        }
+        return transaction;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: caches transaction under id, so that it is returned again while it stays cached and
+    // can be removed by identity for as long as it is referenced
+    private void remember(long id, Transaction transaction) {
+        records.put(id, transaction);
+        ids.put(transaction, id);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: buffers record of transaction for appending to the record file and returns its offset
+    private long appendRecord(Transaction transaction) throws IOException {
+        byte[] category = transaction.getCategory().getBytes(StandardCharsets.UTF_8);
+        byte[] description = transaction.getDescription().getBytes(StandardCharsets.UTF_8);
+        int length = RECORD_HEADER_SIZE + category.length + description.length;
+        if (pendingRecords.remaining() < length) {
+            writePendingRecords();
+        }
+        long offset = recordsWritten + pendingRecords.position();
+        ByteBuffer record = pendingRecords.remaining() < length ? ByteBuffer.allocate(length) : pendingRecords;
+        record.putDouble(transaction.getAmount()).putInt(category.length).putInt(description.length);
+        record.put(category).put(description);
+        if (record != pendingRecords) {
+            record.flip();
+            recordsWritten += writeRecords(record, offset);
+        }
+        return offset;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes buffered records to the end of the record file
+    private void writePendingRecords() throws IOException {
+        pendingRecords.flip();
+        recordsWritten += writeRecords(pendingRecords, recordsWritten);
+        pendingRecords.clear();
+    }
+
+    // EFFECTS: writes remaining bytes of buffer at position of the record file; returns number
+    // of bytes written
+    private int writeRecords(ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += recordChannel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    // EFFECTS: reads the record at offset and returns it as a transaction dated date; most records
+    // fit in RECORD_READ_SIZE bytes, so they take a single read
+    private Transaction readRecord(long offset, LocalDate date) throws IOException {
+        if (offset >= recordsWritten) {
+            writePendingRecords();
+        }
+        ByteBuffer record = ByteBuffer.allocate((int) Math.min(RECORD_READ_SIZE, recordsWritten - offset));
+        RecordSplitter.readFully(recordChannel, record, offset);
+        int length = RECORD_HEADER_SIZE + record.getInt(8) + record.getInt(12);
+        if (length > record.capacity()) {
+            ByteBuffer whole = ByteBuffer.allocate(length);
+            RecordSplitter.readFully(recordChannel, whole, offset);
+            record = whole;
+        }
+        byte[] bytes = record.array();
+        String category = new String(bytes, RECORD_HEADER_SIZE, record.getInt(8), StandardCharsets.UTF_8);
+        String description = new String(bytes, RECORD_HEADER_SIZE + record.getInt(8), record.getInt(12),
+                StandardCharsets.UTF_8);
+        return new Transaction(record.getDouble(0), description, category, date);
+    }
+
+    // Represents an iterator over the transactions from the position of a cursor to the end of
+    // the date tree
+    private class CursorIterator implements Iterator<Transaction> {
+
+        private BPlusTree.Cursor cursor;
+        private boolean ready;
+
+        // EFFECTS: constructs iterator starting at the next key of cursor
+        private CursorIterator(BPlusTree.Cursor cursor) throws IOException {
+            this.cursor = cursor;
+            this.ready = cursor.next();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return ready;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!ready) {
+                throw new NoSuchElementException();
+            }
+            try {
+                Transaction transaction = transaction(cursor);
+                ready = cursor.next();
+                return transaction;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package persistence;
+
+// Constants describing version 1 of the financial tracker binary file format.
+//
+// header (32 bytes):  int magic, int version, int recordCount, int categoryCount,
+//                     long descriptionTableOffset, long categoryTableOffset
+// records:            recordCount fixed-width records of RECORD_SIZE bytes each:
+//                     long amountCents, int epochDay, int categoryId, long descriptionOffset
+// description table:  length-prefixed UTF-8 strings; descriptionOffset is relative to the
+//                     start of this table and identical descriptions are stored once
+// category table:     categoryCount length-prefixed UTF-8 strings; categoryId is the index
+//                     of the category in this table
+//
+// All numbers are big-endian. Amounts are stored as whole cents, so precision below one
+// cent is rounded away.
+public final class BinaryFormat {
+
+    public static final int MAGIC = 0x4654524B; // "FTRK"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 24;
+
+    public static final int CENTS_OFFSET = 0;
+    public static final int EPOCH_DAY_OFFSET = 8;
+    public static final int CATEGORY_OFFSET = 12;
+    public static final int DESCRIPTION_OFFSET = 16;
+
+    // EFFECTS: prevents construction; this class only holds constants
+    private BinaryFormat() {
+    }
+
+    // EFFECTS: returns amount rounded to whole cents
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // EFFECTS: returns amount in dollars for given whole cents
+    public static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+}
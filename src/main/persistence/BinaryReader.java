@@ -0,0 +1,159 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+// Represents a reader that reads financial tracker from a file in the binary format described
+// by BinaryFormat. Opening the file only maps it into memory and reads the header and category
+// table, so it takes the same time whatever the size of the file; individual records can then
+// be read by index, or the whole file read into a tracker
+public class BinaryReader implements TrackerReader {
+
+    private String source;
+    private FileChannel channel;
+    private MappedRegion region;
+    private int recordCount;
+    private long descriptionTableOffset;
+    private String[] categories;
+    private InternPool strings;
+
+    // EFFECTS: constructs reader to read from source file
+    public BinaryReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: reads financial tracker from file and returns it;
+    // throws IOException if an error occurs reading data from file
+    @Override
+    public FinancialTracker read() throws IOException {
+        open();
+        try {
+            FinancialTracker tracker = new FinancialTracker();
+            for (int i = 0; i < recordCount; i++) {
+                tracker.addTransaction(getTransaction(i));
+            }
+            return tracker;
+        } finally {
+            close();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: maps source file into memory and reads its header and category table;
+    // throws IOException if file cannot be read or is not in the expected format
+    public void open() throws IOException {
+        channel = new RandomAccessFile(source, "r").getChannel();
+        try {
+            if (channel.size() < BinaryFormat.HEADER_SIZE) {
+                throw new IOException("Not a financial tracker binary file: " + source);
+            }
+            region = new MappedRegion(channel, 0, channel.size());
+            strings = new InternPool();
+            readHeader();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns number of records in file
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    // REQUIRES: open() has been called and 0 <= index < getRecordCount()
+    // EFFECTS: decodes and returns the transaction stored in record at index; a description equal
+    // to one decoded since the file was opened shares that one's string. Throws IOException if the
+    // record's category or description lies outside its table
+    public Transaction getTransaction(int index) throws IOException {
+        long record = BinaryFormat.HEADER_SIZE + (long) index * BinaryFormat.RECORD_SIZE;
+        double amount = BinaryFormat.fromCents(region.getLong(record + BinaryFormat.CENTS_OFFSET));
+        LocalDate date = LocalDate.ofEpochDay(region.getInt(record + BinaryFormat.EPOCH_DAY_OFFSET));
+        int categoryIndex = region.getInt(record + BinaryFormat.CATEGORY_OFFSET);
+        if (categoryIndex < 0 || categoryIndex >= categories.length) {
+            throw corrupt("category " + categoryIndex + " of record " + index);
+        }
+        long descriptionOffset = region.getLong(record + BinaryFormat.DESCRIPTION_OFFSET);
+        if (descriptionOffset < 0 || descriptionOffset > region.length() - descriptionTableOffset) {
+            throw corrupt("description of record " + index);
+        }
+        String description = strings.description(readString(descriptionTableOffset + descriptionOffset));
+        return new Transaction(amount, description, categories[categoryIndex], date);
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns pool of the description strings shared since the file was opened
+    public InternPool getInternPool() {
+        return strings;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes reader
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: validates header and reads the category table
+    private void readHeader() throws IOException {
+        if (region.getInt(0) != BinaryFormat.MAGIC) {
+            throw new IOException("Not a financial tracker binary file: " + source);
+        }
+        int version = region.getInt(4);
+        if (version != BinaryFormat.VERSION) {
+            throw new IOException("Unsupported binary format version " + version + ": " + source);
+        }
+        recordCount = region.getInt(8);
+        int categoryCount = region.getInt(12);
+        descriptionTableOffset = region.getLong(16);
+        long position = region.getLong(24);
+        checkLayout(categoryCount, position);
+        categories = new String[categoryCount];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = readString(position);
+            position += Integer.BYTES + region.getInt(position);
+        }
+    }
+
+    // EFFECTS: throws IOException unless the records fit in the file and the description table and
+    // the category table of categoryCount strings at categoryTableOffset start after them
+    private void checkLayout(int categoryCount, long categoryTableOffset) throws IOException {
+        long recordsEnd = BinaryFormat.HEADER_SIZE + (long) recordCount * BinaryFormat.RECORD_SIZE;
+        if (recordCount < 0 || recordsEnd > region.length()) {
+            throw corrupt("record count " + recordCount);
+        }
+        if (descriptionTableOffset < recordsEnd || descriptionTableOffset > region.length()) {
+            throw corrupt("description table offset " + descriptionTableOffset);
+        }
+        if (categoryCount < 0 || categoryTableOffset < recordsEnd || categoryTableOffset > region.length()) {
+            throw corrupt("category table");
+        }
+    }
+
+    // EFFECTS: returns length-prefixed UTF-8 string stored at position; throws IOException if it
+    // does not lie within the file
+    private String readString(long position) throws IOException {
+        if (position < 0 || position > region.length() - Integer.BYTES) {
+            throw corrupt("string at " + position);
+        }
+        int length = region.getInt(position);
+        if (length < 0 || length > region.length() - position - Integer.BYTES) {
+            throw corrupt("string at " + position);
+        }
+        byte[] bytes = new byte[length];
+        region.getBytes(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // EFFECTS: returns exception reporting that what is out of bounds in the file
+    private IOException corrupt(String what) {
+        return new IOException("Corrupt financial tracker binary file, bad " + what + ": " + source);
+    }
+}
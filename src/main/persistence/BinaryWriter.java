@@ -0,0 +1,224 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents a writer that writes financial tracker to file in the binary format described
+// by BinaryFormat. The tracker streams its transactions to a RecordSink that encodes each one
+// into a fixed-width record, so no JSON is built. Records and the description table are written
+// in a single pass through two buffers, since the start of the description table is known from
+// the record count
+public class BinaryWriter implements TrackerWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private String destination;
+    private FileChannel channel;
+    private ByteBuffer recordBuffer;
+    private ByteBuffer stringBuffer;
+    private long recordPosition;
+    private long stringPosition;
+    private long descriptionTableOffset;
+    private Map<String, Integer> categoryIds;
+    private List<String> categories;
+    private Map<String, Long> descriptionOffsets;
+
+    // EFFECTS: constructs writer to write to destination file
+    public BinaryWriter(String destination) {
+        this.destination = destination;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer, truncating destination; throws IOException if destination file
+    // cannot be opened for writing
+    @Override
+    public void open() throws IOException {
+        RandomAccessFile file = new RandomAccessFile(destination, "rw");
+        file.setLength(0);
+        channel = file.getChannel();
+        recordBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        stringBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        categoryIds = new HashMap<>();
+        categories = new ArrayList<>();
+        descriptionOffsets = new HashMap<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes binary representation of financial tracker to file
+    @Override
+    public void write(FinancialTracker tracker) throws IOException {
+        int count = tracker.getTransactionCount();
+        recordPosition = BinaryFormat.HEADER_SIZE;
+        descriptionTableOffset = BinaryFormat.HEADER_SIZE + (long) count * BinaryFormat.RECORD_SIZE;
+        stringPosition = descriptionTableOffset;
+        tracker.writeTo(new RecordEncoder());
+        flush(recordBuffer, true);
+        flush(stringBuffer, false);
+        long categoryTableOffset = stringPosition;
+        for (String category : categories) {
+            putString(category);
+        }
+        flush(stringBuffer, false);
+        writeHeader(count, categoryTableOffset);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forces written data to disk and closes writer
+    @Override
+    public void close() throws IOException {
+        channel.force(true);
+        channel.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes fixed-width record of a transaction, adding its strings to the tables
+    private void writeRecord(long cents, long epochDay, String category, String description) throws IOException {
+        if (recordBuffer.remaining() < BinaryFormat.RECORD_SIZE) {
+            flush(recordBuffer, true);
+        }
+        recordBuffer.putLong(cents);
+        recordBuffer.putInt((int) epochDay);
+        recordBuffer.putInt(categoryId(category));
+        recordBuffer.putLong(descriptionOffset(description));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns id of category, assigning the next id if it has not been seen before
+    private int categoryId(String category) {
+        Integer id = categoryIds.get(category);
+        if (id == null) {
+            id = categories.size();
+            categoryIds.put(category, id);
+            categories.add(category);
+        }
+        return id;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns offset of description in the description table, writing it to the
+    // table if it has not been written before
+    private long descriptionOffset(String description) throws IOException {
+        Long offset = descriptionOffsets.get(description);
+        if (offset == null) {
+            offset = stringPosition + stringBuffer.position() - descriptionTableOffset;
+            descriptionOffsets.put(description, offset);
+            putString(description);
+        }
+        return offset;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends length-prefixed UTF-8 encoding of value to the string buffer
+    private void putString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (stringBuffer.remaining() < Integer.BYTES + bytes.length) {
+            flush(stringBuffer, false);
+        }
+        if (stringBuffer.remaining() < Integer.BYTES + bytes.length) {
+            ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+            large.putInt(bytes.length).put(bytes).flip();
+            stringPosition += writeFully(large, stringPosition);
+        } else {
+            stringBuffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes buffered bytes at the record or string position and clears buffer
+    private void flush(ByteBuffer buffer, boolean records) throws IOException {
+        buffer.flip();
+        if (records) {
+            recordPosition += writeFully(buffer, recordPosition);
+        } else {
+            stringPosition += writeFully(buffer, stringPosition);
+        }
+        buffer.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes header last, once the table offsets are known
+    private void writeHeader(int count, long categoryTableOffset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BinaryFormat.HEADER_SIZE);
+        header.putInt(BinaryFormat.MAGIC).putInt(BinaryFormat.VERSION);
+        header.putInt(count).putInt(categories.size());
+        header.putLong(descriptionTableOffset).putLong(categoryTableOffset);
+        header.flip();
+        writeFully(header, 0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes all remaining bytes of buffer at position; returns number of bytes written
+    private int writeFully(ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    // Represents a sink that collects the fields of each transaction record and writes them as
+    // a fixed-width record when the record ends; records without fields, such as the tracker
+    // holding the transactions, write nothing
+    private class RecordEncoder implements RecordSink {
+        private boolean hasFields;
+        private long cents;
+        private long epochDay;
+        private String category;
+        private String description;
+
+        @Override
+        public void beginRecord(int fieldCount) {
+            hasFields = false;
+        }
+
+        @Override
+        public void writeDate(String name, LocalDate value) {
+            hasFields = true;
+            epochDay = value.toEpochDay();
+        }
+
+        @Override
+        public void writeAmount(String name, double value) {
+            hasFields = true;
+            cents = BinaryFormat.toCents(value);
+        }
+
+        @Override
+        public void writeString(String name, String value) {
+            hasFields = true;
+            if ("category".equals(name)) {
+                category = value;
+            } else {
+                description = value;
+            }
+        }
+
+        @Override
+        public void beginList(String name, int size) {
+            hasFields = false;
+        }
+
+        @Override
+        public void endList() {
+            hasFields = false;
+        }
+
+        @Override
+        public void endRecord() throws IOException {
+            if (hasFields) {
+                writeRecord(cents, epochDay, category, description);
+            }
+            hasFields = false;
+        }
+    }
+}
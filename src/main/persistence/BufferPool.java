@@ -0,0 +1,130 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Represents a bounded cache of the fixed-size pages of a file. Pages are read when first
+// requested and kept in least-recently-used order; once more than capacity pages are cached,
+// the least recently used page is dropped, being written back first if it was marked dirty.
+// A caller that modifies a page must mark it dirty afterwards, passing the buffer it modified,
+// so a page evicted while the caller held it is put back rather than lost
+public class BufferPool {
+
+    private FileChannel channel;
+    private int pageSize;
+    private int capacity;
+    private int pageCount;
+    private Map<Integer, ByteBuffer> frames;
+    private Set<Integer> dirty;
+
+    // REQUIRES: pageSize > 0, capacity > 0 and channel is open for reading and writing
+    // EFFECTS: constructs pool caching up to capacity pages of pageSize bytes of channel, which
+    // holds pageCount pages
+    public BufferPool(FileChannel channel, int pageSize, int capacity, int pageCount) {
+        this.channel = channel;
+        this.pageSize = pageSize;
+        this.capacity = capacity;
+        this.pageCount = pageCount;
+        this.frames = new LinkedHashMap<>(16, 0.75f, true);
+        this.dirty = new HashSet<>();
+    }
+
+    // EFFECTS: returns size of a page in bytes
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    // EFFECTS: returns number of pages in the file, including pages not yet written
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    // EFFECTS: returns number of pages currently cached
+    public int getCachedPageCount() {
+        return frames.size();
+    }
+
+    // REQUIRES: 0 <= id < getPageCount()
+    // MODIFIES: this
+    // EFFECTS: returns buffer holding page id, reading it from the file if it is not cached
+    public ByteBuffer page(int id) throws IOException {
+        ByteBuffer page = frames.get(id);
+        if (page == null) {
+            page = ByteBuffer.allocate(pageSize);
+            RecordSplitter.readFully(channel, page, (long) id * pageSize);
+            frames.put(id, page);
+            evict();
+        }
+        return page;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a zero-filled page at the end of the file and returns its id
+    public int allocate() throws IOException {
+        int id = pageCount++;
+        frames.put(id, ByteBuffer.allocate(pageSize));
+        dirty.add(id);
+        evict();
+        return id;
+    }
+
+    // REQUIRES: page is the buffer returned for id
+    // MODIFIES: this
+    // EFFECTS: records that page id has been modified, so it is written before being dropped
+    public void markDirty(int id, ByteBuffer page) throws IOException {
+        frames.put(id, page);
+        dirty.add(id);
+        evict();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes every dirty page to the file and forces the file to disk
+    public void flush() throws IOException {
+        for (int id : dirty) {
+            write(id, frames.get(id));
+        }
+        dirty.clear();
+        channel.force(false);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops every cached page without writing it and empties the file
+    public void clear() throws IOException {
+        frames.clear();
+        dirty.clear();
+        pageCount = 0;
+        channel.truncate(0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops least recently used pages, writing dirty ones, until at most capacity remain
+    private void evict() throws IOException {
+        if (frames.size() <= capacity) {
+            return;
+        }
+        Iterator<Map.Entry<Integer, ByteBuffer>> eldest = frames.entrySet().iterator();
+        while (frames.size() > capacity) {
+            Map.Entry<Integer, ByteBuffer> entry = eldest.next();
+            if (dirty.remove(entry.getKey())) {
+                write(entry.getKey(), entry.getValue());
+            }
+            eldest.remove();
+        }
+    }
+
+    // EFFECTS: writes page to its place in the file
+    private void write(int id, ByteBuffer page) throws IOException {
+        ByteBuffer bytes = page.duplicate();
+        bytes.clear();
+        long position = (long) id * pageSize;
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+}
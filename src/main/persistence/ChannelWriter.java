@@ -0,0 +1,128 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Represents a writer that encodes text as UTF-8 into a byte channel through one fixed-size
+// char buffer and one fixed-size byte buffer. Unlike BufferedWriter over an OutputStreamWriter it
+// takes no lock per call and copies each character once, which matters when a record is written
+// a character at a time. Like OutputStreamWriter, it writes '?' for characters that cannot be
+// encoded, such as unpaired surrogates
+public class ChannelWriter extends Writer {
+
+    private WritableByteChannel channel;
+    private CharsetEncoder encoder;
+    private char[] chars;
+    private CharBuffer charBuffer;
+    private ByteBuffer bytes;
+    private int count;
+
+    // REQUIRES: bufferSize >= 2, so that a surrogate pair always fits
+    // EFFECTS: constructs writer that writes to channel through buffers of bufferSize
+    public ChannelWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = new char[bufferSize];
+        this.charBuffer = CharBuffer.wrap(chars);
+        this.bytes = ByteBuffer.allocate(bufferSize * 3);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes character c
+    @Override
+    public void write(int c) throws IOException {
+        if (count == chars.length) {
+            encode(false);
+        }
+        chars[count++] = (char) c;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes len characters of buffer starting at off
+    @Override
+    public void write(char[] buffer, int off, int len) throws IOException {
+        int written = 0;
+        while (written < len) {
+            if (count == chars.length) {
+                encode(false);
+            }
+            int n = Math.min(len - written, chars.length - count);
+            System.arraycopy(buffer, off + written, chars, count, n);
+            count += n;
+            written += n;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes len characters of str starting at off
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int written = 0;
+        while (written < len) {
+            if (count == chars.length) {
+                encode(false);
+            }
+            int n = Math.min(len - written, chars.length - count);
+            str.getChars(off + written, off + written + n, chars, count);
+            count += n;
+            written += n;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encodes and writes buffered characters to the channel, except for the first half
+    // of a surrogate pair whose second half has not been written yet
+    @Override
+    public void flush() throws IOException {
+        encode(false);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes all buffered characters to the channel and closes it
+    @Override
+    public void close() throws IOException {
+        try {
+            encode(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encodes buffered characters and writes the bytes to the channel; characters that
+    // cannot be encoded yet are moved to the start of the buffer
+    private void encode(boolean endOfInput) throws IOException {
+        charBuffer.limit(count).position(0);
+        CoderResult result = encoder.encode(charBuffer, bytes, endOfInput);
+        while (result.isOverflow()) {
+            drain();
+            result = encoder.encode(charBuffer, bytes, endOfInput);
+        }
+        if (endOfInput) {
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+        }
+        drain();
+        count = charBuffer.remaining();
+        System.arraycopy(chars, charBuffer.position(), chars, 0, count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the encoded bytes to the channel
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,78 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Represents helpers that open file streams which compress or decompress gzip data as it is
+// read or written, so a file is never held in memory in either form. Input is recognized as
+// gzip from its two magic bytes, so the same readers read compressed and plain files without
+// being told which they are
+public final class CompressedStreams {
+
+    public static final int UNCOMPRESSED = -2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    // EFFECTS: prevents instantiation
+    private CompressedStreams() {
+    }
+
+    // EFFECTS: opens source file for reading and returns a stream of its contents, decompressed
+    // if the file holds gzip data; throws IOException if the file cannot be opened or its gzip
+    // header is invalid
+    public static InputStream newInputStream(String source) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(source), BUFFER_SIZE);
+        in.mark(2);
+        boolean compressed = in.read() == GZIP_MAGIC_FIRST && in.read() == GZIP_MAGIC_SECOND;
+        in.reset();
+        return compressed ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    // EFFECTS: returns true if channel starts with the gzip magic bytes
+    public static boolean isCompressed(FileChannel channel) throws IOException {
+        if (channel.size() < 2) {
+            return false;
+        }
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        RecordSplitter.readFully(channel, magic, 0);
+        return (magic.get(0) & 0xFF) == GZIP_MAGIC_FIRST && (magic.get(1) & 0xFF) == GZIP_MAGIC_SECOND;
+    }
+
+    // REQUIRES: level is UNCOMPRESSED, Deflater.DEFAULT_COMPRESSION or between
+    // Deflater.NO_COMPRESSION and Deflater.BEST_COMPRESSION
+    // EFFECTS: opens destination file for writing, truncating it, and returns a stream that
+    // writes to it as is if level is UNCOMPRESSED, or as gzip data compressed at level
+    // otherwise; throws IOException if the file cannot be opened for writing
+    public static OutputStream newOutputStream(String destination, int level) throws IOException {
+        OutputStream out = new FileOutputStream(destination);
+        if (level == UNCOMPRESSED) {
+            return out;
+        }
+        try {
+            return new LeveledGzipOutputStream(out, level);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    // Represents a gzip output stream that compresses at a given level rather than the default
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        // EFFECTS: constructs stream that writes gzip data compressed at level to out
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+}
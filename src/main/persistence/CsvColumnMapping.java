@@ -0,0 +1,133 @@
+package persistence;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+// Represents the layout of a CSV bank statement: which columns hold the amount, description,
+// category and date of each transaction, the field delimiter, whether the first record is a
+// header, and the pattern dates are written in. The category column is optional; when it is
+// absent every imported transaction gets DEFAULT_CATEGORY
+public class CsvColumnMapping {
+
+    public static final int ABSENT = -1;
+    public static final String DEFAULT_CATEGORY = "Other";
+
+    private static final String[] DEFAULT_NAMES = {"amount", "description", "category", "date"};
+
+    private int amountColumn;
+    private int descriptionColumn;
+    private int categoryColumn;
+    private int dateColumn;
+    private char delimiter;
+    private boolean header;
+    private DateTimeFormatter dateFormat;
+
+    // REQUIRES: amountColumn, descriptionColumn and dateColumn are >= 0; categoryColumn is >= 0
+    // or ABSENT
+    // EFFECTS: constructs mapping that reads each field from the given zero-based column of a
+    // comma-separated file with a header record and ISO (yyyy-MM-dd) dates
+    public CsvColumnMapping(int amountColumn, int descriptionColumn, int categoryColumn, int dateColumn) {
+        this.amountColumn = amountColumn;
+        this.descriptionColumn = descriptionColumn;
+        this.categoryColumn = categoryColumn;
+        this.dateColumn = dateColumn;
+        this.delimiter = ',';
+        this.header = true;
+    }
+
+    // EFFECTS: returns mapping for a file whose header names the columns amount, description,
+    // category (optional) and date, in any order and case; throws IllegalArgumentException if a
+    // required column is missing
+    public static CsvColumnMapping fromHeader(List<String> header) {
+        return fromHeader(header, DEFAULT_NAMES[0], DEFAULT_NAMES[1], DEFAULT_NAMES[2], DEFAULT_NAMES[3]);
+    }
+
+    // EFFECTS: returns mapping for a file whose header names the amount, description, category and
+    // date columns as given, ignoring case and surrounding spaces; the category column may be
+    // missing; throws IllegalArgumentException if another column is missing
+    public static CsvColumnMapping fromHeader(List<String> header, String amount, String description,
+            String category, String date) {
+        return new CsvColumnMapping(requiredColumn(header, amount), requiredColumn(header, description),
+                column(header, category), requiredColumn(header, date));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets character that separates fields
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets whether the first record of the file is a header to be skipped
+    public void setHeader(boolean header) {
+        this.header = header;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets DateTimeFormatter pattern dates are written in, e.g. "MM/dd/yyyy"; throws
+    // IllegalArgumentException if pattern is invalid
+    public void setDatePattern(String pattern) {
+        this.dateFormat = DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+    }
+
+    // EFFECTS: returns index of the amount column
+    public int getAmountColumn() {
+        return amountColumn;
+    }
+
+    // EFFECTS: returns index of the description column
+    public int getDescriptionColumn() {
+        return descriptionColumn;
+    }
+
+    // EFFECTS: returns index of the category column, or ABSENT if there is none
+    public int getCategoryColumn() {
+        return categoryColumn;
+    }
+
+    // EFFECTS: returns index of the date column
+    public int getDateColumn() {
+        return dateColumn;
+    }
+
+    // EFFECTS: returns character that separates fields
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    // EFFECTS: returns true if the first record of the file is a header
+    public boolean hasHeader() {
+        return header;
+    }
+
+    // EFFECTS: returns formatter for dates, or null if dates are ISO (yyyy-MM-dd)
+    public DateTimeFormatter getDateFormat() {
+        return dateFormat;
+    }
+
+    // EFFECTS: returns number of columns a record needs to hold every mapped field
+    public int getColumnCount() {
+        return 1 + Math.max(Math.max(amountColumn, descriptionColumn), Math.max(categoryColumn, dateColumn));
+    }
+
+    // EFFECTS: returns index of the named column in header, or throws IllegalArgumentException
+    // if there is none
+    private static int requiredColumn(List<String> header, String name) {
+        int index = column(header, name);
+        if (index == ABSENT) {
+            throw new IllegalArgumentException("CSV header has no '" + name + "' column");
+        }
+        return index;
+    }
+
+    // EFFECTS: returns index of the named column in header, or ABSENT if there is none
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return ABSENT;
+    }
+}
@@ -0,0 +1,202 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Represents an importer that reads transactions from a CSV bank statement, which may be gzip
+// compressed. Every field must be filled in, as when a transaction is entered by hand, and the
+// amount and date must parse. Valid records are decoded into batches that are handed over a
+// batch at a time, so large statements are added to the tracker in bulk. Records that cannot be
+// imported are copied to a reject file together with the reason, and the import carries on
+public class CsvImporter {
+
+    private static final int BATCH_SIZE = 8192;
+
+    private String source;
+    private String rejectPath;
+    private CsvColumnMapping mapping;
+    private CsvColumnMapping layout;
+    private String headerRecord;
+    private Writer rejects;
+    private int importedCount;
+    private int rejectedCount;
+    private InternPool strings;
+
+    // EFFECTS: constructs importer that reads from source file and writes rejected records to
+    // rejectPath; columns are found from the header record unless a mapping is set
+    public CsvImporter(String source, String rejectPath) {
+        this.source = source;
+        this.rejectPath = rejectPath;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the layout of the files to be imported
+    public void setMapping(CsvColumnMapping mapping) {
+        this.mapping = mapping;
+    }
+
+    // MODIFIES: this, tracker
+    // EFFECTS: adds the valid transactions of source file to the end of tracker in file order and
+    // returns how many were added; throws IOException if the file cannot be read, or if it has no
+    // mapping and its header does not name the required columns
+    public int importInto(FinancialTracker tracker) throws IOException {
+        return importTransactions(tracker::addTransactions);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: hands the valid transactions of source file to sink in batches, in file order, and
+    // returns how many there were; throws IOException as importInto does
+    public int importTransactions(Consumer<List<Transaction>> sink) throws IOException {
+        importedCount = 0;
+        rejectedCount = 0;
+        strings = new InternPool();
+        Files.deleteIfExists(Paths.get(rejectPath));
+        char delimiter = mapping == null ? ',' : mapping.getDelimiter();
+        try (Reader reader = new InputStreamReader(CompressedStreams.newInputStream(source), StandardCharsets.UTF_8)) {
+            CsvRecordReader records = new CsvRecordReader(reader, delimiter);
+            List<String> fields = new ArrayList<>();
+            if (readLayout(records, fields)) {
+                readRecords(records, fields, sink);
+            }
+        } finally {
+            if (rejects != null) {
+                rejects.close();
+                rejects = null;
+            }
+        }
+        return importedCount;
+    }
+
+    // EFFECTS: returns number of records rejected by the last import
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    // REQUIRES: an import has been run
+    // EFFECTS: returns pool of the strings shared by the transactions of the last import
+    public InternPool getInternPool() {
+        return strings;
+    }
+
+    // MODIFIES: this, fields
+    // EFFECTS: determines the layout of the file, consuming its header record if it has one;
+    // returns false if the file holds no records
+    private boolean readLayout(CsvRecordReader records, List<String> fields) throws IOException {
+        layout = mapping;
+        headerRecord = null;
+        if (layout != null && !layout.hasHeader()) {
+            return true;
+        }
+        if (!records.next(fields)) {
+            return false;
+        }
+        headerRecord = records.getRawRecord();
+        if (layout == null) {
+            try {
+                layout = CsvColumnMapping.fromHeader(fields);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage() + ": " + source);
+            }
+        }
+        return true;
+    }
+
+    // MODIFIES: this, fields
+    // EFFECTS: decodes the remaining records, handing each full batch of transactions to sink
+    private void readRecords(CsvRecordReader records, List<String> fields, Consumer<List<Transaction>> sink)
+            throws IOException {
+        TransactionBatch batch = new TransactionBatch();
+        while (records.next(fields)) {
+            String reason = decode(fields, batch);
+            if (reason != null) {
+                reject(records, reason);
+            } else if (batch.size() == BATCH_SIZE) {
+                importedCount += batch.size();
+                sink.accept(batch.toTransactions(strings));
+                batch = new TransactionBatch();
+            }
+        }
+        if (batch.size() > 0) {
+            importedCount += batch.size();
+            sink.accept(batch.toTransactions(strings));
+        }
+    }
+
+    // MODIFIES: batch
+    // EFFECTS: adds the transaction held by fields to batch and returns null, or returns the
+    // reason the record cannot be imported
+    private String decode(List<String> fields, TransactionBatch batch) {
+        if (fields.size() < layout.getColumnCount()) {
+            return "expected " + layout.getColumnCount() + " columns but found " + fields.size();
+        }
+        String amountText = fields.get(layout.getAmountColumn()).trim();
+        String description = fields.get(layout.getDescriptionColumn()).trim();
+        String category = layout.getCategoryColumn() == CsvColumnMapping.ABSENT
+                ? CsvColumnMapping.DEFAULT_CATEGORY : fields.get(layout.getCategoryColumn()).trim();
+        String dateText = fields.get(layout.getDateColumn()).trim();
+        if (amountText.isEmpty() || description.isEmpty() || category.isEmpty() || dateText.isEmpty()) {
+            return "amount, description, category and date must all be filled in";
+        }
+        double amount = decodeAmount(amountText);
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            return "invalid amount: " + amountText;
+        }
+        try {
+            batch.add(amount, description, category, decodeDate(dateText));
+        } catch (DateTimeParseException e) {
+            return "invalid date: " + dateText;
+        }
+        return null;
+    }
+
+    // EFFECTS: returns amount written as text, or NaN if text is not a number
+    private static double decodeAmount(String text) {
+        try {
+            return FieldDecoders.parseAmount(text);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // EFFECTS: returns epoch day of date written as text in the layout's date format; throws
+    // DateTimeParseException if text is not a valid date
+    private long decodeDate(String text) {
+        if (layout.getDateFormat() == null) {
+            return FieldDecoders.parseEpochDay(text);
+        }
+        return LocalDate.parse(text, layout.getDateFormat()).toEpochDay();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the last record read to the reject file with reason appended as an extra
+    // column, opening the file and copying the header record to it on the first rejection
+    private void reject(CsvRecordReader records, String reason) throws IOException {
+        char delimiter = layout.getDelimiter();
+        if (rejects == null) {
+            rejects = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(rejectPath),
+                    StandardCharsets.UTF_8));
+            if (headerRecord != null) {
+                rejects.write(headerRecord + delimiter + "error\n");
+            }
+        }
+        String error = "line " + records.getRecordLine() + ": " + reason;
+        rejects.write(records.getRawRecord() + delimiter + "\"" + error.replace("\"", "\"\"") + "\"\n");
+        rejectedCount++;
+    }
+}
@@ -0,0 +1,137 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+// Represents a reader that splits CSV text into records and fields as described by RFC 4180:
+// fields may be quoted, and quoted fields may hold delimiters, doubled quotes and line breaks.
+// Characters are read through a fixed-size buffer, and the raw text of the last record is kept
+// so that a record that cannot be used can be copied out unchanged
+public class CsvRecordReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private Reader reader;
+    private char delimiter;
+    private char[] buffer;
+    private int pos;
+    private int limit;
+    private long lineNumber;
+    private long recordLine;
+    private StringBuilder field;
+    private StringBuilder raw;
+
+    // EFFECTS: constructs reader that reads records separated by line breaks and fields separated
+    // by delimiter from reader; a byte order mark at the start of the text is skipped
+    public CsvRecordReader(Reader reader, char delimiter) throws IOException {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.buffer = new char[BUFFER_SIZE];
+        this.field = new StringBuilder();
+        this.raw = new StringBuilder();
+        if (fill() && buffer[pos] == BYTE_ORDER_MARK) {
+            pos++;
+        }
+    }
+
+    // MODIFIES: this, fields
+    // EFFECTS: replaces contents of fields with the fields of the next record and returns true, or
+    // returns false if there are no more records; blank lines are skipped
+    public boolean next(List<String> fields) throws IOException {
+        do {
+            fields.clear();
+            raw.setLength(0);
+            recordLine = lineNumber + 1;
+            if (!(pos < limit || fill())) {
+                return false;
+            }
+            readRecord(fields);
+        } while (fields.size() == 1 && fields.get(0).isEmpty() && raw.length() == 0);
+        return true;
+    }
+
+    // EFFECTS: returns raw text of the last record read, without its line break
+    public String getRawRecord() {
+        return raw.toString();
+    }
+
+    // EFFECTS: returns line number of the first line of the last record read, counting from 1
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    // MODIFIES: this, fields
+    // EFFECTS: reads fields up to the end of the record into fields
+    private void readRecord(List<String> fields) throws IOException {
+        boolean quoted = false;
+        boolean startOfField = true;
+        while (pos < limit || fill()) {
+            char c = buffer[pos++];
+            if (!quoted && (c == '\n' || c == '\r')) {
+                endLine(c);
+                break;
+            }
+            raw.append(c);
+            if (quoted) {
+                quoted = readQuoted(c);
+            } else if (c == '"' && startOfField) {
+                quoted = true;
+            } else if (c != delimiter) {
+                field.append(c);
+            } else {
+                endField(fields);
+            }
+            startOfField = !quoted && c == delimiter;
+        }
+        endField(fields);
+    }
+
+    // MODIFIES: this, fields
+    // EFFECTS: adds the field read so far to fields and starts the next one
+    private void endField(List<String> fields) {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: handles character c inside a quoted field; returns true if the field is still quoted
+    private boolean readQuoted(char c) throws IOException {
+        if (c != '"') {
+            if (c == '\n') {
+                lineNumber++;
+            }
+            field.append(c);
+            return true;
+        }
+        if ((pos < limit || fill()) && buffer[pos] == '"') {
+            raw.append('"');
+            pos++;
+            field.append('"');
+            return true;
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the line break that starts with c, treating \r\n as one break
+    private void endLine(char c) throws IOException {
+        lineNumber++;
+        if (c == '\r' && (pos < limit || fill()) && buffer[pos] == '\n') {
+            pos++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: refills buffer from reader once it has been consumed; returns false at end of input
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+// Represents a sink that writes each record holding fields as one CSV line, with the field
+// values in the order they are written and no names. Records that hold only lists write no
+// line of their own, so a tracker is written as one line per transaction. Strings are quoted
+// only if they hold a comma, quote or line break
+public class CsvSink implements RecordSink {
+
+    private Writer writer;
+    private int fields;
+
+    // EFFECTS: constructs sink writing to writer
+    public CsvSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void beginRecord(int fieldCount) {
+        fields = 0;
+    }
+
+    @Override
+    public void writeDate(String name, LocalDate value) throws IOException {
+        separate();
+        FieldEncoders.writeDate(writer, value);
+    }
+
+    @Override
+    public void writeAmount(String name, double value) throws IOException {
+        separate();
+        FieldEncoders.writeAmount(writer, value);
+    }
+
+    @Override
+    public void writeString(String name, String value) throws IOException {
+        separate();
+        writeField(value);
+    }
+
+    @Override
+    public void beginList(String name, int size) {
+        fields = 0;
+    }
+
+    @Override
+    public void endList() {
+        fields = 0;
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        if (fields > 0) {
+            writer.write('\n');
+        }
+        fields = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the comma that precedes every field of a line but the first
+    private void separate() throws IOException {
+        if (fields++ > 0) {
+            writer.write(',');
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes value as a CSV field, quoting it if it holds a comma, quote or line break
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
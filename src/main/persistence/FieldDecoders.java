@@ -0,0 +1,124 @@
+package persistence;
+
+import java.time.LocalDate;
+
+// Represents decoders for the field formats the writers produce: dates as yyyy-MM-dd and
+// amounts as plain decimals with at most two fraction digits. Text in these formats is
+// decoded with integer arithmetic and no allocation; any other text is handed to
+// LocalDate.parse or Double.parseDouble, so results and errors match the general path
+public final class FieldDecoders {
+
+    private static final int DAYS_PER_ERA = 146097;
+    private static final int DAYS_0000_TO_1970 = 719468;
+    private static final int MAX_CENTS_DIGITS = 15;
+
+    // EFFECTS: prevents instantiation
+    private FieldDecoders() {
+    }
+
+    // EFFECTS: returns the epoch day of ISO date text; throws DateTimeParseException if text
+    // is not a valid date
+    public static long parseEpochDay(CharSequence text) {
+        if (text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month)) {
+                return epochDay(year, month, day);
+            }
+        }
+        return LocalDate.parse(text).toEpochDay();
+    }
+
+    // EFFECTS: returns the amount written as decimal text; throws NumberFormatException if text
+    // is not a number
+    public static double parseAmount(CharSequence text) {
+        long cents = parseCents(text);
+        if (cents != Long.MIN_VALUE) {
+            return cents / 100.0;
+        }
+        return Double.parseDouble(text.toString());
+    }
+
+    // EFFECTS: returns the amount written as an optionally signed decimal with at most two
+    // fraction digits as a whole number of cents, or Long.MIN_VALUE if text is in any other form
+    // or is negative zero, which has no cents representation
+    public static long parseCents(CharSequence text) {
+        int length = text.length();
+        int start = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+        int point = start;
+        while (point < length && isDigit(text.charAt(point))) {
+            point++;
+        }
+        if (point == start || point - start + 2 > MAX_CENTS_DIGITS) {
+            return Long.MIN_VALUE;
+        }
+        long whole = 0;
+        for (int i = start; i < point; i++) {
+            whole = whole * 10 + text.charAt(i) - '0';
+        }
+        long cents = appendFraction(text, point, whole);
+        if (cents == Long.MIN_VALUE || (start == 1 && cents == 0)) {
+            return Long.MIN_VALUE;
+        }
+        return start == 1 ? -cents : cents;
+    }
+
+    // EFFECTS: returns whole units followed by the one or two fraction digits after point as
+    // cents, or Long.MIN_VALUE if the text after point is not such a fraction
+    private static long appendFraction(CharSequence text, int point, long whole) {
+        int length = text.length();
+        if (point == length) {
+            return whole * 100;
+        }
+        int fraction = length - point - 1;
+        if (text.charAt(point) != '.' || fraction < 1 || fraction > 2) {
+            return Long.MIN_VALUE;
+        }
+        int digits = digits(text, point + 1, length);
+        if (digits < 0) {
+            return Long.MIN_VALUE;
+        }
+        return whole * 100 + (fraction == 1 ? digits * 10 : digits);
+    }
+
+    // EFFECTS: returns value of the decimal digits of text between start and end, or -1 if
+    // any of them is not a digit
+    private static int digits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    // EFFECTS: returns true if c is an ASCII digit
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // EFFECTS: returns number of days in month of year in the proleptic Gregorian calendar
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    // REQUIRES: year >= 0 and month and day form a valid date
+    // EFFECTS: returns number of days from 1970-01-01 to the given date; years are counted from
+    // March so that the leap day falls at the end of each year
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+}
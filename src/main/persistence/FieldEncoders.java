@@ -0,0 +1,77 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+import org.json.JSONObject;
+
+// Represents encoders for the field formats FieldDecoders reads: dates as yyyy-MM-dd and
+// amounts as JSONObject.numberToString writes them. Common values are written digit by digit
+// straight to the writer with no allocation; any other value is written through
+// LocalDate.toString or JSONObject.numberToString, so the text matches the general path
+public final class FieldEncoders {
+
+    private static final double MAX_CENTS_AMOUNT = 1e7;
+
+    // EFFECTS: prevents instantiation
+    private FieldEncoders() {
+    }
+
+    // MODIFIES: writer
+    // EFFECTS: writes date as yyyy-MM-dd
+    public static void writeDate(Writer writer, LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            writer.write(date.toString());
+            return;
+        }
+        writeDigits(writer, year, 4);
+        writer.write('-');
+        writeDigits(writer, date.getMonthValue(), 2);
+        writer.write('-');
+        writeDigits(writer, date.getDayOfMonth(), 2);
+    }
+
+    // MODIFIES: writer
+    // EFFECTS: writes amount as JSONObject.numberToString does; amounts that are a whole number
+    // of cents below ten million are written digit by digit, others through numberToString
+    public static void writeAmount(Writer writer, double amount) throws IOException {
+        long cents = Math.round(amount * 100);
+        if (amount == 0 || Math.abs(amount) >= MAX_CENTS_AMOUNT || cents / 100.0 != amount) {
+            writer.write(JSONObject.numberToString(amount));
+            return;
+        }
+        if (cents < 0) {
+            writer.write('-');
+            cents = -cents;
+        }
+        writeDigits(writer, cents / 100, 1);
+        int fraction = (int) (cents % 100);
+        if (fraction != 0) {
+            writer.write('.');
+            writer.write('0' + fraction / 10);
+            if (fraction % 10 != 0) {
+                writer.write('0' + fraction % 10);
+            }
+        }
+    }
+
+    // REQUIRES: value >= 0
+    // MODIFIES: writer
+    // EFFECTS: writes value in decimal, padded with zeros to at least width digits
+    public static void writeDigits(Writer writer, long value, int width) throws IOException {
+        long divisor = 1;
+        int length = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+            length++;
+        }
+        for (int i = length; i < width; i++) {
+            writer.write('0');
+        }
+        for (; divisor > 0; divisor /= 10) {
+            writer.write((int) ('0' + value / divisor % 10));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.IOException;
+
+// Provides conversions between the storage formats supported by the persistence package
+public final class FormatConverter {
+
+    // EFFECTS: prevents construction; this class only holds static conversions
+    private FormatConverter() {
+    }
+
+    // MODIFIES: destination of writer
+    // EFFECTS: reads financial tracker with reader and writes it with writer;
+    // throws IOException if an error occurs reading or writing data
+    public static void convert(TrackerReader reader, TrackerWriter writer) throws IOException {
+        FinancialTracker tracker = reader.read();
+        writer.open();
+        try {
+            writer.write(tracker);
+        } finally {
+            writer.close();
+        }
+    }
+
+    // MODIFIES: file at binaryDestination
+    // EFFECTS: converts JSON file at jsonSource to binary file at binaryDestination
+    public static void jsonToBinary(String jsonSource, String binaryDestination) throws IOException {
+        convert(new JsonStreamReader(jsonSource), new BinaryWriter(binaryDestination));
+    }
+
+    // MODIFIES: file at jsonDestination
+    // EFFECTS: converts binary file at binarySource to JSON file at jsonDestination
+    public static void binaryToJson(String binarySource, String jsonDestination) throws IOException {
+        convert(new BinaryReader(binarySource), new JsonStreamWriter(jsonDestination));
+    }
+}
@@ -0,0 +1,150 @@
+package persistence;
+
+import model.Transaction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Represents a pool of the category and description strings met while one file is loaded, so
+// that transactions with equal text share one String instead of each holding a fresh copy. A
+// tracker has only a handful of categories but often many repeated descriptions, such as a
+// monthly rent payment. The category table starts out holding the canonical instances of
+// Transaction.CATEGORIES, so loaded transactions share them with the rest of the program. Both
+// tables are bounded, so a file of unique descriptions costs at most the table. Once the
+// category table is full, categories it does not hold are returned as they are. Once the
+// description table is full, a description it does not hold takes the place of a pooled one
+// only if it has been seen more often, so the table ends up holding the frequent descriptions
+// rather than the first ones read. The pool is meant to be dropped when the load ends and is
+// not safe for concurrent use
+public class InternPool {
+
+    public static final int MAX_CATEGORIES = 1024;
+    public static final int MAX_DESCRIPTIONS = 16384;
+
+    private static final int SKETCH_SIZE = 4 * MAX_DESCRIPTIONS;
+    private static final int MAX_SIGHTINGS = Byte.MAX_VALUE;
+    private static final int OBJECT_SIZE = 24;
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int KILOBYTE = 1024;
+
+    private Map<String, String> categories;
+    private Map<String, Pooled> descriptions;
+    private Pooled[] residents;
+    private byte[] sightings;
+    private int victim;
+    private int lookups;
+    private int hits;
+    private long savedBytes;
+
+    // Represents a pooled description and the number of times it has been seen
+    private static class Pooled {
+        private final String value;
+        private int count;
+
+        Pooled(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+    }
+
+    // EFFECTS: constructs a pool holding only the categories of Transaction.CATEGORIES
+    public InternPool() {
+        categories = new HashMap<>();
+        descriptions = new HashMap<>();
+        for (String category : Transaction.CATEGORIES) {
+            categories.put(category, category);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the pooled string equal to category, pooling category if there is none
+    // and the category table is not full
+    public String category(String category) {
+        lookups++;
+        String pooled = categories.get(category);
+        if (pooled != null) {
+            return hit(pooled);
+        }
+        if (categories.size() < MAX_CATEGORIES) {
+            categories.put(category, category);
+        }
+        return category;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the pooled string equal to description, pooling description if there is
+    // none and either the description table is not full or description has been seen more often
+    // than the pooled description it replaces
+    public String description(String description) {
+        lookups++;
+        Pooled pooled = descriptions.get(description);
+        if (pooled != null) {
+            pooled.count++;
+            return hit(pooled.value);
+        }
+        if (descriptions.size() < MAX_DESCRIPTIONS) {
+            descriptions.put(description, new Pooled(description, 1));
+        } else {
+            admit(description);
+        }
+        return description;
+    }
+
+    // EFFECTS: returns number of strings looked up
+    public int getLookups() {
+        return lookups;
+    }
+
+    // EFFECTS: returns number of lookups answered with a pooled string
+    public int getHits() {
+        return hits;
+    }
+
+    // EFFECTS: returns number of distinct strings held by the pool, the canonical categories
+    // included
+    public int getPooledCount() {
+        return categories.size() + descriptions.size();
+    }
+
+    // EFFECTS: returns estimated number of bytes of duplicate strings that were dropped in favour
+    // of pooled ones, assuming one byte per character
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    // EFFECTS: returns a one-line report of the strings shared and the memory saved
+    public String summary() {
+        return String.format("Shared %,d of %,d strings, saving about %,d KB", hits, lookups,
+                (savedBytes + KILOBYTE - 1) / KILOBYTE);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts a lookup answered with pooled and returns pooled
+    private String hit(String pooled) {
+        hits++;
+        savedBytes += OBJECT_SIZE + ((ARRAY_HEADER_SIZE + pooled.length() + 7) & ~7);
+        return pooled;
+    }
+
+    // REQUIRES: the description table is full and does not hold description
+    // MODIFIES: this
+    // EFFECTS: records a sighting of description, then pools it in place of the next pooled
+    // description in turn if description has been seen more often; sightings of descriptions
+    // that are not pooled are counted in a fixed-size sketch, which may overestimate them
+    private void admit(String description) {
+        if (residents == null) {
+            residents = descriptions.values().toArray(new Pooled[0]);
+            sightings = new byte[SKETCH_SIZE];
+        }
+        int slot = (description.hashCode() * 0x9E3779B9 >>> 16) % SKETCH_SIZE;
+        int seen = Math.min(sightings[slot] + 1, MAX_SIGHTINGS);
+        sightings[slot] = (byte) seen;
+        Pooled resident = residents[victim];
+        if (seen > resident.count) {
+            descriptions.remove(resident.value);
+            residents[victim] = new Pooled(description, seen);
+            descriptions.put(description, residents[victim]);
+        }
+        victim = (victim + 1) % residents.length;
+    }
+}
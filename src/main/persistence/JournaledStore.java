@@ -0,0 +1,520 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.TrackerListener;
+import model.Transaction;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+// Represents a store that persists a financial tracker as a JSON snapshot plus an append-only
+// journal of the changes made since that snapshot was written. Changes are journaled as they
+// happen, so saving only appends a commit marker instead of rewriting the whole history.
+// Loading replays the committed part of the journal on top of the snapshot; changes made after
+// the last commit are discarded, just like unsaved changes. Once the journal grows past a
+// threshold, it is folded into a new snapshot written by an AsyncSaveService. The first save
+// of a tracker that was not loaded from the store also writes a full snapshot in the background.
+//
+// The journal is a file of JSON lines next to the snapshot. Its first line records the length
+// and CRC-32 checksum of the snapshot it applies to, so copying or touching the snapshot does
+// not separate them. Before a new snapshot is written, a checkpoint marker (compaction) or rebase
+// marker (first save) is appended. While the snapshot on disk still matches the header, lines
+// are replayed up to the first rebase marker; once the snapshot has been replaced but before the
+// journal is rewritten, only the lines after the last marker are replayed. A journal with
+// committed changes that matches neither way is never dropped: load refuses to use it, and a
+// first save renames it aside
+public class JournaledStore implements TrackerListener {
+
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 1L << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String COMMIT = "{\"op\":\"commit\"}";
+    private static final String CHECKPOINT = "{\"op\":\"checkpoint\"}";
+    private static final String REBASE = "{\"op\":\"rebase\"}";
+
+    private String snapshotPath;
+    private String journalPath;
+    private long compactionThreshold;
+    private AsyncSaveService saver;
+
+    private FinancialTracker tracker;
+    private boolean based;
+    private FileOutputStream journalFile;
+    private OutputStream journal;
+    private long journalLength;
+    private Future<Void> compaction;
+    private String compactionMarker;
+    private long checkpointEnd;
+    private boolean journalFailed;
+    private InternPool loadStrings;
+
+    // EFFECTS: constructs store that keeps its snapshot at snapshotPath
+    public JournaledStore(String snapshotPath) {
+        this(snapshotPath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // EFFECTS: constructs store that keeps its snapshot at snapshotPath and compacts its journal
+    // once it is longer than compactionThreshold bytes
+    public JournaledStore(String snapshotPath, long compactionThreshold) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = snapshotPath + ".journal";
+        this.compactionThreshold = compactionThreshold;
+        this.saver = new AsyncSaveService(snapshotPath);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers listener to be notified of the progress and outcome of snapshot writes
+    public void addSaveListener(SaveListener listener) {
+        saver.addListener(listener);
+    }
+
+    // REQUIRES: level is CompressedStreams.UNCOMPRESSED or a valid Deflater level
+    // MODIFIES: this
+    // EFFECTS: sets level at which later snapshots are gzip compressed; the journal itself is
+    // always plain text so that it can be appended to
+    public void setCompressionLevel(int level) {
+        saver.setCompressionLevel(level);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads snapshot, replays committed journal entries on top of it and returns the
+    // resulting tracker, whose later changes are journaled; throws IOException if an error
+    // occurs reading data from file
+    public FinancialTracker load() throws IOException {
+        return load(null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads as load() does, telling progress, if not null, how many bytes of the
+    // snapshot have been parsed as reading proceeds. The snapshot and journal are read before
+    // anything changes, so if they cannot be read the tracker attached before is still saved
+    public synchronized FinancialTracker load(ProgressListener progress) throws IOException {
+        finishCompaction(true);
+        ParallelJsonReader reader = new ParallelJsonReader(snapshotPath);
+        reader.setProgressListener(progress);
+        FinancialTracker loaded;
+        List<String> committed;
+        try {
+            loaded = reader.read();
+            committed = committedLines();
+            for (String line : committed) {
+                apply(loaded, new JSONObject(line), reader.getInternPool());
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Unable to parse " + snapshotPath + ": " + e.getMessage(), e);
+        }
+        adopt(loaded, reader.getInternPool(), committed);
+        return loaded;
+    }
+
+    // MODIFIES: this, loaded
+    // EFFECTS: stops tracking the current tracker and tracks loaded instead, rewriting the journal
+    // to hold only the committed lines it was loaded with; if the journal cannot be rewritten, the
+    // next commit writes a full snapshot instead
+    private void adopt(FinancialTracker loaded, InternPool strings, List<String> committed) {
+        detach();
+        loadStrings = strings;
+        tracker = loaded;
+        based = true;
+        tracker.addListener(this);
+        try {
+            rewriteJournal(committed);
+            journalFailed = false;
+        } catch (IOException e) {
+            journalFailed = true;
+        }
+    }
+
+    // REQUIRES: load() has been called
+    // EFFECTS: returns pool of the strings shared by the transactions of the last load
+    public synchronized InternPool getLoadStrings() {
+        return loadStrings;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts tracking changes to given tracker, which was not loaded from this store;
+    // its first commit writes a full snapshot
+    public synchronized void attach(FinancialTracker tracker) {
+        detach();
+        this.tracker = tracker;
+        based = false;
+        tracker.addListener(this);
+    }
+
+    // REQUIRES: no tracker is attached
+    // MODIFIES: files at snapshotPath and its journal path
+    // EFFECTS: renames the snapshot and the journal, where they exist, by adding suffix to their
+    // names, so that a later commit starts new files instead of replacing ones that could not be
+    // loaded; returns the new path of the snapshot. Throws IOException if a file cannot be renamed
+    public synchronized String moveAside(String suffix) throws IOException {
+        finishCompaction(true);
+        String movedPath = snapshotPath + suffix;
+        Files.move(Paths.get(snapshotPath), Paths.get(movedPath));
+        if (Files.exists(Paths.get(journalPath))) {
+            Files.move(Paths.get(journalPath), Paths.get(journalPath + suffix));
+        }
+        return movedPath;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the current state of the tracker and returns a future that completes once it
+    // is durable; this is immediate unless a full snapshot must be written first. Starts a
+    // background compaction if the journal has outgrown the threshold; throws IOException if
+    // the journal cannot be written
+    public synchronized Future<Void> commit() throws IOException {
+        finishCompaction(!based || journalFailed);
+        if (!based || journalFailed) {
+            rewriteJournal(rebaseLines());
+            return startSnapshot(REBASE);
+        }
+        append(COMMIT);
+        sync();
+        if (journalLength > compactionThreshold && compaction == null) {
+            startSnapshot(CHECKPOINT);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits for any running compaction, stops tracking the tracker and closes journal
+    public synchronized void close() throws IOException {
+        finishCompaction(true);
+        detach();
+        saver.shutdown();
+    }
+
+    @Override
+    public synchronized void transactionsAdded(int fromIndex, List<Transaction> added) {
+        for (Transaction transaction : added) {
+            record(addOperation(transaction));
+        }
+    }
+
+    @Override
+    public synchronized void transactionRemoved(int index, Transaction removed) {
+        record(new JSONObject().put("op", "remove").put("index", index).toString());
+    }
+
+    @Override
+    public synchronized void transactionsCleared(int count) {
+        record(new JSONObject().put("op", "clear").toString());
+    }
+
+    // EFFECTS: returns journal line of the operation adding transaction, with the transaction
+    // streamed into it rather than built as a JSONObject
+    private static String addOperation(Transaction transaction) {
+        StringWriter line = new StringWriter();
+        line.write("{\"op\":\"add\",\"transaction\":");
+        try {
+            transaction.writeTo(new JsonSink(line, false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // a StringWriter never fails
+        }
+        line.write('}');
+        return line.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends operation to journal if the tracker is based on this store; a failed write
+    // is remembered so that the next commit writes a full snapshot instead
+    private void record(String operation) {
+        if (!based || journalFailed) {
+            return;
+        }
+        try {
+            append(operation);
+        } catch (IOException e) {
+            journalFailed = true;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends marker to the journal and starts writing the tracker as the new snapshot
+    // in the background; later changes are journaled relative to that snapshot
+    private Future<Void> startSnapshot(String marker) throws IOException {
+        append(marker);
+        sync();
+        checkpointEnd = journalLength;
+        compactionMarker = marker;
+        based = true;
+        journalFailed = false;
+        compaction = saver.save(tracker);
+        return compaction;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if a snapshot write has completed, or wait is true and one is running, waits for
+    // it and drops the journal entries it folded into the snapshot. A failed write leaves the
+    // journal as it is, since it still holds every change since the snapshot on disk; after a
+    // failed rebase the next commit must write a full snapshot again
+    private void finishCompaction(boolean wait) throws IOException {
+        if (compaction == null || (!wait && !compaction.isDone())) {
+            return;
+        }
+        try {
+            compaction.get();
+            foldJournal();
+        } catch (ExecutionException e) {
+            based = based && !compactionMarker.equals(REBASE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            compaction = null;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rewrites journal so that it holds only the entries after the last marker
+    private void foldJournal() throws IOException {
+        closeJournal();
+        byte[] tail = new byte[(int) (journalLength - checkpointEnd)];
+        try (RandomAccessFile file = new RandomAccessFile(journalPath, "r")) {
+            file.seek(checkpointEnd);
+            file.readFully(tail);
+        }
+        Path temp = Paths.get(journalPath + ".tmp");
+        Files.write(temp, (headerLine() + "\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(temp, tail, StandardOpenOption.APPEND);
+        replace(temp, journalPath);
+        openJournal();
+    }
+
+    // EFFECTS: returns the committed journal lines that are not yet part of the snapshot on disk;
+    // throws IOException if the journal holds committed lines but belongs to another snapshot
+    private List<String> committedLines() throws IOException {
+        List<String> lines = readJournalLines();
+        int start = replayStart(lines);
+        if (start < 0) {
+            throw new IOException("Journal " + journalPath + " holds changes to a different snapshot than "
+                    + snapshotPath + "; both were left unchanged");
+        }
+        return committedFrom(lines, start);
+    }
+
+    // MODIFIES: file at journalPath
+    // EFFECTS: returns the committed journal lines to keep ahead of a rebase, as committedLines
+    // does; if the journal belongs to another snapshot, renames it aside so that its changes are
+    // kept, and returns no lines
+    private List<String> rebaseLines() throws IOException {
+        List<String> lines = readJournalLines();
+        int start = replayStart(lines);
+        if (start >= 0) {
+            return committedFrom(lines, start);
+        }
+        closeJournal();
+        Files.move(Paths.get(journalPath), Paths.get(journalPath + ".unmatched-" + System.currentTimeMillis()));
+        return new ArrayList<>();
+    }
+
+    // EFFECTS: returns index of the first of lines to replay on the snapshot on disk, or -1 if the
+    // journal belongs to another snapshot and holds committed lines that would be lost
+    private int replayStart(List<String> lines) throws IOException {
+        if (lines.isEmpty() || matchesSnapshot(lines.get(0))) {
+            return 1;
+        }
+        int marker = lastMarker(lines);
+        if (marker >= 0) {
+            return marker + 1;
+        }
+        return committedFrom(lines, 1).isEmpty() ? lines.size() : -1;
+    }
+
+    // EFFECTS: returns the operations of lines from start on that are followed by a commit,
+    // stopping at a rebase marker or a line torn by a crash
+    private List<String> committedFrom(List<String> lines, int start) {
+        List<String> committed = new ArrayList<>();
+        List<String> pending = new ArrayList<>();
+        for (int i = start; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.equals(REBASE) || parseLine(line) == null) {
+                break;
+            }
+            if (line.equals(COMMIT)) {
+                committed.addAll(pending);
+                pending.clear();
+            } else if (!line.equals(CHECKPOINT)) {
+                pending.add(line);
+            }
+        }
+        return committed;
+    }
+
+    // MODIFIES: loaded
+    // EFFECTS: applies journaled operation to loaded, sharing strings through pool
+    private void apply(FinancialTracker loaded, JSONObject operation, InternPool pool) {
+        switch (operation.getString("op")) {
+            case "add":
+                loaded.addTransaction(JsonReader.parseTransaction(operation.getJSONObject("transaction"), pool));
+                break;
+            case "remove":
+                loaded.removeTransaction(loaded.getTransaction(operation.getInt("index")));
+                break;
+            case "clear":
+                loaded.clearTransactions();
+                break;
+            default:
+                throw new JSONException("Unknown journal operation: " + operation);
+        }
+    }
+
+    // EFFECTS: returns the lines of the journal, or an empty list if there is no journal
+    private List<String> readJournalLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        Path path = Paths.get(journalPath);
+        if (Files.exists(path)) {
+            String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            for (String line : text.split("\n")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    // EFFECTS: returns index of last checkpoint or rebase line, or -1 if there is none
+    private int lastMarker(List<String> lines) {
+        for (int i = lines.size() - 1; i > 0; i--) {
+            if (lines.get(i).equals(CHECKPOINT) || lines.get(i).equals(REBASE)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns true if header line describes the snapshot currently on disk; a header
+    // written before checksums were recorded is matched on length and modification time
+    private boolean matchesSnapshot(String header) throws IOException {
+        JSONObject json = parseLine(header);
+        if (json == null) {
+            return false;
+        }
+        if (!json.has("checksum")) {
+            Path path = Paths.get(snapshotPath);
+            return Files.exists(path) && json.optLong("length") == Files.size(path)
+                    && json.optLong("modified") == Files.getLastModifiedTime(path).toMillis();
+        }
+        return headerLine().equals(json.toString());
+    }
+
+    // EFFECTS: returns line parsed as a JSON object, or null if the line was torn by a crash
+    private JSONObject parseLine(String line) {
+        try {
+            return new JSONObject(line);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    // EFFECTS: returns the journal header line for the snapshot currently on disk
+    private String headerLine() throws IOException {
+        Path path = Paths.get(snapshotPath);
+        boolean exists = Files.exists(path);
+        return new JSONObject().put("op", "base").put("length", exists ? Files.size(path) : -1)
+                .put("checksum", exists ? checksum(path) : -1).toString();
+    }
+
+    // EFFECTS: returns the CRC-32 checksum of the contents of the file at path
+    private static long checksum(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the journal with a header for the current snapshot followed by lines
+    private void rewriteJournal(List<String> lines) throws IOException {
+        closeJournal();
+        StringBuilder text = new StringBuilder(headerLine()).append('\n');
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        if (!lines.isEmpty()) {
+            text.append(COMMIT).append('\n');
+        }
+        Path temp = Paths.get(journalPath + ".tmp");
+        Files.write(temp, text.toString().getBytes(StandardCharsets.UTF_8));
+        replace(temp, journalPath);
+        openJournal();
+    }
+
+    // EFFECTS: atomically renames temp over destination
+    private void replace(Path temp, String destination) throws IOException {
+        Files.move(temp, Paths.get(destination), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends line to the journal
+    private void append(String line) throws IOException {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        journal.write(bytes);
+        journalLength += bytes.length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes journal and forces it to disk
+    private void sync() throws IOException {
+        journal.flush();
+        journalFile.getFD().sync();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens journal for appending
+    private void openJournal() throws IOException {
+        journalFile = new FileOutputStream(journalPath, true);
+        journal = new BufferedOutputStream(journalFile, BUFFER_SIZE);
+        journalLength = journalFile.getChannel().size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes journal if it is open
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops tracking the current tracker, if any, and closes journal
+    private void detach() {
+        if (tracker != null) {
+            tracker.removeListener(this);
+            tracker = null;
+        }
+        based = false;
+        try {
+            closeJournal();
+        } catch (IOException e) {
+            // only uncommitted entries can be lost; committed ones were already forced to disk
+            journal = null;
+        }
+    }
+}
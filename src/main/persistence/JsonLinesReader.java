@@ -0,0 +1,101 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Represents a reader that reads financial tracker from a JSON Lines file holding the JSON of one
+// transaction per line. The file is divided into chunks at line breaks, which takes only a short
+// read at each boundary, and the chunks are parsed on several threads and merged in file order
+// as ParallelJsonReader does
+public class JsonLinesReader implements TrackerReader {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 1 << 26;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_SIZE = 4096;
+
+    private String source;
+    private int threads;
+    private InternPool strings;
+    private ProgressListener progressListener;
+
+    // EFFECTS: constructs reader to read from source file using one thread per processor
+    public JsonLinesReader(String source) {
+        this(source, Runtime.getRuntime().availableProcessors());
+    }
+
+    // REQUIRES: threads > 0
+    // EFFECTS: constructs reader to read from source file using given number of threads
+    public JsonLinesReader(String source, int threads) {
+        this.source = source;
+        this.threads = threads;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets listener to be told how many bytes of the file have been parsed as reading
+    // proceeds
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads financial tracker from file and returns it;
+    // throws IOException if an error occurs reading data from file
+    @Override
+    public FinancialTracker read() throws IOException {
+        strings = new InternPool();
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return new FinancialTracker();
+            }
+            long chunkSize = channel.size() / ((long) threads * CHUNKS_PER_THREAD);
+            chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, chunkSize));
+            return ParallelJsonReader.parseChunks(channel, splitLines(channel, chunkSize), threads, true,
+                    strings, progressListener);
+        }
+    }
+
+    // REQUIRES: read() has been called
+    // EFFECTS: returns pool of the strings shared by the transactions of the last read
+    public InternPool getInternPool() {
+        return strings;
+    }
+
+    // EFFECTS: returns the [start, end) byte offsets of consecutive chunks of at least chunkSize
+    // bytes, except the last, that each end just after a line break or at the end of the file
+    static List<long[]> splitLines(FileChannel channel, long chunkSize) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long size = channel.size();
+        long start = 0;
+        while (start < size) {
+            long end = size - start <= chunkSize ? size : nextLineStart(channel, start + chunkSize);
+            chunks.add(new long[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    // EFFECTS: returns position just after the first line break at or after from, or the size of
+    // the file if there is none
+    private static long nextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_SIZE);
+        long position = from;
+        while (channel.read(block, position) > 0) {
+            for (int i = 0; i < block.position(); i++) {
+                if (block.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += block.position();
+            block.clear();
+        }
+        return channel.size();
+    }
+}
@@ -0,0 +1,221 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.TrackerListener;
+import model.Transaction;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+
+// Represents a store that keeps a financial tracker in a JSON Lines file holding the JSON of one
+// transaction per line, so a commit saves the transactions added since the last one by appending
+// their lines to the file in a single write. Removals and clears cannot be appended, so the first
+// commit after one rewrites the whole file to a temporary file that is renamed over the original.
+// A failed append is cut back off the file and its lines are kept for the next commit. A crash
+// part way through an append can still leave a torn last line; recover drops it, and load and
+// every append call recover first
+public class JsonLinesStore implements TrackerListener {
+
+    private static final int SCAN_SIZE = 4096;
+
+    private String path;
+    private FinancialTracker tracker;
+    private List<Transaction> appended;
+    private boolean rewrite;
+
+    // EFFECTS: constructs store that keeps transactions in the file at path
+    public JsonLinesStore(String path) {
+        this.path = path;
+        this.appended = new ArrayList<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recovers the file, reads it and returns the resulting tracker, whose later changes
+    // are saved by commit; throws IOException if the file cannot be read
+    public synchronized FinancialTracker load() throws IOException {
+        recover();
+        FinancialTracker loaded = new JsonLinesReader(path).read();
+        attach(loaded);
+        rewrite = false;
+        return loaded;
+    }
+
+    // MODIFIES: this, tracker
+    // EFFECTS: makes tracker the one saved by commit; as the file may hold other transactions,
+    // the next commit rewrites it
+    public synchronized void attach(FinancialTracker tracker) {
+        if (this.tracker != null) {
+            this.tracker.removeListener(this);
+        }
+        this.tracker = tracker;
+        tracker.addListener(this);
+        appended.clear();
+        rewrite = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves changes made since the last commit, appending added transactions to the
+    // file or rewriting it after a removal; throws IOException if the file cannot be written, in
+    // which case the file is left as it was and the same changes are saved by the next commit
+    public synchronized void commit() throws IOException {
+        if (rewrite) {
+            rewriteFile();
+            rewrite = false;
+            appended.clear();
+        } else if (!appended.isEmpty()) {
+            appendLines();
+            appended.clear();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops saving changes to the attached tracker; uncommitted changes are discarded
+    public synchronized void close() {
+        if (tracker != null) {
+            tracker.removeListener(this);
+            tracker = null;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remembers added transactions so that the next commit appends them
+    @Override
+    public synchronized void transactionsAdded(int fromIndex, List<Transaction> added) {
+        if (!rewrite) {
+            appended.addAll(added);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the file to be rewritten by the next commit
+    @Override
+    public synchronized void transactionRemoved(int index, Transaction removed) {
+        rewrite = true;
+        appended.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the file to be rewritten by the next commit
+    @Override
+    public synchronized void transactionsCleared(int count) {
+        rewrite = true;
+        appended.clear();
+    }
+
+    // MODIFIES: file at path
+    // EFFECTS: if the last line of the file has no line break, keeps it and adds the line break
+    // when it holds a complete transaction, or truncates it otherwise; returns number of bytes
+    // dropped; throws IOException if the file exists but cannot be repaired
+    public long recover() throws IOException {
+        if (!Files.exists(Paths.get(path))) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long lastLine = lastLineStart(channel);
+            if (lastLine == size) {
+                return 0;
+            }
+            if (isTransaction(channel, lastLine)) {
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}), size);
+                channel.force(false);
+                return 0;
+            }
+            channel.truncate(lastLine);
+            channel.force(false);
+            return size - lastLine;
+        }
+    }
+
+    // EFFECTS: returns position just after the last line break of the file, or 0 if it has none
+    private static long lastLineStart(FileChannel channel) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_SIZE);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - SCAN_SIZE);
+            block.clear().limit((int) (end - start));
+            RecordSplitter.readFully(channel, block, start);
+            for (int i = block.limit() - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    // EFFECTS: returns true if the text from start to the end of the file is a transaction record
+    private static boolean isTransaction(FileChannel channel, long start) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate(Math.toIntExact(channel.size() - start));
+        RecordSplitter.readFully(channel, line, start);
+        try {
+            JsonReader.parseTransaction(new JSONObject(new String(line.array(), StandardCharsets.UTF_8)));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // MODIFIES: file at path
+    // EFFECTS: drops any torn last line, then appends the lines of the transactions added since
+    // the last commit to the file in a single write and forces them to disk
+    private void appendLines() throws IOException {
+        StringWriter lines = new StringWriter();
+        RecordSink sink = new JsonSink(lines, false);
+        for (Transaction transaction : appended) {
+            transaction.writeTo(sink);
+            lines.write('\n');
+        }
+        recover();
+        append(Paths.get(path), ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // MODIFIES: file at path
+    // EFFECTS: writes bytes to the end of the file at path, creating it if needed, and forces them
+    // to disk; if that fails, truncates the file back to its old size so that no partial line is
+    // left behind, then rethrows the IOException
+    static void append(Path path, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            long size = channel.size();
+            long position = size;
+            try {
+                while (bytes.hasRemaining()) {
+                    position += channel.write(bytes, position);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                try {
+                    channel.truncate(size);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+                throw e;
+            }
+        }
+    }
+
+    // EFFECTS: writes every transaction of the tracker to a temporary file, forces it to disk and
+    // renames it over the file
+    private void rewriteFile() throws IOException {
+        Path temp = Paths.get(path + ".tmp");
+        new TransactionExporter(temp.toString(), TransactionExporter.Format.JSON_LINES).export(tracker);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, Paths.get(path), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -3,40 +3,50 @@ package persistence;
 import model.FinancialTracker;
 import model.Transaction;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.stream.Stream;
 import java.time.LocalDate;
 
 import org.json.*;
 
-// Represents a reader that reads financial tracker from JSON data stored in file
-public class JsonReader {
+// Represents a reader that reads financial tracker from JSON data stored in file, which may be
+// gzip compressed
+public class JsonReader implements TrackerReader {
 
     private String source;
+    private InternPool strings;
 
     // EFFECTS: constructs reader to read from source file
     public JsonReader(String source) {
         this.source = source;
     }
 
+    // MODIFIES: this
     // EFFECTS: reads financial tracker from file and returns it;
     // throws IOException if an error occurs reading data from file
+    @Override
     public FinancialTracker read() throws IOException {
+        strings = new InternPool();
         String jsonData = readFile(source);
         JSONObject jsonObject = new JSONObject(jsonData);
         return parseFinancialTracker(jsonObject);
     }
 
+    // REQUIRES: read() has been called
+    // EFFECTS: returns pool of the strings shared by the transactions of the last read
+    public InternPool getInternPool() {
+        return strings;
+    }
+
     // EFFECTS: reads source file as string and returns it
     private String readFile(String source) throws IOException {
         StringBuilder contentBuilder = new StringBuilder();
 
-        try (Stream<String> stream = Files.lines(Paths.get(source), 
-                StandardCharsets.UTF_8)) {
-            stream.forEach(s -> contentBuilder.append(s));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                CompressedStreams.newInputStream(source), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(s -> contentBuilder.append(s));
         }
 
         return contentBuilder.toString();
@@ -62,13 +72,24 @@ public class JsonReader {
     // MODIFIES: tracker
     // EFFECTS: parses transaction from JSON object and adds it to financial tracker
     private void addTransaction(FinancialTracker tracker, JSONObject jsonObject) {
+        tracker.addTransaction(parseTransaction(jsonObject, strings));
+    }
+
+    // EFFECTS: parses transaction from JSON object and returns it
+    static Transaction parseTransaction(JSONObject jsonObject) {
+        return parseTransaction(jsonObject, new InternPool());
+    }
+
+    // MODIFIES: strings
+    // EFFECTS: parses transaction from JSON object and returns it, sharing its category and
+    // description through strings
+    static Transaction parseTransaction(JSONObject jsonObject, InternPool strings) {
         double amount = jsonObject.getDouble("amount");
-        String description = jsonObject.getString("description");
-        String category = jsonObject.getString("category");
+        String description = strings.description(jsonObject.getString("description"));
+        String category = strings.category(jsonObject.getString("category"));
         String dateString = jsonObject.getString("date");
-        LocalDate date = LocalDate.parse(dateString);
+        LocalDate date = LocalDate.ofEpochDay(FieldDecoders.parseEpochDay(dateString));
 
-        Transaction transaction = new Transaction(amount, description, category, date);
-        tracker.addTransaction(transaction);
+        return new Transaction(amount, description, category, date);
     }
 }
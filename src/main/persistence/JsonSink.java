@@ -0,0 +1,148 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.json.JSONObject;
+
+// Represents a sink that writes records to a writer as JSON. Pretty output is laid out as
+// JSONObject.toString(4) lays out the same object: a record or list with more than one entry
+// puts each entry on its own indented line, and one with a single entry keeps it inline.
+// Compact output is identical to JSONObject.toString(). Open records and lists are tracked in
+// arrays, so writing a field allocates nothing
+public class JsonSink implements RecordSink {
+
+    private static final int TAB = 4;
+    private static final char[] SPACES = new char[64];
+    private static final int INITIAL_DEPTH = 8;
+
+    static {
+        Arrays.fill(SPACES, ' ');
+    }
+
+    private Writer writer;
+    private boolean pretty;
+    private int depth;
+    private int[] indents;
+    private int[] sizes;
+    private int[] written;
+
+    // EFFECTS: constructs sink writing to writer, indented if pretty is true
+    public JsonSink(Writer writer, boolean pretty) {
+        this.writer = writer;
+        this.pretty = pretty;
+        this.indents = new int[INITIAL_DEPTH];
+        this.sizes = new int[INITIAL_DEPTH];
+        this.written = new int[INITIAL_DEPTH];
+    }
+
+    @Override
+    public void beginRecord(int fieldCount) throws IOException {
+        int indent = depth == 0 ? 0 : separate();
+        writer.write('{');
+        push(indent, fieldCount);
+    }
+
+    @Override
+    public void writeDate(String name, LocalDate value) throws IOException {
+        writeName(name);
+        writer.write('"');
+        FieldEncoders.writeDate(writer, value);
+        writer.write('"');
+    }
+
+    @Override
+    public void writeAmount(String name, double value) throws IOException {
+        writeName(name);
+        FieldEncoders.writeAmount(writer, value);
+    }
+
+    @Override
+    public void writeString(String name, String value) throws IOException {
+        writeName(name);
+        JSONObject.quote(value, writer);
+    }
+
+    @Override
+    public void beginList(String name, int size) throws IOException {
+        int indent = writeName(name);
+        writer.write('[');
+        push(indent, size);
+    }
+
+    @Override
+    public void endList() throws IOException {
+        close(']');
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        close('}');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes separator and quoted name that precede a field value of the innermost
+    // record, and returns the indentation of the line the value starts on
+    private int writeName(String name) throws IOException {
+        int indent = separate();
+        writer.write('"');
+        writer.write(name);
+        writer.write('"');
+        writer.write(':');
+        if (pretty) {
+            writer.write(' ');
+        }
+        return indent;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the comma and line break that precede the next entry of the innermost record
+    // or list, counts the entry, and returns the indentation of the line the entry starts on
+    private int separate() throws IOException {
+        int top = depth - 1;
+        if (written[top]++ > 0) {
+            writer.write(',');
+        }
+        if (!pretty || sizes[top] <= 1) {
+            return indents[top];
+        }
+        writer.write('\n');
+        writeIndent(indents[top] + TAB);
+        return indents[top] + TAB;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens a record or list of size entries whose closing line has given indentation
+    private void push(int indent, int size) {
+        if (depth == indents.length) {
+            indents = Arrays.copyOf(indents, depth * 2);
+            sizes = Arrays.copyOf(sizes, depth * 2);
+            written = Arrays.copyOf(written, depth * 2);
+        }
+        indents[depth] = indent;
+        sizes[depth] = size;
+        written[depth] = 0;
+        depth++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the innermost record or list with given bracket
+    private void close(char bracket) throws IOException {
+        depth--;
+        if (pretty && sizes[depth] > 1) {
+            writer.write('\n');
+            writeIndent(indents[depth]);
+        }
+        writer.write(bracket);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes count spaces
+    private void writeIndent(int count) throws IOException {
+        for (int left = count; left > 0; left -= SPACES.length) {
+            writer.write(SPACES, 0, Math.min(left, SPACES.length));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.json.JSONException;
+
+// Represents a reader that streams financial tracker from JSON data stored in file, which
+// may be gzip compressed; each transaction is added to the tracker as soon as its record has
+// been tokenized, so no copy of the file or its object tree is ever held in memory
+public class JsonStreamReader implements TrackerReader {
+
+    private static final String[] FIELD_NAMES = {"amount", "description", "category", "date"};
+    static final int AMOUNT = 0;
+    static final int DESCRIPTION = 1;
+    static final int CATEGORY = 2;
+    static final int DATE = 3;
+
+    private String source;
+    private InternPool strings;
+
+    // EFFECTS: constructs reader to read from source file
+    public JsonStreamReader(String source) {
+        this.source = source;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads financial tracker from file and returns it;
+    // throws IOException if an error occurs reading data from file
+    @Override
+    public FinancialTracker read() throws IOException {
+        strings = new InternPool();
+        try (Reader reader = new InputStreamReader(CompressedStreams.newInputStream(source),
+                StandardCharsets.UTF_8.newDecoder())) {
+            return parseFinancialTracker(new JsonTokenizer(reader));
+        }
+    }
+
+    // REQUIRES: read() has been called
+    // EFFECTS: returns pool of the strings shared by the transactions of the last read
+    public InternPool getInternPool() {
+        return strings;
+    }
+
+    // EFFECTS: parses financial tracker from tokenizer and returns it
+    private FinancialTracker parseFinancialTracker(JsonTokenizer tokenizer) throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        boolean foundTransactions = false;
+        tokenizer.beginObject();
+        while (tokenizer.hasNext()) {
+            if (tokenizer.nextName().equals("transactions")) {
+                addTransactions(tracker, tokenizer);
+                foundTransactions = true;
+            } else {
+                tokenizer.skipValue();
+            }
+        }
+        tokenizer.endObject();
+        if (!foundTransactions) {
+            throw new JSONException("JSONObject[\"transactions\"] not found.");
+        }
+        return tracker;
+    }
+
+    // MODIFIES: tracker
+    // EFFECTS: parses transactions array from tokenizer and adds them to financial tracker
+    private void addTransactions(FinancialTracker tracker, JsonTokenizer tokenizer) throws IOException {
+        tokenizer.beginArray();
+        while (tokenizer.hasNext()) {
+            tracker.addTransaction(parseTransaction(tokenizer));
+        }
+        tokenizer.endArray();
+    }
+
+    // EFFECTS: parses a single transaction record from tokenizer and returns it
+    private Transaction parseTransaction(JsonTokenizer tokenizer) throws IOException {
+        Object[] fields = readFields(tokenizer);
+        LocalDate date = LocalDate.ofEpochDay(FieldDecoders.parseEpochDay((String) fields[DATE]));
+        return new Transaction((Double) fields[AMOUNT], strings.description((String) fields[DESCRIPTION]),
+                strings.category((String) fields[CATEGORY]), date);
+    }
+
+    // EFFECTS: parses a single transaction record from tokenizer and returns its amount, description,
+    // category and date text, indexed by AMOUNT, DESCRIPTION, CATEGORY and DATE; throws JSONException
+    // if a field is missing
+    static Object[] readFields(JsonTokenizer tokenizer) throws IOException {
+        Object[] fields = new Object[FIELD_NAMES.length];
+        tokenizer.beginObject();
+        while (tokenizer.hasNext()) {
+            readField(tokenizer, tokenizer.nextName(), fields);
+        }
+        tokenizer.endObject();
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            checkPresent(fields[i], FIELD_NAMES[i]);
+        }
+        return fields;
+    }
+
+    // MODIFIES: fields
+    // EFFECTS: reads the value of the named field into fields; skips fields that are not recognized
+    private static void readField(JsonTokenizer tokenizer, String name, Object[] fields) throws IOException {
+        switch (name) {
+            case "amount":
+                fields[AMOUNT] = tokenizer.nextDouble();
+                break;
+            case "description":
+                fields[DESCRIPTION] = tokenizer.nextString();
+                break;
+            case "category":
+                fields[CATEGORY] = tokenizer.nextString();
+                break;
+            case "date":
+                fields[DATE] = tokenizer.nextString();
+                break;
+            default:
+                tokenizer.skipValue();
+        }
+    }
+
+    // EFFECTS: throws JSONException if the value of the named field was not found
+    private static void checkPresent(Object value, String name) {
+        if (value == null) {
+            throw new JSONException("JSONObject[\"" + name + "\"] not found.");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Represents a writer that streams JSON representation of Financial Tracker to file one
+// transaction at a time through a JsonSink, without building a JSONObject tree or the document
+// as a String, and reports progress as it goes.
+// Pretty output is identical to the text written by JsonWriter; compact output is identical
+// to FinancialTracker.toJson().toString()
+public class JsonStreamWriter implements TrackerWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int PROGRESS_INTERVAL = 4096;
+
+    private Writer writer;
+    private String destination;
+    private boolean compact;
+    private int compressionLevel;
+    private ProgressListener progressListener;
+
+    // EFFECTS: constructs writer to write indented JSON to destination file
+    public JsonStreamWriter(String destination) {
+        this(destination, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file; output has no indentation
+    // or line breaks if compact is true
+    public JsonStreamWriter(String destination, boolean compact) {
+        this.destination = destination;
+        this.compact = compact;
+        this.compressionLevel = CompressedStreams.UNCOMPRESSED;
+    }
+
+    // REQUIRES: level is CompressedStreams.UNCOMPRESSED or a valid Deflater level
+    // MODIFIES: this
+    // EFFECTS: sets level at which files opened later are gzip compressed
+    public void setCompressionLevel(int level) {
+        this.compressionLevel = level;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets listener to be told how many transactions have been written as writing
+    // proceeds
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer; throws IOException if destination file cannot
+    // be opened for writing
+    @Override
+    public void open() throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(
+                CompressedStreams.newOutputStream(destination, compressionLevel), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of financial tracker to file
+    @Override
+    public void write(FinancialTracker tracker) throws IOException {
+        int count = tracker.getTransactionCount();
+        RecordSink sink = new JsonSink(writer, !compact);
+        sink.beginRecord(1);
+        sink.beginList("transactions", count);
+        for (int i = 0; i < count; i++) {
+            tracker.getTransaction(i).writeTo(sink);
+            if ((i + 1) % PROGRESS_INTERVAL == 0) {
+                reportProgress(i + 1, count);
+            }
+        }
+        sink.endList();
+        sink.endRecord();
+        reportProgress(count, count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes buffered output and closes writer
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    // EFFECTS: tells progress listener, if any, that written of total transactions are done
+    private void reportProgress(int written, int total) {
+        if (progressListener != null) {
+            progressListener.progress(written, total);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.json.JSONException;
+
+// Represents a pull tokenizer over JSON text; characters are read through a fixed-size
+// buffer so a document can be walked token by token without holding it in memory
+public class JsonTokenizer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_DEPTH = 16;
+
+    private Reader reader;
+    private char[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed;
+    private boolean[] hasElement;
+    private int depth;
+    private StringBuilder literal;
+
+    // EFFECTS: constructs tokenizer that reads JSON text from reader
+    public JsonTokenizer(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.hasElement = new boolean[INITIAL_DEPTH];
+        this.literal = new StringBuilder();
+    }
+
+    // EFFECTS: returns number of characters consumed so far
+    public long getPosition() {
+        return consumed + pos;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns next non-whitespace character without consuming it, or -1 at end of input
+    public int peek() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            pos++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the start of an object
+    public void beginObject() throws IOException {
+        expect('{');
+        push();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the end of an object
+    public void endObject() throws IOException {
+        expect('}');
+        depth--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the start of an array
+    public void beginArray() throws IOException {
+        expect('[');
+        push();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the end of an array
+    public void endArray() throws IOException {
+        expect(']');
+        depth--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the comma before the next member or element of the current object or
+    // array if there is one; returns true if another member or element follows
+    public boolean hasNext() throws IOException {
+        int c = peek();
+        if (c == '}' || c == ']') {
+            return false;
+        }
+        if (hasElement[depth - 1]) {
+            expect(',');
+        }
+        hasElement[depth - 1] = true;
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes a member name and its colon and returns the name
+    public String nextName() throws IOException {
+        String name = nextString();
+        expect(':');
+        return name;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes a string value and returns it with escapes resolved
+    public String nextString() throws IOException {
+        expect('"');
+        int start = pos;
+        while (pos < limit) {
+            char c = buffer[pos];
+            if (c == '"') {
+                String value = new String(buffer, start, pos - start);
+                pos++;
+                return value;
+            }
+            if (c == '\\') {
+                break;
+            }
+            pos++;
+        }
+        StringBuilder builder = new StringBuilder();
+        builder.append(buffer, start, pos - start);
+        return readStringTail(builder);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes a number, or a string holding a number, and returns it as a double
+    public double nextDouble() throws IOException {
+        if (peek() == '"') {
+            String text = nextString();
+            try {
+                return FieldDecoders.parseAmount(text);
+            } catch (NumberFormatException e) {
+                throw syntaxError("Value \"" + text + "\" is not a number");
+            }
+        }
+        CharSequence text = nextLiteral();
+        try {
+            return FieldDecoders.parseAmount(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Value " + text + " is not a number");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the next value, including any nested objects or arrays
+    public void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            nextString();
+        } else if (c == '{') {
+            beginObject();
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+            endObject();
+        } else if (c == '[') {
+            beginArray();
+            while (hasNext()) {
+                skipValue();
+            }
+            endArray();
+        } else {
+            nextLiteral();
+        }
+    }
+
+    // EFFECTS: returns a JSONException describing a syntax error at the current position
+    public JSONException syntaxError(String message) {
+        return new JSONException(message + " at character " + getPosition());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes next non-whitespace character; throws JSONException if it is not expected
+    private void expect(char expected) throws IOException {
+        int c = peek();
+        if (c != expected) {
+            throw syntaxError(c == -1 ? "Unexpected end of input, expected '" + expected + "'"
+                    : "Expected '" + expected + "' but found '" + (char) c + "'");
+        }
+        pos++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes an unquoted number, true, false or null and returns its text; the text
+    // is only valid until the next literal is consumed
+    private CharSequence nextLiteral() throws IOException {
+        peek();
+        StringBuilder builder = literal;
+        builder.setLength(0);
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if (!isLiteralChar(c)) {
+                break;
+            }
+            builder.append(c);
+            pos++;
+        }
+        if (builder.length() == 0) {
+            throw syntaxError("Expected a value");
+        }
+        return builder;
+    }
+
+    // EFFECTS: returns true if c may appear in an unquoted literal
+    private static boolean isLiteralChar(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || c == '-' || c == '+' || c == '.';
+    }
+
+    // MODIFIES: this, builder
+    // EFFECTS: consumes the rest of a string whose start has already been copied to builder
+    private String readStringTail(StringBuilder builder) throws IOException {
+        while (pos < limit || fill()) {
+            char c = buffer[pos++];
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c == '\\') {
+                builder.append(readEscape());
+            } else {
+                builder.append(c);
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes an escape sequence following a backslash and returns the character it denotes
+    private char readEscape() throws IOException {
+        char c = nextRawChar();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                return readUnicodeEscape();
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            default:
+                throw syntaxError("Illegal escape '\\" + c + "'");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the four hex digits of a unicode escape and returns the character
+    private char readUnicodeEscape() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(nextRawChar(), 16);
+            if (digit < 0) {
+                throw syntaxError("Illegal unicode escape");
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes and returns the next character, whitespace included
+    private char nextRawChar() throws IOException {
+        if (pos == limit && !fill()) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return buffer[pos++];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the start of a new object or array
+    private void push() {
+        if (depth == hasElement.length) {
+            boolean[] grown = new boolean[depth * 2];
+            System.arraycopy(hasElement, 0, grown, 0, depth);
+            hasElement = grown;
+        }
+        hasElement[depth++] = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: refills buffer from reader once it has been consumed; returns false at end of input
+    private boolean fill() throws IOException {
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int read = reader.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = reader.read(buffer, 0, buffer.length);
+        }
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+}
@@ -1,44 +1,51 @@
 package persistence;
 
 import model.FinancialTracker;
-import org.json.JSONObject;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 // Represents a writer that writes JSON representation of Financial Tracker to file
-public class JsonWriter {
+public class JsonWriter implements TrackerWriter {
 
-    private static final int TAB = 4;
-    private PrintWriter writer;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private Writer writer;
     private String destination;
+    private int compressionLevel;
 
-    // EFFECTS: constructs writer to write to destination file
+    // EFFECTS: constructs writer to write uncompressed JSON to destination file
     public JsonWriter(String destination) {
         this.destination = destination;
+        this.compressionLevel = CompressedStreams.UNCOMPRESSED;
     }
 
+    // REQUIRES: level is CompressedStreams.UNCOMPRESSED or a valid Deflater level
     // MODIFIES: this
-    // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
-    // be opened for writing
-    public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(destination));
+    // EFFECTS: sets level at which files opened later are gzip compressed
+    public void setCompressionLevel(int level) {
+        this.compressionLevel = level;
     }
 
     // MODIFIES: this
-    // EFFECTS: writes JSON representation of financial tracker to file
-    public void write(FinancialTracker tracker) {
-        JSONObject json = tracker.toJson();
-        saveToFile(json.toString(TAB));
+    // EFFECTS: opens writer; throws IOException if destination file cannot
+    // be opened for writing
+    @Override
+    public void open() throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(
+                CompressedStreams.newOutputStream(destination, compressionLevel), StandardCharsets.UTF_8), BUFFER_SIZE);
     }
 
     // MODIFIES: this
-    // EFFECTS: closes writer
-    public void close() {
-        writer.close();
+    // EFFECTS: writes JSON representation of financial tracker to file, indented as
+    // tracker.toJson().toString(4) would be
+    @Override
+    public void write(FinancialTracker tracker) throws IOException {
+        tracker.writeTo(new JsonSink(writer, true));
     }
 
     // MODIFIES: this
-    // EFFECTS: writes string to file
-    private void saveToFile(String json) {
-        writer.print(json);
+    // EFFECTS: flushes buffered output and closes writer
+    @Override
+    public void close() throws IOException {
+        writer.close();
     }
 }
@@ -0,0 +1,84 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Represents a read-only, memory-mapped region of a file addressed by long offsets.
+// A single MappedByteBuffer is limited to 2 GiB, so larger regions are mapped as a
+// sequence of fixed-size chunks; reads that straddle two chunks are assembled byte by byte
+public class MappedRegion {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private MappedByteBuffer[] chunks;
+    private long length;
+
+    // EFFECTS: maps length bytes of channel starting at offset; mapping is lazy, so pages are
+    // only read from disk when first touched
+    public MappedRegion(FileChannel channel, long offset, long length) throws IOException {
+        this.length = length;
+        int count = (int) ((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+        chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            long size = Math.min(CHUNK_SIZE, length - start);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, size);
+        }
+    }
+
+    // EFFECTS: returns number of bytes in this region
+    public long length() {
+        return length;
+    }
+
+    // REQUIRES: 0 <= position <= length() - 8
+    // EFFECTS: returns big-endian long stored at position
+    public long getLong(long position) {
+        ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+        int offset = (int) (position & CHUNK_MASK);
+        if (offset + Long.BYTES <= chunk.limit()) {
+            return chunk.getLong(offset);
+        }
+        return ((long) getInt(position) << 32) | (getInt(position + Integer.BYTES) & 0xFFFFFFFFL);
+    }
+
+    // REQUIRES: 0 <= position <= length() - 4
+    // EFFECTS: returns big-endian int stored at position
+    public int getInt(long position) {
+        ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+        int offset = (int) (position & CHUNK_MASK);
+        if (offset + Integer.BYTES <= chunk.limit()) {
+            return chunk.getInt(offset);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | (getByte(position + i) & 0xFF);
+        }
+        return value;
+    }
+
+    // REQUIRES: 0 <= position < length()
+    // EFFECTS: returns byte stored at position
+    public byte getByte(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].get((int) (position & CHUNK_MASK));
+    }
+
+    // REQUIRES: 0 <= position <= length() - dst.length
+    // MODIFIES: dst
+    // EFFECTS: copies dst.length bytes starting at position into dst
+    public void getBytes(long position, byte[] dst) {
+        int copied = 0;
+        while (copied < dst.length) {
+            long at = position + copied;
+            ByteBuffer chunk = chunks[(int) (at >>> CHUNK_SHIFT)];
+            int offset = (int) (at & CHUNK_MASK);
+            int count = Math.min(dst.length - copied, chunk.limit() - offset);
+            chunk.get(offset, dst, copied, count);
+            copied += count;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package persistence;
+
+import java.time.LocalDate;
+
+// Represents the summary of one page of a PagedTransactionFile: where the page starts in the
+// sequence of transactions, how many it holds, the span of their dates and their totals, so
+// that counts, totals and date queries can skip pages without reading them
+public class PageSummary {
+
+    private int firstIndex;
+    private int count;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private double income;
+    private double expenses;
+
+    // REQUIRES: count > 0 and firstDate is not after lastDate
+    // EFFECTS: constructs summary of count transactions starting at firstIndex, dated between
+    // firstDate and lastDate inclusive, with given total income and total expenses
+    public PageSummary(int firstIndex, int count, LocalDate firstDate, LocalDate lastDate,
+            double income, double expenses) {
+        this.firstIndex = firstIndex;
+        this.count = count;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        this.income = income;
+        this.expenses = expenses;
+    }
+
+    // EFFECTS: returns index of the first transaction on the page
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    // EFFECTS: returns number of transactions on the page
+    public int getCount() {
+        return count;
+    }
+
+    // EFFECTS: returns earliest date of a transaction on the page
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    // EFFECTS: returns latest date of a transaction on the page
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    // EFFECTS: returns total of the page's positive amounts
+    public double getIncome() {
+        return income;
+    }
+
+    // EFFECTS: returns total of the page's negative amounts, as a positive number
+    public double getExpenses() {
+        return expenses;
+    }
+
+    // EFFECTS: returns true if some transaction on the page may be dated between from and to
+    // inclusive
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return !firstDate.isAfter(to) && !lastDate.isBefore(from);
+    }
+}
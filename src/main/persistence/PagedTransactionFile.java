@@ -0,0 +1,336 @@
+package persistence;
+
+import model.Transaction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents a JSON Lines transaction file opened for lazy, read-only access. A sidecar index
+// file next to it holds the byte offset and a PageSummary of every page of PAGE_SIZE lines, so
+// opening the file reads only the index, and the count, totals and date span of the history are
+// known without reading a transaction. A page is parsed when one of its transactions is first
+// requested, and only the most recently used pages are kept in memory.
+//
+// index file:  int magic, int version, long sourceSize, long sourceModified, int pageCount,
+//              int recordCount, then pageCount entries of PAGE_ENTRY_SIZE bytes:
+//              long offset, int count, int firstEpochDay, int lastEpochDay, double income,
+//              double expenses
+//
+// The index is rebuilt with one pass over the file whenever it is missing, or the size or
+// modification time of the file differs from those it was built for
+public class PagedTransactionFile {
+
+    public static final int PAGE_SIZE = 1024;
+    public static final int DEFAULT_CACHED_PAGES = 64;
+
+    private static final int MAGIC = 0x46544958; // "FTIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int PAGE_ENTRY_SIZE = 36;
+    private static final int SCAN_SIZE = 1 << 16;
+
+    private String source;
+    private int cachedPages;
+    private FileChannel channel;
+    private long[] offsets;
+    private PageSummary[] summaries;
+    private int recordCount;
+    private Map<Integer, List<Transaction>> cache;
+
+    // EFFECTS: constructs paged view of source file keeping DEFAULT_CACHED_PAGES pages in memory
+    public PagedTransactionFile(String source) {
+        this(source, DEFAULT_CACHED_PAGES);
+    }
+
+    // REQUIRES: cachedPages > 0
+    // EFFECTS: constructs paged view of source file keeping up to cachedPages pages in memory
+    public PagedTransactionFile(String source, int cachedPages) {
+        this.source = source;
+        this.cachedPages = cachedPages;
+    }
+
+    // EFFECTS: returns path of the index file kept next to source
+    public static String indexPath(String source) {
+        return source + ".idx";
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens source file and reads its index, building and saving the index first if it
+    // is missing or out of date; throws IOException if the file cannot be read
+    public synchronized void open() throws IOException {
+        channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ);
+        try {
+            if (!readIndex()) {
+                buildIndex();
+                writeIndex();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        cache = new LinkedHashMap<Integer, List<Transaction>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Transaction>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns number of transactions in the file
+    public synchronized int getTransactionCount() {
+        return recordCount;
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns number of pages in the file
+    public synchronized int getPageCount() {
+        return summaries.length;
+    }
+
+    // REQUIRES: open() has been called and 0 <= page < getPageCount()
+    // EFFECTS: returns summary of the page, without reading the page
+    public synchronized PageSummary getPageSummary(int page) {
+        return summaries[page];
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns total income of the file, computed from the page summaries
+    public synchronized double getTotalIncome() {
+        double total = 0.0;
+        for (PageSummary summary : summaries) {
+            total += summary.getIncome();
+        }
+        return total;
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns total expenses of the file as a positive number, computed from the page
+    // summaries
+    public synchronized double getTotalExpenses() {
+        double total = 0.0;
+        for (PageSummary summary : summaries) {
+            total += summary.getExpenses();
+        }
+        return total;
+    }
+
+    // REQUIRES: open() has been called and 0 <= index < getTransactionCount()
+    // EFFECTS: returns transaction at index, reading its page if it is not in memory;
+    // throws IOException if the page cannot be read
+    public synchronized Transaction getTransaction(int index) throws IOException {
+        int page = pageOf(index);
+        return getPage(page).get(index - summaries[page].getFirstIndex());
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns transactions dated between from and to inclusive in file order, reading
+    // only pages whose date span overlaps the range; throws IOException if a page cannot be read
+    public synchronized List<Transaction> getTransactionsBetween(LocalDate from, LocalDate to)
+            throws IOException {
+        List<Transaction> found = new ArrayList<>();
+        for (int page = 0; page < summaries.length; page++) {
+            if (summaries[page].overlaps(from, to)) {
+                for (Transaction transaction : getPage(page)) {
+                    if (!transaction.getDate().isBefore(from) && !transaction.getDate().isAfter(to)) {
+                        found.add(transaction);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns transactions with given category in file order, reading each page in turn;
+    // throws IOException if a page cannot be read
+    public synchronized List<Transaction> getTransactionsByCategory(String category) throws IOException {
+        List<Transaction> found = new ArrayList<>();
+        for (int page = 0; page < summaries.length; page++) {
+            for (Transaction transaction : getPage(page)) {
+                if (transaction.hasCategory(category)) {
+                    found.add(transaction);
+                }
+            }
+        }
+        return found;
+    }
+
+    // REQUIRES: open() has been called
+    // EFFECTS: returns number of pages currently held in memory
+    public synchronized int getCachedPageCount() {
+        return cache.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: releases cached pages and closes the file
+    public synchronized void close() throws IOException {
+        cache.clear();
+        channel.close();
+    }
+
+    // EFFECTS: returns page holding transaction at index
+    private int pageOf(int index) {
+        int low = 0;
+        int high = summaries.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (summaries[middle].getFirstIndex() <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns transactions on page, parsing it and caching it if it is not in memory
+    private List<Transaction> getPage(int page) throws IOException {
+        List<Transaction> transactions = cache.get(page);
+        if (transactions == null) {
+            transactions = ParallelJsonReader.parseChunk(channel, offsets[page], offsets[page + 1], true)
+                    .toTransactions();
+            cache.put(page, transactions);
+        }
+        return transactions;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads offsets and summaries from the index file; returns false, leaving this
+    // unchanged, if the index is missing, malformed or was built for a different version of source
+    private boolean readIndex() throws IOException {
+        Path index = Paths.get(indexPath(source));
+        if (!Files.exists(index)) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(index));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                || buffer.getLong() != channel.size() || buffer.getLong() != lastModified()) {
+            return false;
+        }
+        int pageCount = buffer.getInt();
+        int count = buffer.getInt();
+        if (pageCount < 0 || buffer.remaining() != (long) pageCount * PAGE_ENTRY_SIZE) {
+            return false;
+        }
+        readPages(buffer, pageCount);
+        recordCount = count;
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads offsets and summaries of pageCount pages from the entries of the index
+    private void readPages(ByteBuffer buffer, int pageCount) throws IOException {
+        offsets = new long[pageCount + 1];
+        summaries = new PageSummary[pageCount];
+        int first = 0;
+        for (int page = 0; page < pageCount; page++) {
+            offsets[page] = buffer.getLong();
+            summaries[page] = new PageSummary(first, buffer.getInt(), LocalDate.ofEpochDay(buffer.getInt()),
+                    LocalDate.ofEpochDay(buffer.getInt()), buffer.getDouble(), buffer.getDouble());
+            first += summaries[page].getCount();
+        }
+        offsets[pageCount] = channel.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads source one page at a time, recording the offset and summary of every page
+    // that holds at least one transaction
+    private void buildIndex() throws IOException {
+        List<Long> starts = new ArrayList<>();
+        List<PageSummary> pages = new ArrayList<>();
+        long size = channel.size();
+        long start = 0;
+        int count = 0;
+        while (start < size) {
+            long end = skipLines(start, PAGE_SIZE);
+            TransactionBatch batch = ParallelJsonReader.parseChunk(channel, start, end, true);
+            if (batch.size() > 0) {
+                starts.add(start);
+                pages.add(summarize(count, batch));
+                count += batch.size();
+            }
+            start = end;
+        }
+        offsets = new long[pages.size() + 1];
+        for (int page = 0; page < pages.size(); page++) {
+            offsets[page] = starts.get(page);
+        }
+        offsets[pages.size()] = size;
+        summaries = pages.toArray(new PageSummary[0]);
+        recordCount = count;
+    }
+
+    // EFFECTS: returns position just after the given number of line breaks following from, or
+    // the size of the file if it ends first
+    private long skipLines(long from, int lines) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_SIZE);
+        long position = from;
+        int remaining = lines;
+        while (channel.read(block, position) > 0) {
+            for (int i = 0; i < block.position(); i++) {
+                if (block.get(i) == '\n' && --remaining == 0) {
+                    return position + i + 1;
+                }
+            }
+            position += block.position();
+            block.clear();
+        }
+        return channel.size();
+    }
+
+    // REQUIRES: batch.size() > 0
+    // EFFECTS: returns summary of the transactions in batch, the first of which is at firstIndex
+    private static PageSummary summarize(int firstIndex, TransactionBatch batch) {
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        double income = 0.0;
+        double expenses = 0.0;
+        for (int i = 0; i < batch.size(); i++) {
+            firstDay = Math.min(firstDay, batch.getEpochDay(i));
+            lastDay = Math.max(lastDay, batch.getEpochDay(i));
+            if (batch.getAmount(i) > 0) {
+                income += batch.getAmount(i);
+            } else {
+                expenses -= batch.getAmount(i);
+            }
+        }
+        return new PageSummary(firstIndex, batch.size(), LocalDate.ofEpochDay(firstDay),
+                LocalDate.ofEpochDay(lastDay), income, expenses);
+    }
+
+    // EFFECTS: writes offsets and summaries to the index file; the index is only an accelerator,
+    // so if it cannot be written the file stays open and the index is rebuilt next time
+    private void writeIndex() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + summaries.length * PAGE_ENTRY_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(channel.size()).putLong(lastModified());
+        buffer.putInt(summaries.length).putInt(recordCount);
+        for (int page = 0; page < summaries.length; page++) {
+            PageSummary summary = summaries[page];
+            buffer.putLong(offsets[page]).putInt(summary.getCount());
+            buffer.putInt((int) summary.getFirstDate().toEpochDay()).putInt((int) summary.getLastDate().toEpochDay());
+            buffer.putDouble(summary.getIncome()).putDouble(summary.getExpenses());
+        }
+        try {
+            Files.write(Paths.get(indexPath(source)), buffer.array());
+        } catch (IOException e) {
+            // a missing or partly written index fails validation and is rebuilt on the next open
+        }
+    }
+
+    // EFFECTS: returns modification time of source in milliseconds
+    private long lastModified() throws IOException {
+        return Files.getLastModifiedTime(Paths.get(source)).toMillis();
+    }
+}
@@ -0,0 +1,169 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Represents a reader that parses financial tracker from a JSON file on several threads.
+// RecordSplitter divides the transactions array into chunks of whole records, each chunk is
+// parsed on a worker thread into a TransactionBatch, and the batches are merged into the
+// tracker in file order, so the result is the same whatever the number of threads. A gzip
+// stream cannot be split, so compressed files are read on a single thread
+public class ParallelJsonReader implements TrackerReader {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 1 << 26;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private String source;
+    private int threads;
+    private InternPool strings;
+    private ProgressListener progressListener;
+
+    // EFFECTS: constructs reader to read from source file using one thread per processor
+    public ParallelJsonReader(String source) {
+        this(source, Runtime.getRuntime().availableProcessors());
+    }
+
+    // REQUIRES: threads > 0
+    // EFFECTS: constructs reader to read from source file using given number of threads
+    public ParallelJsonReader(String source, int threads) {
+        this.source = source;
+        this.threads = threads;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets listener to be told how many bytes of the file have been parsed as reading
+    // proceeds; a compressed file is reported only once it has been read
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads financial tracker from file and returns it;
+    // throws IOException if an error occurs reading data from file
+    @Override
+    public FinancialTracker read() throws IOException {
+        strings = new InternPool();
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            if (CompressedStreams.isCompressed(channel)) {
+                JsonStreamReader reader = new JsonStreamReader(source);
+                FinancialTracker tracker = reader.read();
+                strings = reader.getInternPool();
+                reportProgress(progressListener, channel.size(), channel.size());
+                return tracker;
+            }
+            long chunkSize = channel.size() / ((long) threads * CHUNKS_PER_THREAD);
+            chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, chunkSize));
+            List<long[]> chunks = new RecordSplitter(channel, chunkSize).split();
+            return parseChunks(channel, chunks, threads, false, strings, progressListener);
+        }
+    }
+
+    // REQUIRES: read() has been called
+    // EFFECTS: returns pool of the strings shared by the transactions of the last read
+    public InternPool getInternPool() {
+        return strings;
+    }
+
+    // REQUIRES: chunks is not empty
+    // EFFECTS: parses chunks of channel on a pool of up to threads worker threads and returns a
+    // tracker holding their transactions in file order; each chunk holds comma-separated array
+    // elements, or whitespace-separated JSON Lines records if lines is true. Batches are merged
+    // on the calling thread, which shares their strings through the strings pool and tells
+    // progress, if not null, the end offset of each chunk merged and the size of the file after
+    // the last
+    static FinancialTracker parseChunks(FileChannel channel, List<long[]> chunks, int threads, boolean lines,
+            InternPool strings, ProgressListener progress) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, chunks.size()));
+        try {
+            List<Future<TransactionBatch>> batches = new ArrayList<>();
+            for (long[] chunk : chunks) {
+                batches.add(pool.submit(() -> parseChunk(channel, chunk[0], chunk[1], lines)));
+            }
+            FinancialTracker tracker = new FinancialTracker();
+            long size = channel.size();
+            for (int i = 0; i < batches.size(); i++) {
+                tracker.addTransactions(await(batches.get(i)).toTransactions(strings));
+                reportProgress(progress, i == batches.size() - 1 ? size : chunks.get(i)[1], size);
+            }
+            return tracker;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // EFFECTS: parses the records between start and end of channel into a batch and returns it;
+    // records are JSON Lines if lines is true, or array elements otherwise
+    static TransactionBatch parseChunk(FileChannel channel, long start, long end, boolean lines)
+            throws IOException {
+        int padding = lines ? 0 : 1;
+        byte[] bytes = new byte[Math.toIntExact(end - start) + 2 * padding];
+        RecordSplitter.readFully(channel, ByteBuffer.wrap(bytes, padding, bytes.length - 2 * padding), start);
+        if (!lines) {
+            bytes[0] = '[';
+            bytes[bytes.length - 1] = ']';
+        }
+        JsonTokenizer tokenizer = new JsonTokenizer(
+                new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        TransactionBatch batch = new TransactionBatch();
+        if (lines) {
+            while (tokenizer.peek() != -1) {
+                addRecord(batch, tokenizer);
+            }
+            return batch;
+        }
+        tokenizer.beginArray();
+        while (tokenizer.hasNext()) {
+            addRecord(batch, tokenizer);
+        }
+        tokenizer.endArray();
+        return batch;
+    }
+
+    // MODIFIES: batch
+    // EFFECTS: parses the next transaction record from tokenizer and adds its fields to batch
+    private static void addRecord(TransactionBatch batch, JsonTokenizer tokenizer) throws IOException {
+        Object[] fields = JsonStreamReader.readFields(tokenizer);
+        batch.add((Double) fields[JsonStreamReader.AMOUNT], (String) fields[JsonStreamReader.DESCRIPTION],
+                (String) fields[JsonStreamReader.CATEGORY],
+                FieldDecoders.parseEpochDay((String) fields[JsonStreamReader.DATE]));
+    }
+
+    // EFFECTS: tells progress, if not null, that done of total bytes have been parsed
+    private static void reportProgress(ProgressListener progress, long done, long total) {
+        if (progress != null) {
+            progress.progress(done, total);
+        }
+    }
+
+    // EFFECTS: waits for the result of a parsing task and returns it, rethrowing the exception
+    // that stopped the task, if any
+    static <T> T await(Future<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing transactions");
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.TrackerListener;
+import model.Transaction;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// Represents a store that keeps a financial tracker in a directory holding one JSON Lines
+// partition file per month of transaction dates, named like 2025-01.jsonl, and a manifest
+// listing the months and how many transactions each holds. A load of a range of months reads
+// only their partitions. A commit rewrites only the partitions of months from which
+// transactions were removed, appends the transactions added to other months to their
+// partitions, and leaves every other partition untouched; the manifest is rewritten last, and
+// partitions left empty are deleted only once it is on disk.
+//
+// manifest.json:  {"version": 1, "partitions": [{"month": "2025-01", "count": 42}, ...]}
+//
+// The manifest is what makes a commit visible: on reading it, a listed partition whose file is
+// missing counts as empty, and a partition file it does not list is left over from a commit that
+// never finished and is deleted. The counts of the partitions read are taken from their files.
+// A full load returns the months in order, each holding its transactions in the order they
+// were added. Trackers loaded for a range of months are not attached, since committing them
+// would drop the months they do not hold
+public class PartitionedStore implements TrackerListener {
+
+    public static final String MANIFEST = "manifest.json";
+
+    private static final int VERSION = 1;
+
+    private String directory;
+    private FinancialTracker tracker;
+    private TreeMap<YearMonth, Integer> counts;
+    private Map<YearMonth, List<Transaction>> appended;
+    private Set<YearMonth> rewrite;
+    private boolean rewriteAll;
+
+    // EFFECTS: constructs store that keeps its partitions and manifest in directory
+    public PartitionedStore(String directory) {
+        this.directory = directory;
+        this.counts = new TreeMap<>();
+        this.appended = new HashMap<>();
+        this.rewrite = new HashSet<>();
+    }
+
+    // EFFECTS: returns path of the partition file holding transactions dated in month
+    public String partitionPath(YearMonth month) {
+        return Paths.get(directory, month + ".jsonl").toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the manifest and every partition and returns the resulting tracker, whose
+    // later changes are saved by commit; throws IOException if a file cannot be read
+    public synchronized FinancialTracker load() throws IOException {
+        readManifest();
+        FinancialTracker loaded = readPartitions(new ArrayList<>(counts.keySet()));
+        attach(loaded);
+        rewriteAll = false;
+        return loaded;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the manifest and the partitions of months from first to last inclusive and
+    // returns a tracker holding their transactions; the tracker is not attached to this store.
+    // Throws IOException if a file cannot be read
+    public synchronized FinancialTracker load(YearMonth first, YearMonth last) throws IOException {
+        readManifest();
+        return readPartitions(new ArrayList<>(counts.subMap(first, true, last, true).keySet()));
+    }
+
+    // REQUIRES: load() or load(first, last) has been called
+    // EFFECTS: returns the months that have a partition, in order, with the number of
+    // transactions in each, as read from its partition if it was loaded or recorded by the manifest
+    public synchronized Map<YearMonth, Integer> getPartitionCounts() {
+        return new TreeMap<>(counts);
+    }
+
+    // MODIFIES: this, tracker
+    // EFFECTS: makes tracker the one saved by commit; as the directory may hold other
+    // transactions, the next commit rewrites every partition
+    public synchronized void attach(FinancialTracker tracker) {
+        detach();
+        this.tracker = tracker;
+        tracker.addListener(this);
+        rewriteAll = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves changes made since the last commit, rewriting only the partitions of months
+    // that changed other than by additions and appending the additions to the rest, then writes
+    // the manifest; throws IOException if a file cannot be written, in which case the months not
+    // yet saved are saved by the next commit
+    public synchronized void commit() throws IOException {
+        Files.createDirectories(Paths.get(directory));
+        if (rewriteAll) {
+            rewrite.addAll(counts.keySet());
+            for (Transaction transaction : tracker.getTransactions()) {
+                rewrite.add(YearMonth.from(transaction.getDate()));
+            }
+        }
+        List<YearMonth> emptied = rewrite.isEmpty() ? new ArrayList<>() : rewritePartitions();
+        for (Iterator<Map.Entry<YearMonth, List<Transaction>>> months = appended.entrySet().iterator();
+                months.hasNext(); ) {
+            Map.Entry<YearMonth, List<Transaction>> entry = months.next();
+            appendLines(entry.getKey(), entry.getValue());
+            months.remove();
+        }
+        writeManifest();
+        for (YearMonth month : emptied) {
+            Files.deleteIfExists(Paths.get(partitionPath(month)));
+        }
+        rewrite.clear();
+        rewriteAll = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops saving changes to the attached tracker; uncommitted changes are discarded
+    public synchronized void close() {
+        detach();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remembers added transactions so that the next commit appends them to their months
+    @Override
+    public synchronized void transactionsAdded(int fromIndex, List<Transaction> added) {
+        for (Transaction transaction : added) {
+            YearMonth month = YearMonth.from(transaction.getDate());
+            if (!rewriteAll && !rewrite.contains(month)) {
+                appended.computeIfAbsent(month, m -> new ArrayList<>()).add(transaction);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the month of the removed transaction to be rewritten by the next commit
+    @Override
+    public synchronized void transactionRemoved(int index, Transaction removed) {
+        YearMonth month = YearMonth.from(removed.getDate());
+        rewrite.add(month);
+        appended.remove(month);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks every partition to be rewritten, and so deleted, by the next commit
+    @Override
+    public synchronized void transactionsCleared(int count) {
+        rewriteAll = true;
+        appended.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops listening to the attached tracker, if any, and forgets uncommitted changes
+    private void detach() {
+        if (tracker != null) {
+            tracker.removeListener(this);
+            tracker = null;
+        }
+        appended.clear();
+        rewrite.clear();
+        rewriteAll = false;
+    }
+
+    // MODIFIES: this, files in directory
+    // EFFECTS: replaces partition counts with those listed in the manifest whose partition file
+    // exists, or none if there is no manifest, and deletes the partition files it does not list;
+    // throws IOException if the manifest cannot be read
+    private void readManifest() throws IOException {
+        counts.clear();
+        Path manifest = Paths.get(directory, MANIFEST);
+        if (Files.exists(manifest)) {
+            readCounts(manifest);
+        }
+        counts.keySet().removeIf(month -> !Files.exists(Paths.get(partitionPath(month))));
+        if (Files.isDirectory(Paths.get(directory))) {
+            deleteUnlistedPartitions();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts the partition counts listed in manifest; throws IOException if it cannot be read
+    private void readCounts(Path manifest) throws IOException {
+        JSONObject json = new JSONObject(new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8));
+        if (json.getInt("version") != VERSION) {
+            throw new IOException("Unsupported manifest version " + json.getInt("version") + ": " + manifest);
+        }
+        JSONArray partitions = json.getJSONArray("partitions");
+        for (int i = 0; i < partitions.length(); i++) {
+            JSONObject partition = partitions.getJSONObject(i);
+            counts.put(YearMonth.parse(partition.getString("month")), partition.getInt("count"));
+        }
+    }
+
+    // MODIFIES: files in directory
+    // EFFECTS: deletes the partition files of months that have no count, which an interrupted
+    // commit wrote before it could list them in the manifest
+    private void deleteUnlistedPartitions() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory), "*.jsonl")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    if (!counts.containsKey(YearMonth.parse(name.substring(0, name.length() - ".jsonl".length())))) {
+                        Files.delete(file);
+                    }
+                } catch (DateTimeParseException e) {
+                    // not a partition; leave it alone
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the partitions of months on a pool of worker threads and returns a tracker
+    // holding their transactions, month by month in the order given; the count of each month is
+    // set to the number of transactions read from its partition
+    private FinancialTracker readPartitions(List<YearMonth> months) throws IOException {
+        FinancialTracker loaded = new FinancialTracker();
+        if (months.isEmpty()) {
+            return loaded;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(months.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<List<Transaction>>> partitions = new ArrayList<>();
+            for (YearMonth month : months) {
+                partitions.add(pool.submit(() -> readPartition(partitionPath(month))));
+            }
+            for (int i = 0; i < months.size(); i++) {
+                List<Transaction> transactions = ParallelJsonReader.await(partitions.get(i));
+                counts.put(months.get(i), transactions.size());
+                loaded.addTransactions(transactions);
+            }
+            return loaded;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // MODIFIES: file at path
+    // EFFECTS: drops a torn last line left by an interrupted append, then reads the partition at
+    // path and returns its transactions in file order
+    private static List<Transaction> readPartition(String path) throws IOException {
+        new JsonLinesStore(path).recover();
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            return ParallelJsonReader.parseChunk(channel, 0, channel.size(), true).toTransactions();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: collects the tracker's transactions in the months marked for rewriting in one
+    // pass, then replaces each of their partitions; returns the months left empty, whose
+    // partitions are deleted once the manifest no longer lists them
+    private List<YearMonth> rewritePartitions() throws IOException {
+        Map<YearMonth, StringWriter> lines = new HashMap<>();
+        Map<YearMonth, Integer> sizes = new HashMap<>();
+        for (Transaction transaction : tracker.getTransactions()) {
+            YearMonth month = YearMonth.from(transaction.getDate());
+            if (rewrite.contains(month)) {
+                writeLine(lines.computeIfAbsent(month, m -> new StringWriter()), transaction);
+                sizes.merge(month, 1, Integer::sum);
+            }
+        }
+        List<YearMonth> emptied = new ArrayList<>();
+        for (YearMonth month : rewrite) {
+            appended.remove(month);
+            if (lines.containsKey(month)) {
+                writeAtomically(Paths.get(partitionPath(month)), lines.get(month).toString());
+                counts.put(month, sizes.get(month));
+            } else {
+                emptied.add(month);
+                counts.remove(month);
+            }
+        }
+        return emptied;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops any torn last line of the partition of month, then appends the lines of
+    // transactions to it in a single write; if the write fails, the partition is cut back to its
+    // old size and its count is unchanged
+    private void appendLines(YearMonth month, List<Transaction> transactions) throws IOException {
+        StringWriter lines = new StringWriter();
+        for (Transaction transaction : transactions) {
+            writeLine(lines, transaction);
+        }
+        new JsonLinesStore(partitionPath(month)).recover();
+        JsonLinesStore.append(Paths.get(partitionPath(month)),
+                ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+        counts.merge(month, transactions.size(), Integer::sum);
+    }
+
+    // MODIFIES: lines
+    // EFFECTS: writes transaction to lines as one line of compact JSON
+    private static void writeLine(StringWriter lines, Transaction transaction) throws IOException {
+        transaction.writeTo(new JsonSink(lines, false));
+        lines.write('\n');
+    }
+
+    // EFFECTS: writes the manifest listing the months that have a partition
+    private void writeManifest() throws IOException {
+        JSONArray partitions = new JSONArray();
+        for (Map.Entry<YearMonth, Integer> entry : counts.entrySet()) {
+            partitions.put(new JSONObject().put("month", entry.getKey().toString()).put("count", entry.getValue()));
+        }
+        JSONObject manifest = new JSONObject().put("version", VERSION).put("partitions", partitions);
+        writeAtomically(Paths.get(directory, MANIFEST), manifest.toString(4));
+    }
+
+    // EFFECTS: writes text to a temporary file, forces it to disk and renames it over path
+    private static void writeAtomically(Path path, String text) throws IOException {
+        Path temp = Paths.get(path + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,7 @@
+package persistence;
+
+// Represents an observer of the progress of a long-running read or write
+public interface ProgressListener {
+    // EFFECTS: called periodically with the amount of work done so far out of total
+    void progress(long done, long total);
+}
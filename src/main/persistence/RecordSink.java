@@ -0,0 +1,46 @@
+package persistence;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+// Represents a destination that a Writable streams itself to one field at a time, so that it
+// can be serialized without building a JSONObject. A record is a sequence of named fields; a
+// list field holds records of its own. Sinks encode dates, amounts and strings directly into
+// their output, so writing a field allocates nothing
+public interface RecordSink {
+
+    // REQUIRES: record is at the top level or is the next element of an open list
+    // MODIFIES: this
+    // EFFECTS: starts a record that will hold fieldCount fields
+    void beginRecord(int fieldCount) throws IOException;
+
+    // REQUIRES: a record is open
+    // MODIFIES: this
+    // EFFECTS: writes date field with given name
+    void writeDate(String name, LocalDate value) throws IOException;
+
+    // REQUIRES: a record is open
+    // MODIFIES: this
+    // EFFECTS: writes amount field with given name
+    void writeAmount(String name, double value) throws IOException;
+
+    // REQUIRES: a record is open
+    // MODIFIES: this
+    // EFFECTS: writes string field with given name
+    void writeString(String name, String value) throws IOException;
+
+    // REQUIRES: a record is open
+    // MODIFIES: this
+    // EFFECTS: starts list field with given name that will hold size records
+    void beginList(String name, int size) throws IOException;
+
+    // REQUIRES: the innermost open field is a list, and all its records have been written
+    // MODIFIES: this
+    // EFFECTS: ends the list
+    void endList() throws IOException;
+
+    // REQUIRES: a record is open, and all its fields have been written
+    // MODIFIES: this
+    // EFFECTS: ends the record
+    void endRecord() throws IOException;
+}
@@ -0,0 +1,164 @@
+package persistence;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.JSONException;
+
+// Represents a scan over the raw bytes of a JSON financial tracker file that finds the
+// transactions array and divides its contents into chunks of whole records. The scan only
+// follows strings and nesting, which is much cheaper than parsing, and cuts chunks at the
+// commas between records so that each chunk can be parsed on its own
+public class RecordSplitter {
+
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final byte[] KEY = "transactions".getBytes(StandardCharsets.UTF_8);
+
+    private FileChannel channel;
+    private long chunkSize;
+    private List<long[]> chunks;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private ByteBuffer string;
+    private boolean keyMatched;
+    private boolean awaitingArray;
+    private int arrayDepth;
+    private long chunkStart;
+
+    // EFFECTS: constructs splitter over channel that cuts chunks of at least chunkSize bytes
+    public RecordSplitter(FileChannel channel, long chunkSize) {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.string = ByteBuffer.allocate(KEY.length + 1);
+    }
+
+    // EFFECTS: returns the [start, end) byte offsets of consecutive chunks that together hold the
+    // elements of the transactions array; throws JSONException if the file has no transactions
+    // array or its brackets or strings are unbalanced
+    public List<long[]> split() throws IOException {
+        chunks = new ArrayList<>();
+        arrayDepth = -1;
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        long size = channel.size();
+        for (long base = 0; base < size; base += BLOCK_SIZE) {
+            block.clear().limit((int) Math.min(BLOCK_SIZE, size - base));
+            readFully(channel, block, base);
+            byte[] bytes = block.array();
+            for (int i = 0; i < block.limit(); i++) {
+                if (inString) {
+                    scanString(bytes[i]);
+                } else {
+                    scan(bytes[i], base + i);
+                }
+            }
+        }
+        if (chunks.isEmpty()) {
+            throw new JSONException("JSONObject[\"transactions\"] not found.");
+        }
+        if (depth != 0 || inString) {
+            throw new JSONException("Unterminated JSON text in financial tracker file");
+        }
+        return chunks;
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: fills the remaining space in buffer with bytes of channel starting at position;
+    // throws EOFException if the channel ends first
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at " + at);
+            }
+            at += read;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: advances the scan over byte b found at position outside any string
+    private void scan(byte b, long position) {
+        switch (b) {
+            case '"':
+                inString = true;
+                string.clear();
+                break;
+            case '{':
+            case '[':
+                open(b, position);
+                break;
+            case '}':
+            case ']':
+                close(position);
+                break;
+            case ',':
+                separate(position);
+                break;
+            case ':':
+                awaitingArray = depth == 1 && keyMatched;
+                break;
+            default:
+                awaitingArray &= Character.isWhitespace(b);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: advances the scan over byte b inside a string, noting whether a string at the top
+    // level of the document is the transactions key
+    private void scanString(byte b) {
+        if (escaped) {
+            escaped = false;
+        } else if (b == '\\') {
+            escaped = true;
+        } else if (b == '"') {
+            inString = false;
+            keyMatched = depth == 1 && string.position() == KEY.length
+                    && Arrays.equals(string.array(), 0, KEY.length, KEY, 0, KEY.length);
+            return;
+        }
+        if (string.hasRemaining()) {
+            string.put(b);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: enters an object or array; the first array value of the transactions key starts
+    // the first chunk
+    private void open(byte b, long position) {
+        depth++;
+        if (b == '[' && awaitingArray && chunks.isEmpty()) {
+            arrayDepth = depth;
+            chunkStart = position + 1;
+        }
+        awaitingArray = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: leaves an object or array; the end of the transactions array ends the last chunk
+    private void close(long position) {
+        if (depth == arrayDepth) {
+            chunks.add(new long[] {chunkStart, position});
+            arrayDepth = -1;
+        }
+        depth--;
+        if (depth < 0) {
+            throw new JSONException("Unbalanced brackets at byte " + position);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: cuts a chunk at a comma between records once the current chunk is large enough
+    private void separate(long position) {
+        if (depth == arrayDepth && position - chunkStart >= chunkSize) {
+            chunks.add(new long[] {chunkStart, position});
+            chunkStart = position + 1;
+        }
+    }
+}
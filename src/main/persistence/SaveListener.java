@@ -0,0 +1,17 @@
+package persistence;
+
+import java.io.IOException;
+
+// Represents an observer of the progress and outcome of the saves made by an AsyncSaveService;
+// notifications are delivered on the service's worker thread
+public interface SaveListener {
+    // EFFECTS: called periodically while a save is being written, with the number of
+    // transactions written so far out of total
+    void saveProgress(long written, long total);
+
+    // EFFECTS: called after a save has been written and renamed into place
+    void saveCompleted();
+
+    // EFFECTS: called if a save could not be written; the previous file is left unchanged
+    void saveFailed(IOException e);
+}
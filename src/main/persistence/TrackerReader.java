@@ -0,0 +1,12 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.IOException;
+
+// Represents a source that a financial tracker can be read from, whatever its storage format
+public interface TrackerReader {
+    // EFFECTS: reads financial tracker from source and returns it;
+    // throws IOException if an error occurs reading data
+    FinancialTracker read() throws IOException;
+}
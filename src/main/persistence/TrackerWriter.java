@@ -0,0 +1,20 @@
+package persistence;
+
+import model.FinancialTracker;
+
+import java.io.IOException;
+
+// Represents a destination that a financial tracker can be written to, whatever its storage format
+public interface TrackerWriter {
+    // MODIFIES: this
+    // EFFECTS: opens writer; throws IOException if destination cannot be opened for writing
+    void open() throws IOException;
+
+    // MODIFIES: this
+    // EFFECTS: writes financial tracker to destination
+    void write(FinancialTracker tracker) throws IOException;
+
+    // MODIFIES: this
+    // EFFECTS: closes writer
+    void close() throws IOException;
+}
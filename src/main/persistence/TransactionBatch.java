@@ -0,0 +1,81 @@
+package persistence;
+
+import model.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Represents a batch of decoded transaction fields stored column by column. Parsing workers
+// fill batches independently, and each batch is turned into transactions only when it is
+// merged into a tracker, so merging preserves the order the records appeared in the file
+public class TransactionBatch {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private double[] amounts;
+    private String[] descriptions;
+    private String[] categories;
+    private long[] epochDays;
+    private int size;
+
+    // EFFECTS: constructs an empty batch
+    public TransactionBatch() {
+        amounts = new double[INITIAL_CAPACITY];
+        descriptions = new String[INITIAL_CAPACITY];
+        categories = new String[INITIAL_CAPACITY];
+        epochDays = new long[INITIAL_CAPACITY];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the fields of one transaction to the batch
+    public void add(double amount, String description, String category, long epochDay) {
+        if (size == amounts.length) {
+            int capacity = size * 2;
+            amounts = Arrays.copyOf(amounts, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+        }
+        amounts[size] = amount;
+        descriptions[size] = description;
+        categories[size] = category;
+        epochDays[size] = epochDay;
+        size++;
+    }
+
+    // EFFECTS: returns number of transactions in the batch
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns amount of the transaction at index
+    public double getAmount(int index) {
+        return amounts[index];
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns date of the transaction at index as a count of days since 1970-01-01
+    public long getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    // EFFECTS: returns the transactions in the batch, in the order they were added
+    public List<Transaction> toTransactions() {
+        return toTransactions(new InternPool());
+    }
+
+    // MODIFIES: strings
+    // EFFECTS: returns the transactions in the batch, in the order they were added, with their
+    // categories and descriptions shared through strings
+    public List<Transaction> toTransactions(InternPool strings) {
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(new Transaction(amounts[i], strings.description(descriptions[i]),
+                    strings.category(categories[i]), LocalDate.ofEpochDay(epochDays[i])));
+        }
+        return transactions;
+    }
+}
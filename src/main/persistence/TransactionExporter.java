@@ -0,0 +1,94 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+// Represents an exporter that writes the transactions of a financial tracker to a CSV or JSON
+// Lines file. Transactions are read from the tracker by index and streamed through a CsvSink or
+// JsonSink into a fixed-size buffer in front of the file channel, so memory use does not grow
+// with the number of transactions; see ChannelWriter. An optional category and date range
+// select which transactions are written.
+// CSV output has a header naming its columns and can be read back by CsvImporter; each JSON
+// Lines record is the compact JSON of one transaction
+public class TransactionExporter {
+
+    // Represents the file formats an exporter can write
+    public enum Format {
+        CSV,
+        JSON_LINES
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String CSV_HEADER = "date,amount,description,category\n";
+
+    private String destination;
+    private Format format;
+    private String category;
+    private LocalDate from;
+    private LocalDate to;
+
+    // EFFECTS: constructs exporter that writes every transaction to destination in given format
+    public TransactionExporter(String destination, Format format) {
+        this.destination = destination;
+        this.format = format;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: limits export to transactions in category; null exports every category
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: limits export to transactions dated from from to to, inclusive; a null bound
+    // leaves that end of the range open
+    public void setDateRange(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    // EFFECTS: writes the selected transactions of tracker to destination file, replacing it, and
+    // returns how many were written; throws IOException if the file cannot be written
+    public int export(FinancialTracker tracker) throws IOException {
+        int exported = 0;
+        try (Writer writer = new ChannelWriter(FileChannel.open(Paths.get(destination), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), BUFFER_SIZE)) {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+            }
+            RecordSink sink = format == Format.CSV ? new CsvSink(writer) : new JsonSink(writer, false);
+            int count = tracker.getTransactionCount();
+            for (int i = 0; i < count; i++) {
+                Transaction transaction = tracker.getTransaction(i);
+                if (isSelected(transaction)) {
+                    writeRecord(writer, sink, transaction);
+                    exported++;
+                }
+            }
+        }
+        return exported;
+    }
+
+    // EFFECTS: returns true if transaction is in the selected category and date range
+    private boolean isSelected(Transaction transaction) {
+        LocalDate date = transaction.getDate();
+        return (category == null || transaction.hasCategory(category))
+                && (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    // MODIFIES: writer
+    // EFFECTS: writes transaction as one line in the export format
+    private void writeRecord(Writer writer, RecordSink sink, Transaction transaction) throws IOException {
+        transaction.writeTo(sink);
+        if (format == Format.JSON_LINES) {
+            writer.write('\n');
+        }
+    }
+}
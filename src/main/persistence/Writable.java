@@ -2,7 +2,13 @@ package persistence;
 
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 public interface Writable {
     // EFFECTS: returns this as JSON object
     JSONObject toJson();
+
+    // MODIFIES: sink
+    // EFFECTS: writes this to sink as one record, with the fields toJson() would hold
+    void writeTo(RecordSink sink) throws IOException;
 }
@@ -0,0 +1,267 @@
+package ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import javax.swing.JPanel;
+import javax.swing.SwingWorker;
+import model.BalanceHistory;
+import model.FinancialTracker;
+
+/**
+ * Chart of the running balance over time. The wheel zooms around the mouse,
+ * dragging pans and a double click shows the whole history again. Each frame
+ * downsamples the visible days into one lowest and highest balance per pixel
+ * column and draws a vertical stroke between them, so drawing costs the same
+ * at every zoom level. When the tracker changes, the daily buckets are
+ * rebuilt from a snapshot of it on a worker thread, and the chart keeps
+ * showing the previous ones until the new ones are swapped in.
+ */
+public class BalanceChartPanel extends JPanel {
+
+    private static final int MARGIN = 40;
+    private static final double ZOOM_STEP = 1.25;
+    private static final double MIN_SPAN_DAYS = 7;
+
+    private final Supplier<FinancialTracker> trackers;
+    private final Font labelFont = new Font("Arial", Font.PLAIN, 11);
+    private FinancialTracker shownTracker;
+    private long shownVersion;
+    private BalanceHistory history;
+    private SwingWorker<BalanceHistory, Void> rebuild;
+    private double viewFrom;
+    private double viewTo;
+    private double[] low = new double[0];
+    private double[] high = new double[0];
+    private int dragX;
+
+    /**
+     * EFFECTS: constructs chart of the balance of the tracker supplied by
+     * trackers, which is asked again on every paint so a replaced tracker is
+     * followed
+     */
+    public BalanceChartPanel(Supplier<FinancialTracker> trackers) {
+        this.trackers = trackers;
+        setPreferredSize(new Dimension(700, 400));
+        setBackground(Color.WHITE);
+        MouseAdapter navigation = new Navigation();
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        refreshHistory();
+        int columns = getWidth() - 2 * MARGIN;
+        if (history == null || history.getDayCount() == 0 || columns <= 0 || getHeight() <= 2 * MARGIN) {
+            g.drawString(history == null ? "Loading balance history..." : "No transactions to chart", MARGIN, MARGIN);
+            return;
+        }
+        if (low.length != columns) {
+            low = new double[columns];
+            high = new double[columns];
+        }
+        history.downsample(viewFrom, viewTo, low, high);
+        double min = 0;
+        double max = 0;
+        for (int column = 0; column < columns; column++) {
+            min = Math.min(min, low[column]);
+            max = Math.max(max, high[column]);
+        }
+        if (max == min) {
+            max = min + 1;
+        }
+        drawAxes(g, min, max);
+        drawSeries(g, min, max);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: unless a rebuild is already running, starts rebuilding the
+     * daily buckets off the event dispatch thread if the tracker was replaced
+     * or changed since they were built; the new buckets are swapped in and
+     * painted when they are ready, showing the whole history if the tracker
+     * was replaced or nothing was shown yet
+     */
+    private void refreshHistory() {
+        FinancialTracker tracker = trackers.get();
+        if (rebuild != null || (history != null && tracker == shownTracker && tracker.getVersion() == shownVersion)) {
+            return;
+        }
+        boolean replaced = tracker != shownTracker || viewTo <= viewFrom;
+        rebuild = new HistoryBuilder(tracker, replaced);
+        rebuild.execute();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows every day of the history, with a day of room either side
+     */
+    private void resetView() {
+        if (history.getDayCount() == 0) {
+            viewFrom = 0;
+            viewTo = 0;
+            return;
+        }
+        viewFrom = history.getFirstDay() - 1;
+        viewTo = Math.max(history.getLastDay() + 1, viewFrom + MIN_SPAN_DAYS);
+    }
+
+    /**
+     * EFFECTS: draws the zero line, the balance range and the dates at the
+     * edges of the view
+     */
+    private void drawAxes(Graphics g, double min, double max) {
+        int bottom = getHeight() - MARGIN;
+        g.setFont(labelFont);
+        g.setColor(Color.LIGHT_GRAY);
+        int zero = toY(0, min, max);
+        g.drawLine(MARGIN, zero, getWidth() - MARGIN, zero);
+        g.setColor(Color.DARK_GRAY);
+        g.drawRect(MARGIN, MARGIN, getWidth() - 2 * MARGIN, bottom - MARGIN);
+        g.drawString(String.format("$%,.0f", max), 2, MARGIN + 4);
+        g.drawString(String.format("$%,.0f", min), 2, bottom);
+        g.drawString(LocalDate.ofEpochDay((long) Math.ceil(viewFrom)).toString(), MARGIN, bottom + 15);
+        String last = LocalDate.ofEpochDay((long) Math.floor(viewTo)).toString();
+        g.drawString(last, getWidth() - MARGIN - g.getFontMetrics().stringWidth(last), bottom + 15);
+        g.drawString("Balance over time (scroll to zoom, drag to pan, double-click to reset)", MARGIN, MARGIN - 8);
+    }
+
+    /**
+     * EFFECTS: draws one stroke per column from its lowest to its highest
+     * balance; as each column starts at the balance the previous one ended
+     * at, the strokes join into a line
+     */
+    private void drawSeries(Graphics g, double min, double max) {
+        g.setColor(new Color(34, 139, 34));
+        for (int column = 0; column < low.length; column++) {
+            int x = MARGIN + column;
+            g.drawLine(x, toY(low[column], min, max), x, toY(high[column], min, max));
+        }
+    }
+
+    /**
+     * EFFECTS: returns y coordinate of balance on a plot spanning min to max
+     */
+    private int toY(double balance, double min, double max) {
+        double plotHeight = getHeight() - 2 * MARGIN;
+        return getHeight() - MARGIN - (int) Math.round((balance - min) / (max - min) * plotHeight);
+    }
+
+    /**
+     * EFFECTS: returns epoch day shown at x coordinate x
+     */
+    private double toDay(int x) {
+        return viewFrom + (x - MARGIN) * (viewTo - viewFrom) / Math.max(1, getWidth() - 2 * MARGIN);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: limits the view to three times the span of the history and
+     * keeps it within one such span of either end, so zooming out and panning
+     * cannot move it past the dates the axes can show
+     */
+    private void clampView() {
+        double first = history.getFirstDay() - 1;
+        double full = Math.max(history.getLastDay() + 1 - first, MIN_SPAN_DAYS);
+        double span = Math.min(viewTo - viewFrom, 3 * full);
+        viewFrom = Math.max(first - full, Math.min(viewFrom, first + 2 * full - span));
+        viewTo = viewFrom + span;
+    }
+
+    /**
+     * Builds the daily buckets of a snapshot of a tracker on a worker thread
+     * and swaps them in on the event dispatch thread.
+     */
+    private class HistoryBuilder extends SwingWorker<BalanceHistory, Void> {
+
+        private final FinancialTracker tracker;
+        private final long version;
+        private final FinancialTracker snapshot;
+        private final boolean replaced;
+
+        HistoryBuilder(FinancialTracker tracker, boolean replaced) {
+            this.tracker = tracker;
+            this.version = tracker.getVersion();
+            this.snapshot = tracker.snapshot();
+            this.replaced = replaced;
+        }
+
+        @Override
+        protected BalanceHistory doInBackground() {
+            return new BalanceHistory(snapshot);
+        }
+
+        @Override
+        protected void done() {
+            rebuild = null;
+            shownTracker = tracker;
+            shownVersion = version;
+            try {
+                history = get();
+            } catch (InterruptedException | ExecutionException e) {
+                return;
+            }
+            if (replaced) {
+                resetView();
+            }
+            repaint();
+        }
+    }
+
+    /**
+     * Zooms and pans the view in response to the mouse.
+     */
+    private class Navigation extends MouseAdapter {
+
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            if (history == null || history.getDayCount() == 0) {
+                return;
+            }
+            double anchor = toDay(e.getX());
+            double scale = Math.pow(ZOOM_STEP, e.getPreciseWheelRotation());
+            double span = Math.max(MIN_SPAN_DAYS, (viewTo - viewFrom) * scale);
+            double fraction = (anchor - viewFrom) / (viewTo - viewFrom);
+            viewFrom = anchor - span * fraction;
+            viewTo = viewFrom + span;
+            clampView();
+            repaint();
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            dragX = e.getX();
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (history == null || history.getDayCount() == 0) {
+                return;
+            }
+            double shift = toDay(dragX) - toDay(e.getX());
+            viewFrom += shift;
+            viewTo += shift;
+            clampView();
+            dragX = e.getX();
+            repaint();
+        }
+
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            if (e.getClickCount() == 2 && history != null) {
+                resetView();
+                repaint();
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package ui;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import model.FinancialTracker;
+import model.Transaction;
+import model.TransactionQuery;
+import model.TransactionSearch;
+import org.json.JSONObject;
+import persistence.InternPool;
+import persistence.JournaledStore;
+import persistence.JsonSink;
+
+/**
+ * Runs a script of console commands without prompts, one command per line:
+ * <pre>
+ * add DATE AMOUNT CATEGORY DESCRIPTION
+ * delete DATE AMOUNT CATEGORY DESCRIPTION
+ * filter CATEGORY
+ * summary
+ * save
+ * load
+ * </pre>
+ * where the description is the rest of the line. Blank lines and lines
+ * starting with # are skipped. Consecutive adds are collected and given to
+ * the tracker in batches, so the tracker and the store's journal each handle
+ * a batch at once. Results are written as JSON Lines, one object per command
+ * or batch of adds, each naming its operation and script line; filter is
+ * followed by one line per matching transaction. A line that cannot be run
+ * produces an object with an error and the script carries on.
+ */
+public class BatchRunner {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final String storePath;
+    private final JournaledStore store;
+    private final Writer out;
+    private final InternPool strings;
+    private final List<Transaction> pending;
+    private FinancialTracker tracker;
+    private int firstPendingLine;
+    private int failures;
+
+    /**
+     * EFFECTS: constructs runner over an empty tracker attached to the store
+     * at storePath, writing its results to out
+     */
+    public BatchRunner(String storePath, Writer out) {
+        this.storePath = storePath;
+        this.store = new JournaledStore(storePath);
+        this.out = out;
+        this.strings = new InternPool();
+        this.pending = new ArrayList<>();
+        this.tracker = new FinancialTracker();
+        store.attach(tracker);
+    }
+
+    /**
+     * EFFECTS: runs the script at scriptPath, or standard input if it is "-",
+     * against the store at storePath, writing results to standard output;
+     * returns 0 if every line ran, 1 if some failed and 2 if the script or
+     * output could not be read or written
+     */
+    public static int runScript(String storePath, String scriptPath) {
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        try (BufferedReader script = new BufferedReader(new InputStreamReader(scriptPath.equals("-")
+                ? System.in : new FileInputStream(scriptPath), StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE)) {
+            BatchRunner runner = new BatchRunner(storePath, out);
+            int failed = runner.run(script);
+            out.flush();
+            return failed == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Unable to run script " + scriptPath + ": " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: runs every command of script, then closes the store without
+     * saving; returns the number of lines that failed. Throws IOException if
+     * the script cannot be read or a result cannot be written
+     */
+    public int run(BufferedReader script) throws IOException {
+        int lineNumber = 0;
+        for (String line = script.readLine(); line != null; line = script.readLine()) {
+            lineNumber++;
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                execute(line, lineNumber);
+            }
+        }
+        flushAdds();
+        store.close();
+        out.flush();
+        return failures;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: runs the command on line, reporting a failure if it cannot be
+     * parsed or run; an add only joins the pending batch
+     */
+    private void execute(String line, int lineNumber) throws IOException {
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String args = space < 0 ? "" : line.substring(space + 1).trim();
+        try {
+            if (command.equals("add")) {
+                add(parseTransaction(args), lineNumber);
+                return;
+            }
+            flushAdds();
+            runCommand(command, args, lineNumber);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            fail(lineNumber, "Cannot parse \"" + line + "\": " + e.getMessage());
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: runs a command other than add
+     */
+    private void runCommand(String command, String args, int lineNumber) throws IOException {
+        switch (command) {
+            case "delete":
+                delete(parseTransaction(args), lineNumber);
+                break;
+            case "filter":
+                filter(args, lineNumber);
+                break;
+            case "summary":
+                summary(lineNumber);
+                break;
+            case "save":
+                save(lineNumber);
+                break;
+            case "load":
+                load(lineNumber);
+                break;
+            default:
+                fail(lineNumber, "Unknown command: " + command);
+        }
+    }
+
+    /**
+     * EFFECTS: returns transaction described by "DATE AMOUNT CATEGORY
+     * DESCRIPTION", sharing repeated strings; throws IllegalArgumentException
+     * or IndexOutOfBoundsException if a field is missing or malformed
+     */
+    private Transaction parseTransaction(String args) {
+        int dateEnd = args.indexOf(' ');
+        int amountEnd = args.indexOf(' ', dateEnd + 1);
+        int categoryEnd = args.indexOf(' ', amountEnd + 1);
+        if (dateEnd < 0 || amountEnd < 0 || categoryEnd < 0) {
+            throw new IllegalArgumentException("expected DATE AMOUNT CATEGORY DESCRIPTION");
+        }
+        LocalDate date = LocalDate.parse(args.substring(0, dateEnd));
+        double amount = Double.parseDouble(args.substring(dateEnd + 1, amountEnd));
+        String category = strings.category(args.substring(amountEnd + 1, categoryEnd));
+        String description = strings.description(args.substring(categoryEnd + 1).trim());
+        return new Transaction(amount, description, category, date);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: adds transaction to the pending batch, adding the batch to the
+     * tracker once it is full
+     */
+    private void add(Transaction transaction, int lineNumber) throws IOException {
+        if (pending.isEmpty()) {
+            firstPendingLine = lineNumber;
+        }
+        pending.add(transaction);
+        if (pending.size() == BATCH_SIZE) {
+            flushAdds();
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: adds the pending transactions to the tracker in one batch and
+     * reports how many were added and from which lines
+     */
+    private void flushAdds() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        tracker.addTransactions(new ArrayList<>(pending));
+        emit(new JSONObject().put("op", "add").put("line", firstPendingLine)
+                .put("added", pending.size()).put("transactions", tracker.getTransactionCount()));
+        pending.clear();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: removes the first transaction with the same fields as match,
+     * reporting whether there was one
+     */
+    private void delete(Transaction match, int lineNumber) throws IOException {
+        boolean removed = false;
+        for (int i = 0; i < tracker.getTransactionCount() && !removed; i++) {
+            Transaction transaction = tracker.getTransaction(i);
+            if (transaction.getAmount() == match.getAmount() && transaction.getDate().equals(match.getDate())
+                    && transaction.hasCategory(match.getCategory())
+                    && transaction.getDescription().equals(match.getDescription())) {
+                removed = tracker.removeTransaction(transaction);
+            }
+        }
+        emit(new JSONObject().put("op", "delete").put("line", lineNumber).put("removed", removed));
+    }
+
+    /**
+     * EFFECTS: reports the number and total of the transactions in category,
+     * followed by each of them as a line of JSON
+     */
+    private void filter(String category, int lineNumber) throws IOException {
+        if (category.isEmpty()) {
+            throw new IllegalArgumentException("expected CATEGORY");
+        }
+        int[] rows = new TransactionSearch(tracker).search(TransactionQuery.byCategory(category), () -> false);
+        double total = 0;
+        for (int row : rows) {
+            total += tracker.getTransaction(row).getAmount();
+        }
+        emit(new JSONObject().put("op", "filter").put("line", lineNumber).put("category", category)
+                .put("count", rows.length).put("total", total));
+        JsonSink sink = new JsonSink(out, false);
+        for (int row : rows) {
+            tracker.getTransaction(row).writeTo(sink);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * EFFECTS: reports the number of transactions, income, expenses and
+     * balance
+     */
+    private void summary(int lineNumber) throws IOException {
+        double income = tracker.getTotalIncome();
+        double expenses = tracker.getTotalExpenses();
+        emit(new JSONObject().put("op", "summary").put("line", lineNumber)
+                .put("transactions", tracker.getTransactionCount())
+                .put("income", income).put("expenses", expenses).put("balance", income - expenses));
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: saves the tracker to the store, waiting until it is durable
+     */
+    private void save(int lineNumber) throws IOException {
+        try {
+            store.commit().get();
+            emit(new JSONObject().put("op", "save").put("line", lineNumber).put("file", storePath));
+        } catch (IOException | ExecutionException e) {
+            fail(lineNumber, "Unable to write to file: " + storePath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(lineNumber, "Interrupted while saving to file: " + storePath);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: replaces the tracker with the one saved in the store
+     */
+    private void load(int lineNumber) throws IOException {
+        try {
+            tracker = store.load();
+            emit(new JSONObject().put("op", "load").put("line", lineNumber).put("file", storePath)
+                    .put("transactions", tracker.getTransactionCount()));
+        } catch (IOException e) {
+            fail(lineNumber, "Unable to read from file: " + storePath);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: reports that the command on lineNumber failed with message
+     */
+    private void fail(int lineNumber, String message) throws IOException {
+        failures++;
+        emit(new JSONObject().put("line", lineNumber).put("error", message));
+    }
+
+    /**
+     * EFFECTS: writes result as one line of JSON
+     */
+    private void emit(JSONObject result) throws IOException {
+        out.write(result.toString());
+        out.write('\n');
+    }
+}
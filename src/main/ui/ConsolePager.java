@@ -0,0 +1,136 @@
+package ui;
+
+import java.io.PrintStream;
+import java.util.Scanner;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Console output for long listings. Rows are asked for by position, so a
+ * listing reads only the rows it prints, and are appended to one reused
+ * buffer. When paging, each page is printed with a single write and the user
+ * moves between pages with next, previous and jump commands; a listing that
+ * fits on one page is printed without a prompt. When streaming, every row is
+ * written to the output stream, which should be buffered, and the stream is
+ * flushed once at the end.
+ */
+public class ConsolePager {
+
+    public static final int PAGE_SIZE = 20;
+
+    private static final int FLUSH_SIZE = 1 << 16;
+
+    private final Scanner input;
+    private final PrintStream out;
+    private final boolean paged;
+    private final int pageSize;
+    private final StringBuilder text;
+
+    /**
+     * REQUIRES: pageSize > 0
+     * EFFECTS: constructs pager printing to out, reading paging commands from
+     * input if paged and streaming every row otherwise
+     */
+    public ConsolePager(Scanner input, PrintStream out, boolean paged, int pageSize) {
+        this.input = input;
+        this.out = out;
+        this.paged = paged;
+        this.pageSize = pageSize;
+        this.text = new StringBuilder();
+    }
+
+    /**
+     * EFFECTS: prints header and then the count rows that rows appends to a
+     * buffer when given their position, a page at a time if paged
+     */
+    public void show(String header, int count, ObjIntConsumer<StringBuilder> rows) {
+        System.out.flush();
+        if (paged) {
+            page(header, count, rows);
+        } else {
+            stream(header, count, rows);
+        }
+    }
+
+    /**
+     * EFFECTS: prints page of pages in a single write: header, the page
+     * number and paging prompt if there are several pages, and its rows
+     */
+    private void printPage(String header, int count, ObjIntConsumer<StringBuilder> rows, int page, int pages) {
+        text.setLength(0);
+        text.append(header);
+        if (pages > 1) {
+            text.append("Page ").append(page + 1).append(" of ").append(pages).append('\n');
+        }
+        int end = Math.min(count, (page + 1) * pageSize);
+        for (int i = page * pageSize; i < end; i++) {
+            rows.accept(text, i);
+            text.append('\n');
+        }
+        if (pages > 1) {
+            text.append("[n]ext, [p]revious, [j]ump <page>, [q]uit: ");
+        }
+        out.print(text);
+        out.flush();
+    }
+
+    /**
+     * EFFECTS: prints pages of rows, starting with the first, until the user
+     * quits or moves past the last page
+     */
+    private void page(String header, int count, ObjIntConsumer<StringBuilder> rows) {
+        int pages = Math.max(1, (count + pageSize - 1) / pageSize);
+        int page = 0;
+        while (page >= 0) {
+            printPage(header, count, rows, page, pages);
+            if (pages == 1 || !input.hasNextLine()) {
+                return;
+            }
+            page = nextPage(input.nextLine().trim().toLowerCase(), page, pages);
+        }
+    }
+
+    /**
+     * EFFECTS: returns the page to show after command on page of pages, or
+     * -1 to stop; an empty command means next, and unknown commands or bad
+     * page numbers show the same page again
+     */
+    private static int nextPage(String command, int page, int pages) {
+        if (command.isEmpty() || command.equals("n")) {
+            return page + 1 < pages ? page + 1 : -1;
+        }
+        if (command.equals("p")) {
+            return Math.max(0, page - 1);
+        }
+        if (command.equals("q")) {
+            return -1;
+        }
+        if (command.startsWith("j")) {
+            try {
+                int target = Integer.parseInt(command.substring(1).trim()) - 1;
+                return Math.max(0, Math.min(pages - 1, target));
+            } catch (NumberFormatException e) {
+                return page;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * EFFECTS: writes header and every row to the output stream, handing it
+     * the buffered text in large blocks, and flushes it once at the end
+     */
+    private void stream(String header, int count, ObjIntConsumer<StringBuilder> rows) {
+        text.setLength(0);
+        text.append(header);
+        for (int i = 0; i < count; i++) {
+            rows.accept(text, i);
+            text.append('\n');
+            if (text.length() >= FLUSH_SIZE) {
+                out.append(text);
+                text.setLength(0);
+            }
+        }
+        out.append(text);
+        out.flush();
+    }
+}
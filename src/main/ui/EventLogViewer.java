@@ -0,0 +1,252 @@
+package ui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Frame;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import javax.swing.AbstractListModel;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import model.Event;
+import model.EventLog;
+
+/**
+ * Window showing the event log one line per event. The list reads events
+ * from the log by position and formats only the rows on screen, so it opens
+ * in the same time however many events were logged. Events can be searched
+ * for by text and the list can jump to the first event logged at a time.
+ */
+public class EventLogViewer extends JDialog {
+
+    private static final String PROTOTYPE = "Wed Dec 31 23:59:59 PST 2025  "
+            + "Transactions filtered by category: Entertainment (found 1000000 transactions)";
+
+    private final EventRows rows;
+    private final JList<String> list;
+    private final JTextField searchField;
+    private final JTextField timeField;
+    private final JLabel statusLabel;
+
+    /**
+     * EFFECTS: constructs viewer of the events logged so far, owned by owner
+     */
+    public EventLogViewer(Frame owner) {
+        super(owner, "Financial Tracker Event Log", false);
+        rows = new EventRows();
+        list = new JList<>(rows);
+        list.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        list.setPrototypeCellValue(PROTOTYPE);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setVisibleRowCount(20);
+        searchField = new JTextField(15);
+        timeField = new JTextField(LocalDate.now().toString(), 12);
+        statusLabel = new JLabel(" ");
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        add(createNavigationPanel(), BorderLayout.NORTH);
+        add(new JScrollPane(list), BorderLayout.CENTER);
+        add(createButtonPanel(), BorderLayout.SOUTH);
+        showCount();
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * EFFECTS: returns panel with the search and jump-to-time fields
+     */
+    private JPanel createNavigationPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton findButton = new JButton("Find Next");
+        JButton jumpButton = new JButton("Go");
+        findButton.addActionListener(e -> findNext());
+        searchField.addActionListener(e -> findNext());
+        jumpButton.addActionListener(e -> jumpToTime());
+        timeField.addActionListener(e -> jumpToTime());
+        panel.add(new JLabel("Search:"));
+        panel.add(searchField);
+        panel.add(findButton);
+        panel.add(new JLabel("Jump to (YYYY-MM-DD [HH:MM]):"));
+        panel.add(timeField);
+        panel.add(jumpButton);
+        panel.add(statusLabel);
+        return panel;
+    }
+
+    /**
+     * EFFECTS: returns panel with the refresh, clear and close buttons
+     */
+    private JPanel createButtonPanel() {
+        JPanel panel = new JPanel(new FlowLayout());
+        JButton refreshButton = new JButton("Refresh");
+        JButton clearButton = new JButton("Clear Event Log");
+        JButton closeButton = new JButton("Close");
+        refreshButton.addActionListener(e -> {
+            rows.refresh();
+            showCount();
+        });
+        clearButton.addActionListener(e -> clearLog());
+        closeButton.addActionListener(e -> dispose());
+        panel.add(refreshButton);
+        panel.add(clearButton);
+        panel.add(closeButton);
+        return panel;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: selects the next event after the selected one whose
+     * description contains the search text, wrapping round to the start
+     */
+    private void findNext() {
+        String text = searchField.getText();
+        if (text.isEmpty()) {
+            return;
+        }
+        EventLog log = EventLog.getInstance();
+        int found = log.findEvent(text, list.getSelectedIndex() + 1);
+        if (found < 0 || found >= rows.getSize()) {
+            found = log.findEvent(text, 0);
+        }
+        if (found < 0 || found >= rows.getSize()) {
+            showStatus("No event contains \"" + text + "\"", Color.RED);
+            return;
+        }
+        select(found);
+        showStatus("Event " + (found + 1) + " of " + rows.getSize(), Color.BLACK);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: selects the first event logged at or after the entered time,
+     * or the last event if every event was logged before it
+     */
+    private void jumpToTime() {
+        LocalDateTime time;
+        try {
+            time = parseTime(timeField.getText().trim());
+        } catch (DateTimeParseException e) {
+            showStatus("Enter a time as YYYY-MM-DD or YYYY-MM-DD HH:MM", Color.RED);
+            return;
+        }
+        if (rows.getSize() == 0) {
+            return;
+        }
+        int index = EventLog.getInstance().indexAt(Date.from(time.atZone(ZoneId.systemDefault()).toInstant()));
+        select(Math.min(index, rows.getSize() - 1));
+        showStatus("Event " + (list.getSelectedIndex() + 1) + " of " + rows.getSize(), Color.BLACK);
+    }
+
+    /**
+     * EFFECTS: returns time entered as a date, meaning its start, or as a
+     * date and time; throws DateTimeParseException if it is neither
+     */
+    private static LocalDateTime parseTime(String text) {
+        if (text.length() <= 10) {
+            return LocalDate.parse(text).atStartOfDay();
+        }
+        return LocalDateTime.parse(text.replace(' ', 'T'));
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: after confirmation, clears the event log and shows the event
+     * logged for clearing it
+     */
+    private void clearLog() {
+        int result = JOptionPane.showConfirmDialog(this,
+                "Are you sure you want to clear the event log?",
+                "Clear Event Log",
+                JOptionPane.YES_NO_OPTION);
+        if (result == JOptionPane.YES_OPTION) {
+            EventLog.getInstance().clear();
+            rows.refresh();
+            showCount();
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: selects the row at index and scrolls it into view
+     */
+    private void select(int index) {
+        list.setSelectedIndex(index);
+        list.ensureIndexIsVisible(index);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows the number of events in the status label
+     */
+    private void showCount() {
+        showStatus(rows.getSize() == 0 ? "No events logged yet." : rows.getSize() + " events", Color.BLACK);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows text in the status label in color
+     */
+    private void showStatus(String text, Color color) {
+        statusLabel.setForeground(color);
+        statusLabel.setText(text);
+    }
+
+    /**
+     * List model over the events logged when it was last refreshed. Events
+     * are read from the log by position and formatted only when shown.
+     */
+    private static class EventRows extends AbstractListModel<String> {
+
+        private int count;
+
+        public EventRows() {
+            count = EventLog.getInstance().getEventCount();
+        }
+
+        /**
+         * MODIFIES: this
+         * EFFECTS: shows the events logged since the last refresh, or only
+         * the current ones if the log was cleared
+         */
+        public void refresh() {
+            int oldCount = count;
+            count = EventLog.getInstance().getEventCount();
+            if (oldCount > 0) {
+                fireIntervalRemoved(this, 0, oldCount - 1);
+            }
+            if (count > 0) {
+                fireIntervalAdded(this, 0, count - 1);
+            }
+        }
+
+        @Override
+        public int getSize() {
+            return count;
+        }
+
+        /**
+         * EFFECTS: returns the row for the event at index, or an empty row if
+         * the log has been cleared, by another viewer or elsewhere, since the
+         * last refresh
+         */
+        @Override
+        public String getElementAt(int index) {
+            if (index >= EventLog.getInstance().getEventCount()) {
+                return "";
+            }
+            Event event = EventLog.getInstance().getEvent(index);
+            return event.getDate() + "  " + event.getDescription();
+        }
+    }
+}
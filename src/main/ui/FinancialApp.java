@@ -1,17 +1,26 @@
 package ui;
 
-import java.io.FileNotFoundException;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
 import model.Event;
 import model.EventLog;
 import model.FinancialTracker;
 import model.Transaction;
-import persistence.JsonReader;
-import persistence.JsonWriter;
+import model.TransactionQuery;
+import model.TransactionSearch;
+import persistence.CsvImporter;
+import persistence.JournaledStore;
+import persistence.TransactionExporter;
 
 /**
  * Financial Tracker console application that allows users to manage their
@@ -21,28 +30,54 @@ import persistence.JsonWriter;
 public class FinancialApp {
 
     private static final String JSON_STORE = "./data/FinancialHistory.json";
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
     private FinancialTracker tracker;
     private Scanner input;
     private boolean keepGoing;
-    private JsonWriter jsonWriter;
-    private JsonReader jsonReader;
+    private JournaledStore store;
+    private ConsolePager pager;
 
     /**
-     * EFFECTS: runs the financial tracker application
+     * EFFECTS: runs the financial tracker application, paging long listings
      */
     public FinancialApp() {
-        runApp();
+        this(true);
+    }
+
+    /**
+     * EFFECTS: runs the financial tracker application, paging long listings
+     * if paged and otherwise streaming them through a large output buffer
+     */
+    public FinancialApp(boolean paged) {
+        runApp(paged);
+    }
+
+    /**
+     * EFFECTS: runs the console application; with --no-page, listings are
+     * streamed without stopping, for piping to another program. With
+     * --batch [SCRIPT], runs the commands of SCRIPT, or of standard input if
+     * it is missing or "-", without prompts and exits with the runner's status
+     */
+    public static void main(String[] args) {
+        List<String> options = Arrays.asList(args);
+        int batch = options.indexOf("--batch");
+        if (batch >= 0) {
+            String script = batch + 1 < args.length ? args[batch + 1] : "-";
+            System.exit(BatchRunner.runScript(JSON_STORE, script));
+        }
+        new FinancialApp(!options.contains("--no-page"));
     }
 
     /**
      * MODIFIES: this EFFECTS: processes user input
      */
-    private void runApp() {
+    private void runApp(boolean paged) {
         keepGoing = true;
         tracker = new FinancialTracker();
         input = new Scanner(System.in);
-        jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
+        pager = createPager(paged);
+        store = new JournaledStore(JSON_STORE);
+        store.attach(tracker);
 
         System.out.println("\n=== Welcome to Financial Tracker ===");
 
@@ -52,20 +87,62 @@ public class FinancialApp {
             processCommand(command);
         }
 
+        closeStore();
         System.out.println("\nGoodbye!");
         printEventLog();
     }
 
+    /**
+     * EFFECTS: closes the store, waiting for any background compaction of
+     * its journal to finish
+     */
+    private void closeStore() {
+        try {
+            store.close();
+        } catch (IOException e) {
+            System.out.println("Unable to finish writing to file: " + JSON_STORE);
+        }
+    }
+
+    /**
+     * EFFECTS: returns pager reading commands from the console if paged, or
+     * otherwise streaming to standard output through a large buffer that is
+     * flushed only when full or when a listing ends
+     */
+    private ConsolePager createPager(boolean paged) {
+        if (paged) {
+            return new ConsolePager(input, System.out, true, ConsolePager.PAGE_SIZE);
+        }
+        PrintStream stream = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+                STREAM_BUFFER_SIZE), false);
+        return new ConsolePager(input, stream, false, ConsolePager.PAGE_SIZE);
+    }
+
     /**
      * EFFECTS: prints all events from the event log to console
      */
     private void printEventLog() {
-        System.out.println("\nEvent Log:");
-        System.out.println("----------");
-        for (Event event : EventLog.getInstance()) {
-            System.out.println(event.toString());
-            System.out.println();
+        EventLog log = EventLog.getInstance();
+        pager.show("\nEvent Log:\n----------\n", log.getEventCount(), (line, i) -> {
+            Event event = log.getEvent(i);
+            line.append(event.getDate()).append('\n').append(event.getDescription()).append('\n');
+        });
+    }
+
+    /**
+     * MODIFIES: line
+     * EFFECTS: appends transaction to line as entry number of a listing,
+     * with its category if withCategory
+     */
+    private static void appendTransaction(StringBuilder line, int number, Transaction transaction,
+                                          boolean withCategory) {
+        line.append(number).append(". [").append(transaction.getAmount() >= 0 ? "Income" : "Expense")
+                .append("] ").append(transaction.getDescription())
+                .append(" - $").append(Math.abs(transaction.getAmount()));
+        if (withCategory) {
+            line.append(" (").append(transaction.getCategory()).append(')');
         }
+        line.append(" - ").append(transaction.getDate());
     }
 
     /**
@@ -80,8 +157,10 @@ public class FinancialApp {
         System.out.println("5. Delete Transaction");
         System.out.println("6. Save Financial History");
         System.out.println("7. Load Financial History");
-        System.out.println("8. Quit");
-        System.out.print("Please select an option (1-8): ");
+        System.out.println("8. Import Transactions from CSV");
+        System.out.println("9. Export Transactions");
+        System.out.println("10. Quit");
+        System.out.print("Please select an option (1-10): ");
     }
 
     /**
@@ -103,7 +182,7 @@ public class FinancialApp {
         if (executeFileCommands(command)) {
             return;
         }
-        if (command.equals("8")) {
+        if (command.equals("10")) {
             keepGoing = false;
         } else {
             handleInvalidCommand();
@@ -148,6 +227,12 @@ public class FinancialApp {
             case "7":
                 loadFinancialHistory();
                 return true;
+            case "8":
+                importTransactions();
+                return true;
+            case "9":
+                exportTransactions();
+                return true;
             default:
                 return false;
         }
@@ -160,6 +245,66 @@ public class FinancialApp {
         System.out.println("Invalid selection. Please try again.");
     }
 
+    /**
+     * MODIFIES: this EFFECTS: prompts user for the path of a CSV bank
+     * statement and adds its transactions to the tracker; rows that cannot be
+     * imported are written to a reject file next to the statement
+     */
+    private void importTransactions() {
+        System.out.print("Enter path of CSV file to import: ");
+        String path = input.nextLine().trim();
+        String rejectPath = path + ".rejects.csv";
+        CsvImporter importer = new CsvImporter(path, rejectPath);
+        try {
+            int imported = importer.importInto(tracker);
+            System.out.println("Imported " + imported + " transactions from " + path);
+            if (importer.getRejectedCount() > 0) {
+                System.out.println(importer.getRejectedCount() + " rows could not be imported; see " + rejectPath);
+            }
+        } catch (IOException e) {
+            System.out.println("Unable to import file: " + path + " (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * EFFECTS: prompts user for an export file, an optional category and an
+     * optional date range, and writes the matching transactions to the file
+     * as JSON Lines if its name ends in .jsonl or as CSV otherwise
+     */
+    private void exportTransactions() {
+        System.out.print("Enter path of file to export to (.csv or .jsonl): ");
+        String path = input.nextLine().trim();
+        TransactionExporter exporter = new TransactionExporter(path, path.toLowerCase().endsWith(".jsonl")
+                ? TransactionExporter.Format.JSON_LINES : TransactionExporter.Format.CSV);
+        System.out.print("Enter category to export or press Enter for all: ");
+        String category = input.nextLine().trim();
+        exporter.setCategory(category.isEmpty() ? null : category);
+        try {
+            LocalDate from = getOptionalDate("Enter start date (YYYY-MM-DD) or press Enter for no limit: ");
+            LocalDate to = getOptionalDate("Enter end date (YYYY-MM-DD) or press Enter for no limit: ");
+            exporter.setDateRange(from, to);
+            int exported = exporter.export(tracker);
+            System.out.println("Exported " + exported + " transactions to " + path);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date. Export cancelled.");
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + path);
+        }
+    }
+
+    /**
+     * EFFECTS: prompts user with prompt and returns the date entered, or null
+     * if nothing is entered
+     */
+    private LocalDate getOptionalDate(String prompt) {
+        System.out.print(prompt);
+        String dateInput = input.nextLine().trim();
+        if (dateInput.isEmpty()) {
+            return null;
+        }
+        return LocalDate.parse(dateInput, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    }
+
     /**
      * MODIFIES: this EFFECTS: prompts user for transaction details and adds a
      * new transaction to the tracker; validates that description and category
@@ -252,29 +397,15 @@ public class FinancialApp {
      */
     private void viewAllTransactions() {
         System.out.println("\n--- All Transactions ---");
-        List<Transaction> transactions = tracker.getTransactions();
+        int count = tracker.getTransactionCount();
 
-        if (transactions.isEmpty()) {
+        if (count == 0) {
             System.out.println("No transactions found.");
             return;
         }
 
-        System.out.println("Total transactions: " + transactions.size());
-        System.out.println();
-
-        for (int i = 0; i < transactions.size(); i++) {
-            Transaction currTransaction = transactions.get(i);
-
-            String type;
-            if (currTransaction.getAmount() >= 0) {
-                type = "Income";
-            } else {
-                type = "Expense";
-            }
-            System.out.println((i + 1) + ". [" + type + "] " + currTransaction.getDescription()
-                    + " - $" + Math.abs(currTransaction.getAmount()) + " (" + currTransaction.getCategory()
-                    + ") - " + currTransaction.getDate());
-        }
+        pager.show("Total transactions: " + count + "\n\n", count,
+                (line, i) -> appendTransaction(line, i + 1, tracker.getTransaction(i), true));
     }
 
     /**
@@ -286,11 +417,11 @@ public class FinancialApp {
         System.out.println("\n--- Financial Summary ---");
 
         double totalIncome = tracker.getTotalIncome();
-        double totalExpenses = getTotalExpenses();
-        double balance = totalIncome + totalExpenses; // expenses are negative
+        double totalExpenses = tracker.getTotalExpenses();
+        double balance = totalIncome - totalExpenses;
 
         System.out.println("Total Income: $" + totalIncome);
-        System.out.println("Total Expenses: $" + Math.abs(totalExpenses));
+        System.out.println("Total Expenses: $" + totalExpenses);
         System.out.println("Current Balance: $" + balance);
 
         if (balance >= 0) {
@@ -302,20 +433,6 @@ public class FinancialApp {
         System.out.println("Total Transactions: " + tracker.getTransactionCount());
     }
 
-    /**
-     * EFFECTS: calculates and returns the total amount of all expense
-     * transactions; returns sum of all negative transaction amounts
-     */
-    private double getTotalExpenses() {
-        double totalExpenses = 0.0;
-        for (Transaction transaction : tracker.getTransactions()) {
-            if (transaction.getAmount() < 0) {
-                totalExpenses += transaction.getAmount();
-            }
-        }
-        return totalExpenses;
-    }
-
     /**
      * EFFECTS: prompts user for category name and displays all transactions in
      * that category; shows transaction details and calculates category total;
@@ -328,8 +445,10 @@ public class FinancialApp {
             return;
         }
 
-        List<Transaction> filteredTransactions = tracker.getTransactionsByCategory(category);
-        if (filteredTransactions.isEmpty()) {
+        int[] filteredTransactions = new TransactionSearch(tracker).search(TransactionQuery.byCategory(category),
+                () -> false);
+        FinancialTracker.logCategoryFilter(category, filteredTransactions.length);
+        if (filteredTransactions.length == 0) {
             System.out.println("No transactions found for category: " + category);
             return;
         }
@@ -351,21 +470,18 @@ public class FinancialApp {
     }
 
     /**
-     * EFFECTS: displays all transactions in the given category with total
+     * EFFECTS: displays the transactions at the given tracker indices, all
+     * in the given category, with their total
      */
-    private void displayCategoryTransactions(String category, List<Transaction> transactions) {
-        System.out.println("\nTransactions in category '" + category + "':");
+    private void displayCategoryTransactions(String category, int[] indices) {
         double categoryTotal = 0.0;
-
-        for (int i = 0; i < transactions.size(); i++) {
-            Transaction currTransaction = transactions.get(i);
-            String type = currTransaction.getAmount() >= 0 ? "Income" : "Expense";
-
-            System.out.println((i + 1) + ". [" + type + "] " + currTransaction.getDescription()
-                    + " - $" + Math.abs(currTransaction.getAmount()) + " - " + currTransaction.getDate());
-            categoryTotal += currTransaction.getAmount();
+        for (int index : indices) {
+            categoryTotal += tracker.getTransaction(index).getAmount();
         }
 
+        pager.show("\nTransactions in category '" + category + "':\n", indices.length,
+                (line, i) -> appendTransaction(line, i + 1, tracker.getTransaction(indices[i]), false));
+
         System.out.println("\nCategory Total: $" + categoryTotal);
     }
 
@@ -377,36 +493,28 @@ public class FinancialApp {
      */
     private void deleteTransaction() {
         System.out.println("\n--- Delete Transaction ---");
-        List<Transaction> transactions = tracker.getTransactions();
 
-        if (transactions.isEmpty()) {
+        if (tracker.getTransactionCount() == 0) {
             System.out.println("No transactions to delete.");
             return;
         }
 
-        displayTransactionsForDeletion(transactions);
-        handleTransactionDeletion(transactions);
+        displayTransactionsForDeletion();
+        handleTransactionDeletion();
     }
 
     /**
      * EFFECTS: displays all transactions with numbers for deletion selection
      */
-    private void displayTransactionsForDeletion(List<Transaction> transactions) {
-        System.out.println("Select a transaction to delete:");
-        for (int i = 0; i < transactions.size(); i++) {
-            Transaction currTransaction = transactions.get(i);
-            String type = currTransaction.getAmount() >= 0 ? "Income" : "Expense";
-
-            System.out.println((i + 1) + ". [" + type + "] " + currTransaction.getDescription()
-                    + " - $" + Math.abs(currTransaction.getAmount()) + " (" + currTransaction.getCategory()
-                    + ") - " + currTransaction.getDate());
-        }
+    private void displayTransactionsForDeletion() {
+        pager.show("Select a transaction to delete:\n", tracker.getTransactionCount(),
+                (line, i) -> appendTransaction(line, i + 1, tracker.getTransaction(i), true));
     }
 
     /**
      * MODIFIES: this EFFECTS: handles user input for transaction deletion
      */
-    private void handleTransactionDeletion(List<Transaction> transactions) {
+    private void handleTransactionDeletion() {
         System.out.print("Enter transaction number to delete (or 0 to cancel): ");
         int choice = Integer.parseInt(input.nextLine());
 
@@ -415,12 +523,12 @@ public class FinancialApp {
             return;
         }
 
-        if (choice < 1 || choice > transactions.size()) {
+        if (choice < 1 || choice > tracker.getTransactionCount()) {
             System.out.println("Invalid transaction number.");
             return;
         }
 
-        Transaction toDelete = transactions.get(choice - 1);
+        Transaction toDelete = tracker.getTransaction(choice - 1);
         boolean removed = tracker.removeTransaction(toDelete);
 
         if (removed) {
@@ -430,15 +538,16 @@ public class FinancialApp {
         }
     }
 
-    // EFFECTS: saves the financial tracker to file
+    // EFFECTS: saves the financial tracker to file; only the changes made
+    // since the last save are written
     private void saveFinancialHistory() {
         try {
-            jsonWriter.open();
-            jsonWriter.write(tracker);
-            jsonWriter.close();
+            store.commit().get();
             System.out.println("Saved Financial History to " + JSON_STORE);
-        } catch (FileNotFoundException e) {
+        } catch (IOException | ExecutionException e) {
             System.out.println("Unable to write to file: " + JSON_STORE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -446,8 +555,9 @@ public class FinancialApp {
     // EFFECTS: loads financial tracker from file
     private void loadFinancialHistory() {
         try {
-            tracker = jsonReader.read();
+            tracker = store.load();
             System.out.println("Loaded Financial History from " + JSON_STORE);
+            System.out.println(store.getLoadStrings().summary());
         } catch (IOException e) {
             System.out.println("Unable to read from file: " + JSON_STORE);
         }
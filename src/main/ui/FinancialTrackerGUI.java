@@ -1,21 +1,36 @@
 package ui;
 
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.FileNotFoundException;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.swing.*;
 import model.Event;
 import model.EventLog;
 import model.FinancialTracker;
 import model.Transaction;
-import persistence.JsonReader;
-import persistence.JsonWriter;
+import persistence.CsvImporter;
+import persistence.JournaledStore;
+import persistence.PagedTransactionFile;
+import persistence.TransactionExporter;
+import persistence.SaveListener;
 
 /**
  * Main GUI window for the Financial Tracker application. This is the base
@@ -25,12 +40,12 @@ public class FinancialTrackerGUI extends JFrame {
 
     private static final int WINDOW_WIDTH = 1050;
     private static final int WINDOW_HEIGHT = 600;
-    private static final String JSON_STORE = "./data/FinancialHistory.json";
+    static final String JSON_STORE = "./data/FinancialHistory.json";
+    private static final String[] CATEGORIES = Transaction.CATEGORIES.toArray(new String[0]);
 
     // Data management
     private FinancialTracker tracker;
-    private JsonWriter jsonWriter;
-    private JsonReader jsonReader;
+    private JournaledStore store;
 
     // Main panels
     private JPanel mainPanel;
@@ -42,10 +57,14 @@ public class FinancialTrackerGUI extends JFrame {
     // Components for transaction display
     private JScrollPane transactionScrollPane;
     private JList<String> transactionList;
-    private DefaultListModel<String> listModel;
+    private TransactionListModel listModel;
+    private TransactionSearchPanel searchPanel;
+    private JTable transactionTable;
+    private TransactionTableModel tableModel;
 
     // Visual component - Financial Summary Panel
     private FinancialSummaryPanel summaryPanel;
+    private BalanceChartPanel balanceChart;
 
     // Buttons
     private JButton addTransactionButton;
@@ -54,48 +73,33 @@ public class FinancialTrackerGUI extends JFrame {
     private JButton loadButton;
     private JButton viewEventLogButton;
 
+    // Progress of saves running in the background
+    private JProgressBar saveProgressBar;
+
     // Menu
     private JMenuBar menuBar;
     private JMenu fileMenu;
     private JMenuItem addMenuItem;
     private JMenuItem saveMenuItem;
     private JMenuItem loadMenuItem;
+    private JMenuItem importMenuItem;
+    private JMenuItem exportMenuItem;
+    private JMenuItem browseMenuItem;
+    private JMenuItem chartMenuItem;
     private JMenuItem viewEventLogMenuItem;
     private JMenuItem exitMenuItem;
 
     /**
-     * Constructor to create the GUI window
+     * Constructor to create the GUI window showing tracker, whose changes are
+     * saved by store
      */
-    public FinancialTrackerGUI() {
-        tracker = new FinancialTracker();
-        jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
-
-        // Add some default transactions Test
-        // addDefaultTransactions();
+    public FinancialTrackerGUI(FinancialTracker tracker, JournaledStore store) {
+        this.tracker = tracker;
+        this.store = store;
+        store.addSaveListener(new SaveProgressListener());
         initializeGUI();
     }
 
-    /**
-     * Add default transactions for demonstration purposes
-     */
-    private void addDefaultTransactions() {
-        try {
-            // Add some sample income transactions
-            tracker.addTransaction(new Transaction(2500.00, "Monthly Salary", "Salary", LocalDate.now().minusDays(5)));
-            tracker.addTransaction(new Transaction(500.00, "Freelance Work", "Salary", LocalDate.now().minusDays(10)));
-
-            // Add some sample expense transactions
-            tracker.addTransaction(new Transaction(-800.00, "Monthly Rent", "Rent", LocalDate.now().minusDays(3)));
-            tracker.addTransaction(new Transaction(-150.00, "Groceries", "Food", LocalDate.now().minusDays(2)));
-            tracker.addTransaction(new Transaction(-60.00, "Gas Bill", "Other", LocalDate.now().minusDays(1)));
-            tracker.addTransaction(new Transaction(-45.00, "Restaurant Dinner", "Food", LocalDate.now()));
-        } catch (Exception e) {
-            // If there's any issue with default transactions, just continue
-            System.out.println("Note: Could not add default transactions");
-        }
-    }
-
     /**
      * Initialize the main GUI window and components
      */
@@ -133,19 +137,12 @@ public class FinancialTrackerGUI extends JFrame {
         bottomPanel = new JPanel(new FlowLayout());
         rightPanel = new JPanel(new BorderLayout());
 
-        // Initialize transaction list
-        listModel = new DefaultListModel<>();
-        transactionList = new JList<>(listModel);
-        transactionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        transactionScrollPane = new JScrollPane(transactionList);
-        transactionScrollPane.setPreferredSize(new Dimension(500, 400));
+        // Initialize transaction list and its search bar
+        createTransactionList();
 
         // Initialize visual component - Financial Summary Panel
         summaryPanel = new FinancialSummaryPanel();
 
-        // Load existing data and refresh display
-        refreshTransactionDisplay();
-
         // Initialize buttons
         addTransactionButton = new JButton("Add Transaction");
         filterByCategoryButton = new JButton("Filter by Category");
@@ -153,6 +150,11 @@ public class FinancialTrackerGUI extends JFrame {
         loadButton = new JButton("Load");
         viewEventLogButton = new JButton("View Event Log");
 
+        // Initialize save progress bar, shown only while a save is being written
+        saveProgressBar = new JProgressBar(0, 100);
+        saveProgressBar.setStringPainted(true);
+        saveProgressBar.setVisible(false);
+
         // Initialize menu
         createMenuBar();
     }
@@ -165,17 +167,17 @@ public class FinancialTrackerGUI extends JFrame {
 
         fileMenu = new JMenu("File");
 
-        addMenuItem = new JMenuItem("Add Transaction");
-        saveMenuItem = new JMenuItem("Save Financial Data");
-        loadMenuItem = new JMenuItem("Load Financial Data");
-        viewEventLogMenuItem = new JMenuItem("View Event Log");
-        exitMenuItem = new JMenuItem("Exit");
+        createMenuItems();
 
         fileMenu.add(addMenuItem);
         fileMenu.addSeparator();
         fileMenu.add(saveMenuItem);
         fileMenu.add(loadMenuItem);
+        fileMenu.add(importMenuItem);
+        fileMenu.add(exportMenuItem);
+        fileMenu.add(browseMenuItem);
         fileMenu.addSeparator();
+        fileMenu.add(chartMenuItem);
         fileMenu.add(viewEventLogMenuItem);
         fileMenu.addSeparator();
         fileMenu.add(exitMenuItem);
@@ -184,6 +186,73 @@ public class FinancialTrackerGUI extends JFrame {
         setJMenuBar(menuBar);
     }
 
+    /**
+     * Create the items of the File menu
+     */
+    private void createMenuItems() {
+        addMenuItem = new JMenuItem("Add Transaction");
+        saveMenuItem = new JMenuItem("Save Financial Data");
+        loadMenuItem = new JMenuItem("Load Financial Data");
+        importMenuItem = new JMenuItem("Import CSV Statement...");
+        exportMenuItem = new JMenuItem("Export Transactions...");
+        browseMenuItem = new JMenuItem("Browse Large History...");
+        chartMenuItem = new JMenuItem("View Balance Chart...");
+        viewEventLogMenuItem = new JMenuItem("View Event Log");
+        exitMenuItem = new JMenuItem("Exit");
+    }
+
+    /**
+     * Create the transaction list, which shows only the rows it displays, and
+     * the search bar that filters it
+     */
+    private void createTransactionList() {
+        listModel = new TransactionListModel(tracker);
+        transactionList = new JList<>(listModel);
+        transactionList.setPrototypeCellValue(prototypeRow());
+        transactionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        transactionScrollPane = new JScrollPane(transactionList);
+        transactionScrollPane.setPreferredSize(new Dimension(500, 400));
+        searchPanel = new TransactionSearchPanel(listModel, CATEGORIES);
+        createTransactionTable();
+    }
+
+    /**
+     * Create the table view of the transactions, sorted by the column whose
+     * header is clicked
+     */
+    private void createTransactionTable() {
+        tableModel = new TransactionTableModel(tracker);
+        transactionTable = new JTable(tableModel);
+        transactionTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        transactionTable.getTableHeader().setReorderingAllowed(false);
+        transactionTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = transactionTable.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    tableModel.sortBy(column);
+                    for (int i = 0; i < tableModel.getColumnCount(); i++) {
+                        transactionTable.getColumnModel().getColumn(i).setHeaderValue(tableModel.getColumnName(i));
+                    }
+                    transactionTable.getTableHeader().repaint();
+                }
+            }
+        });
+    }
+
+    /**
+     * Create the tabs holding the searchable list and the sortable table
+     */
+    private JTabbedPane createTransactionViews() {
+        JPanel listTab = new JPanel(new BorderLayout());
+        listTab.add(searchPanel, BorderLayout.NORTH);
+        listTab.add(transactionScrollPane, BorderLayout.CENTER);
+        JTabbedPane views = new JTabbedPane();
+        views.addTab("List", listTab);
+        views.addTab("Table", new JScrollPane(transactionTable));
+        return views;
+    }
+
     /**
      * Layout all components in the window
      */
@@ -195,7 +264,7 @@ public class FinancialTrackerGUI extends JFrame {
 
         // Center panel with transaction list
         centerPanel.setBorder(BorderFactory.createTitledBorder("Transaction History"));
-        centerPanel.add(transactionScrollPane, BorderLayout.CENTER);
+        centerPanel.add(createTransactionViews(), BorderLayout.CENTER);
 
         // Right panel with visual component
         rightPanel.add(summaryPanel, BorderLayout.CENTER);
@@ -205,6 +274,7 @@ public class FinancialTrackerGUI extends JFrame {
         bottomPanel.add(saveButton);
         bottomPanel.add(loadButton);
         bottomPanel.add(viewEventLogButton);
+        bottomPanel.add(saveProgressBar);
 
         // Add panels to main panel
         mainPanel.add(topPanel, BorderLayout.NORTH);
@@ -241,6 +311,10 @@ public class FinancialTrackerGUI extends JFrame {
         addMenuItem.addActionListener(e -> showAddTransactionDialog());
         saveMenuItem.addActionListener(e -> showSaveDialog());
         loadMenuItem.addActionListener(e -> showLoadDialog());
+        importMenuItem.addActionListener(e -> showImportDialog());
+        exportMenuItem.addActionListener(e -> showExportDialog());
+        browseMenuItem.addActionListener(e -> showBrowseHistoryDialog());
+        chartMenuItem.addActionListener(e -> showBalanceChart());
         viewEventLogMenuItem.addActionListener(e -> showEventLogDialog());
         exitMenuItem.addActionListener(e -> showExitDialog());
     }
@@ -266,9 +340,7 @@ public class FinancialTrackerGUI extends JFrame {
 
         JTextField amountField = new JTextField();
         JTextField descriptionField = new JTextField();
-        JComboBox<String> categoryCombo = new JComboBox<>(new String[]{
-            "Food", "Rent", "Salary", "Entertainment", "Transportation", "Other"
-        });
+        JComboBox<String> categoryCombo = new JComboBox<>(CATEGORIES);
         JTextField dateField = new JTextField(LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
 
         panel.add(new JLabel("Amount ($):"));
@@ -342,29 +414,40 @@ public class FinancialTrackerGUI extends JFrame {
      * Show dialog for filtering transactions by category
      */
     private void showFilterByCategoryDialog() {
-        String[] categories = {"All", "Food", "Rent", "Salary", "Entertainment", "Transportation", "Other"};
+        String[] categories = new String[CATEGORIES.length + 1];
+        categories[0] = "All";
+        System.arraycopy(CATEGORIES, 0, categories, 1, CATEGORIES.length);
         String selectedCategory = (String) JOptionPane.showInputDialog(this,
                 "Select category to filter by:", "Filter Transactions",
                 JOptionPane.QUESTION_MESSAGE, null, categories, categories[0]);
 
         if (selectedCategory != null) {
-            listModel.clear();
+            searchPanel.showCategory(selectedCategory.equals("All") ? null : selectedCategory);
+        }
+    }
 
-            if (selectedCategory.equals("All")) {
-                refreshTransactionDisplay();
-            } else {
-                List<Transaction> filteredTransactions = tracker.getTransactionsByCategory(selectedCategory);
-
-                if (filteredTransactions.isEmpty()) {
-                    listModel.addElement("No transactions found for category: " + selectedCategory);
-                } else {
-                    for (Transaction transaction : filteredTransactions) {
-                        String displayText = formatTransactionForDisplay(transaction);
-                        listModel.addElement(displayText);
-                    }
-                }
-            }
+    /**
+     * Show the balance chart in a window of its own, which follows the
+     * tracker until it is closed
+     */
+    private void showBalanceChart() {
+        if (balanceChart != null) {
+            SwingUtilities.getWindowAncestor(balanceChart).toFront();
+            return;
         }
+        balanceChart = new BalanceChartPanel(() -> tracker);
+        JDialog dialog = new JDialog(this, "Balance Chart", false);
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                balanceChart = null;
+            }
+        });
+        dialog.add(balanceChart, BorderLayout.CENTER);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
     }
 
     /**
@@ -376,14 +459,21 @@ public class FinancialTrackerGUI extends JFrame {
                 JOptionPane.YES_NO_OPTION);
 
         if (result == JOptionPane.YES_OPTION) {
-            try {
-                jsonWriter.open();
-                jsonWriter.write(tracker);
-                jsonWriter.close();
-                JOptionPane.showMessageDialog(this, "Data saved successfully!");
-            } catch (FileNotFoundException e) {
-                JOptionPane.showMessageDialog(this, "Unable to save file: " + JSON_STORE);
-            }
+            new SaveWorker(commitStore(), false,
+                    () -> JOptionPane.showMessageDialog(this, "Data saved successfully!"),
+                    () -> JOptionPane.showMessageDialog(this, "Unable to save file: " + JSON_STORE)).execute();
+        }
+    }
+
+    /**
+     * Commit the store, returning a future that completes once the data is
+     * on disk or fails if it could not be written
+     */
+    private Future<Void> commitStore() {
+        try {
+            return store.commit();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
 
@@ -397,15 +487,261 @@ public class FinancialTrackerGUI extends JFrame {
 
         if (result == JOptionPane.YES_OPTION) {
             try {
-                tracker = jsonReader.read();
+                tracker = store.load();
                 refreshTransactionDisplay();
-                JOptionPane.showMessageDialog(this, "Data loaded successfully!");
+                JOptionPane.showMessageDialog(this, "Data loaded successfully!\n"
+                        + store.getLoadStrings().summary());
             } catch (IOException e) {
                 JOptionPane.showMessageDialog(this, "Unable to read from file: " + JSON_STORE);
             }
         }
     }
 
+    /**
+     * Show file chooser for a CSV bank statement and import its transactions
+     * in the background; rows that cannot be imported go to a reject file
+     * next to the statement
+     */
+    private void showImportDialog() {
+        JFileChooser chooser = new JFileChooser(".");
+        if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            String path = chooser.getSelectedFile().getPath();
+            new ImportWorker(new CsvImporter(path, path + ".rejects.csv"), path).execute();
+        }
+    }
+
+    /**
+     * Parses a CSV statement off the event dispatch thread and adds each
+     * batch of transactions to the tracker on the event dispatch thread
+     */
+    private class ImportWorker extends SwingWorker<Integer, Void> {
+
+        private final CsvImporter importer;
+        private final String path;
+
+        public ImportWorker(CsvImporter importer, String path) {
+            this.importer = importer;
+            this.path = path;
+        }
+
+        @Override
+        protected Integer doInBackground() throws IOException {
+            return importer.importTransactions(this::addOnEventThread);
+        }
+
+        /**
+         * Add batch to the tracker on the event dispatch thread and wait until
+         * it is there, so every batch is in the tracker before done() runs
+         */
+        private void addOnEventThread(List<Transaction> batch) {
+            try {
+                SwingUtilities.invokeAndWait(() -> tracker.addTransactions(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Import interrupted");
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        @Override
+        protected void done() {
+            try {
+                String message = "Imported " + get() + " transactions.";
+                if (importer.getRejectedCount() > 0) {
+                    message += "\n" + importer.getRejectedCount() + " rows could not be imported; see "
+                            + path + ".rejects.csv";
+                }
+                refreshTransactionDisplay();
+                JOptionPane.showMessageDialog(FinancialTrackerGUI.this, message);
+            } catch (InterruptedException | ExecutionException e) {
+                JOptionPane.showMessageDialog(FinancialTrackerGUI.this, "Unable to import file: " + path);
+            }
+        }
+    }
+
+    /**
+     * Show file chooser for an export file and write all transactions to it in
+     * the background, as JSON Lines if its name ends in .jsonl or as CSV
+     * otherwise
+     */
+    private void showExportDialog() {
+        JFileChooser chooser = new JFileChooser(".");
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String path = chooser.getSelectedFile().getPath();
+        TransactionExporter exporter = new TransactionExporter(path, path.toLowerCase().endsWith(".jsonl")
+                ? TransactionExporter.Format.JSON_LINES : TransactionExporter.Format.CSV);
+        FinancialTracker snapshot = tracker.snapshot();
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws IOException {
+                return exporter.export(snapshot);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    JOptionPane.showMessageDialog(FinancialTrackerGUI.this, "Exported " + get() + " transactions.");
+                } catch (InterruptedException | ExecutionException e) {
+                    JOptionPane.showMessageDialog(FinancialTrackerGUI.this, "Unable to write to file: " + path);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Show file chooser for a JSON Lines history and open it in the
+     * background; only its index is read, so large histories open at once
+     */
+    private void showBrowseHistoryDialog() {
+        JFileChooser chooser = new JFileChooser(".");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String path = chooser.getSelectedFile().getPath();
+        PagedTransactionFile file = new PagedTransactionFile(path);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                file.open();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    showHistoryBrowser(file, path);
+                } catch (InterruptedException | ExecutionException e) {
+                    JOptionPane.showMessageDialog(FinancialTrackerGUI.this, "Unable to read from file: " + path);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Show a read-only window listing the transactions of an open paged
+     * file, with totals taken from its page summaries. Rows have a fixed
+     * size so the list only asks for the rows it shows; the file is closed
+     * with the window
+     */
+    private void showHistoryBrowser(PagedTransactionFile file, String path) {
+        JList<String> list = new JList<>(new PagedListModel(file));
+        list.setPrototypeCellValue(prototypeRow());
+        JLabel totals = new JLabel(String.format("%d transactions    Income: $%.2f    Expenses: $%.2f",
+                file.getTransactionCount(), file.getTotalIncome(), file.getTotalExpenses()));
+        totals.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+        JDialog dialog = new JDialog(this, "History Browser - " + path, false);
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                try {
+                    file.close();
+                } catch (IOException ex) {
+                    // the file was only read, so there is nothing to lose
+                }
+            }
+        });
+        dialog.add(totals, BorderLayout.NORTH);
+        dialog.add(new JScrollPane(list), BorderLayout.CENTER);
+        dialog.setSize(700, 500);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * List model whose rows are read from a paged transaction file off the
+     * event dispatch thread. A row whose page is not in memory shows a
+     * placeholder while a worker formats that page and the one after it;
+     * the rows are refreshed when the page arrives, and only the most
+     * recently used pages are kept
+     */
+    private class PagedListModel extends AbstractListModel<String> {
+
+        private static final int CACHED_PAGES = 8;
+        private static final String LOADING = "Loading...";
+
+        private final PagedTransactionFile file;
+        private final Map<Integer, List<String>> pages;
+        private final Set<Integer> loading;
+
+        public PagedListModel(PagedTransactionFile file) {
+            this.file = file;
+            this.pages = new LinkedHashMap<Integer, List<String>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<String>> eldest) {
+                    return size() > CACHED_PAGES;
+                }
+            };
+            this.loading = new HashSet<>();
+        }
+
+        @Override
+        public int getSize() {
+            return file.getTransactionCount();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            int page = index / PagedTransactionFile.PAGE_SIZE;
+            List<String> rows = pages.get(page);
+            if (rows != null) {
+                return rows.get(index % PagedTransactionFile.PAGE_SIZE);
+            }
+            fetch(page);
+            fetch(page + 1);
+            return LOADING;
+        }
+
+        /**
+         * Format the rows of page on a worker thread unless it is already
+         * in memory, being fetched, or past the end of the file
+         */
+        private void fetch(int page) {
+            int first = page * PagedTransactionFile.PAGE_SIZE;
+            if (first >= getSize() || pages.containsKey(page) || !loading.add(page)) {
+                return;
+            }
+            int last = Math.min(first + PagedTransactionFile.PAGE_SIZE, getSize()) - 1;
+            new SwingWorker<List<String>, Void>() {
+                @Override
+                protected List<String> doInBackground() {
+                    return formatRows(first, last);
+                }
+
+                @Override
+                protected void done() {
+                    loading.remove(page);
+                    try {
+                        pages.put(page, get());
+                        fireContentsChanged(PagedListModel.this, first, last);
+                    } catch (InterruptedException | ExecutionException e) {
+                        // the page is fetched again when one of its rows is next shown
+                    }
+                }
+            }.execute();
+        }
+
+        /**
+         * Read and format the transactions from first to last inclusive
+         */
+        private List<String> formatRows(int first, int last) {
+            List<String> rows = new ArrayList<>(last - first + 1);
+            for (int i = first; i <= last; i++) {
+                try {
+                    rows.add(TransactionListModel.format(file.getTransaction(i)));
+                } catch (IOException e) {
+                    rows.add("Unable to read transaction " + (i + 1));
+                }
+            }
+            return rows;
+        }
+    }
+
     /**
      * Show exit confirmation dialog with save option
      */
@@ -415,25 +751,104 @@ public class FinancialTrackerGUI extends JFrame {
                 JOptionPane.YES_NO_CANCEL_OPTION);
 
         if (result == JOptionPane.YES_OPTION) {
-            try {
-                jsonWriter.open();
-                jsonWriter.write(tracker);
-                jsonWriter.close();
+            new SaveWorker(commitStore(), true, () -> {
                 JOptionPane.showMessageDialog(this, "Data saved successfully!");
-                printEventLogToConsole();
-                System.exit(0);
-            } catch (FileNotFoundException e) {
+                exitApplication();
+            }, () -> {
                 JOptionPane.showMessageDialog(this, "Unable to save file. Exit anyway?");
-                printEventLogToConsole();
-                System.exit(0);
-            }
+                exitApplication();
+            }).execute();
         } else if (result == JOptionPane.NO_OPTION) {
-            printEventLogToConsole();
-            System.exit(0);
+            closeStoreQuietly();
+            exitApplication();
         }
         // If CANCEL, do nothing (stay in application)
     }
 
+    /**
+     * Close the store without saving; changes since the last save are
+     * discarded the next time the data is loaded
+     */
+    private void closeStoreQuietly() {
+        try {
+            store.close();
+        } catch (IOException e) {
+            // a failed fold leaves the journal intact, so no saved data is lost
+        }
+    }
+
+    /**
+     * Print the event log to console and exit
+     */
+    private void exitApplication() {
+        printEventLogToConsole();
+        System.exit(0);
+    }
+
+    /**
+     * Waits off the event dispatch thread for a save to reach disk, then
+     * reports the outcome on the event dispatch thread
+     */
+    private class SaveWorker extends SwingWorker<Void, Void> {
+
+        private final Future<Void> saved;
+        private final boolean closeStore;
+        private final Runnable onSaved;
+        private final Runnable onFailed;
+
+        public SaveWorker(Future<Void> saved, boolean closeStore, Runnable onSaved, Runnable onFailed) {
+            this.saved = saved;
+            this.closeStore = closeStore;
+            this.onSaved = onSaved;
+            this.onFailed = onFailed;
+        }
+
+        @Override
+        protected Void doInBackground() throws Exception {
+            saved.get();
+            if (closeStore) {
+                store.close();
+            }
+            return null;
+        }
+
+        @Override
+        protected void done() {
+            try {
+                get();
+                onSaved.run();
+            } catch (InterruptedException | ExecutionException e) {
+                onFailed.run();
+            }
+        }
+    }
+
+    /**
+     * Shows the progress of background saves in the save progress bar
+     */
+    private class SaveProgressListener implements SaveListener {
+
+        @Override
+        public void saveProgress(long written, long total) {
+            int percent = total == 0 ? 100 : (int) (written * 100 / total);
+            SwingUtilities.invokeLater(() -> {
+                saveProgressBar.setVisible(true);
+                saveProgressBar.setValue(percent);
+                saveProgressBar.setString("Saving... " + percent + "%");
+            });
+        }
+
+        @Override
+        public void saveCompleted() {
+            SwingUtilities.invokeLater(() -> saveProgressBar.setVisible(false));
+        }
+
+        @Override
+        public void saveFailed(IOException e) {
+            SwingUtilities.invokeLater(() -> saveProgressBar.setVisible(false));
+        }
+    }
+
     /**
      * Handle window closing event - print event log and exit
      */
@@ -442,44 +857,50 @@ public class FinancialTrackerGUI extends JFrame {
     }
 
     /**
-     * Refresh the transaction display with current tracker data
+     * Refresh the transaction display with current tracker data; the list
+     * follows changes to the tracker by itself, so only a replaced tracker
+     * has to be handed to it
      */
     private void refreshTransactionDisplay() {
-        listModel.clear();
-        List<Transaction> transactions = tracker.getTransactions();
-
-        if (transactions.isEmpty()) {
-            listModel.addElement("No transactions yet. Add some transactions to get started!");
-        } else {
-            for (Transaction transaction : transactions) {
-                String displayText = formatTransactionForDisplay(transaction);
-                listModel.addElement(displayText);
-            }
+        if (listModel.getTracker() != tracker) {
+            listModel.setTracker(tracker);
+            tableModel.setTracker(tracker);
         }
 
-        // Refresh the visual component
+        // Refresh the visual components
         summaryPanel.repaint();
+        if (balanceChart != null) {
+            balanceChart.repaint();
+        }
     }
 
     /**
-     * Format a transaction for display in the list
+     * Row as wide and tall as any the transaction lists show, so that lists
+     * size their cells without formatting every row
      */
-    private String formatTransactionForDisplay(Transaction transaction) {
-        String sign = transaction.getAmount() >= 0 ? "+" : "";
-        return String.format("%s$%.2f - %s (%s) [%s]",
-                sign, transaction.getAmount(), transaction.getCategory(),
-                transaction.getDate(), transaction.getDescription());
+    private String prototypeRow() {
+        return TransactionListModel.format(
+                new Transaction(-10000.00, "Prototype transaction description", "Transportation", LocalDate.now()));
     }
 
     /**
      * Custom panel that displays financial summary with visual chart This
-     * satisfies the GUI visual component requirement
+     * satisfies the GUI visual component requirement. The summary is drawn
+     * into an image that is kept until the tracker changes or the panel is
+     * resized, so repaints only copy the image, and the totals it shows are
+     * the tracker's running totals rather than a scan of the history
      */
     private class FinancialSummaryPanel extends JPanel {
 
         private static final int PANEL_WIDTH = 250;
         private static final int PANEL_HEIGHT = 300;
 
+        private final Font titleFont = new Font("Arial", Font.BOLD, 14);
+        private final Font textFont = new Font("Arial", Font.PLAIN, 12);
+        private BufferedImage image;
+        private FinancialTracker renderedTracker;
+        private long renderedVersion;
+
         public FinancialSummaryPanel() {
             setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
             setBorder(BorderFactory.createTitledBorder("Financial Summary"));
@@ -490,62 +911,67 @@ public class FinancialTrackerGUI extends JFrame {
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
 
-            if (tracker == null) {
+            if (tracker == null || getWidth() <= 0 || getHeight() <= 0) {
                 return;
             }
+            if (image == null || image.getWidth() != getWidth() || image.getHeight() != getHeight()
+                    || renderedTracker != tracker || renderedVersion != tracker.getVersion()) {
+                renderSummary();
+            }
+            g.drawImage(image, 0, 0, null);
+        }
 
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            drawFinancialSummary(g2d);
-            drawBarChart(g2d);
-            drawTransactionCount(g2d);
+        /**
+         * Draw the summary of the current tracker into the cached image,
+         * reusing the image unless the panel has been resized
+         */
+        private void renderSummary() {
+            if (image == null || image.getWidth() != getWidth() || image.getHeight() != getHeight()) {
+                image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+            }
+            Graphics2D g2d = image.createGraphics();
+            try {
+                g2d.setColor(getBackground());
+                g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                drawFinancialSummary(g2d);
+                drawBarChart(g2d);
+                drawTransactionCount(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            renderedTracker = tracker;
+            renderedVersion = tracker.getVersion();
         }
 
         /**
          * Draw financial summary text
          */
         private void drawFinancialSummary(Graphics2D g2d) {
-            double[] amounts = calculateFinancialAmounts();
-            double totalIncome = amounts[0];
-            double totalExpenses = amounts[1];
-            double balance = amounts[2];
+            double totalIncome = tracker.getTotalIncome();
+            double totalExpenses = tracker.getTotalExpenses();
+            double balance = totalIncome - totalExpenses;
 
             // Draw title
-            g2d.setFont(new Font("Arial", Font.BOLD, 14));
+            g2d.setFont(titleFont);
             g2d.setColor(Color.BLACK);
             g2d.drawString("Financial Overview", 10, 30);
 
             // Draw text summary
-            g2d.setFont(new Font("Arial", Font.PLAIN, 12));
+            g2d.setFont(textFont);
             g2d.drawString(String.format("Total Income: $%.2f", totalIncome), 10, 50);
             g2d.drawString(String.format("Total Expenses: $%.2f", totalExpenses), 10, 70);
             g2d.setColor(balance >= 0 ? Color.GREEN : Color.RED);
             g2d.drawString(String.format("Balance: $%.2f", balance), 10, 90);
         }
 
-        /**
-         * Calculate financial amounts
-         */
-        private double[] calculateFinancialAmounts() {
-            double totalIncome = tracker.getTotalIncome();
-            double totalExpenses = 0.0;
-            for (Transaction t : tracker.getTransactions()) {
-                if (t.getAmount() < 0) {
-                    totalExpenses += Math.abs(t.getAmount());
-                }
-            }
-            double balance = totalIncome - totalExpenses;
-            return new double[]{totalIncome, totalExpenses, balance};
-        }
-
         /**
          * Draw bar chart for income and expenses
          */
         private void drawBarChart(Graphics2D g2d) {
-            double[] amounts = calculateFinancialAmounts();
-            double totalIncome = amounts[0];
-            double totalExpenses = amounts[1];
+            double totalIncome = tracker.getTotalIncome();
+            double totalExpenses = tracker.getTotalExpenses();
 
             int chartY = 110;
             int barHeight = 25;
@@ -599,52 +1025,7 @@ public class FinancialTrackerGUI extends JFrame {
      * Show dialog displaying the event log
      */
     private void showEventLogDialog() {
-        StringBuilder eventText = new StringBuilder();
-        eventText.append("Event Log:\n");
-        eventText.append("----------\n\n");
-
-        boolean hasEvents = false;
-        for (Event event : EventLog.getInstance()) {
-            eventText.append(event.toString()).append("\n\n");
-            hasEvents = true;
-        }
-
-        if (!hasEvents) {
-            eventText.append("No events logged yet.");
-        }
-
-        JTextArea textArea = new JTextArea(eventText.toString());
-        textArea.setEditable(false);
-        textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
-        textArea.setCaretPosition(0);
-
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        scrollPane.setPreferredSize(new Dimension(600, 400));
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
-
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.add(scrollPane, BorderLayout.CENTER);
-
-        JPanel buttonPanel = new JPanel(new FlowLayout());
-        JButton clearButton = new JButton("Clear Event Log");
-        clearButton.addActionListener(e -> {
-            int result = JOptionPane.showConfirmDialog(this,
-                    "Are you sure you want to clear the event log?",
-                    "Clear Event Log",
-                    JOptionPane.YES_NO_OPTION);
-            if (result == JOptionPane.YES_OPTION) {
-                EventLog.getInstance().clear();
-                JOptionPane.showMessageDialog(this, "Event log cleared!");
-                // Close the current dialog and reopen it to show the cleared log
-                SwingUtilities.getWindowAncestor(clearButton).dispose();
-                showEventLogDialog();
-            }
-        });
-        buttonPanel.add(clearButton);
-        panel.add(buttonPanel, BorderLayout.SOUTH);
-
-        JOptionPane.showMessageDialog(this, panel, "Financial Tracker Event Log",
-                JOptionPane.INFORMATION_MESSAGE);
+        new EventLogViewer(this).setVisible(true);
     }
 
     /**
@@ -660,11 +1041,10 @@ public class FinancialTrackerGUI extends JFrame {
     }
 
     /**
-     * Main method to run the GUI application
+     * Main method to run the GUI application, loading the saved data behind
+     * the loading screen first
      */
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            new FinancialTrackerGUI();
-        });
+        SwingUtilities.invokeLater(LoadingScreen::new);
     }
 }
@@ -2,17 +2,22 @@ package ui;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import model.FinancialTracker;
+import persistence.JournaledStore;
 
 /**
- * Very simple loading screen for the Financial Tracker application.
+ * Very simple loading screen for the Financial Tracker application, shown
+ * while the saved data is loaded.
  */
 public class LoadingScreen extends JFrame {
     
     private static final int WINDOW_WIDTH = 600;
     private static final int WINDOW_HEIGHT = 400;
     private JProgressBar progressBar;
-    private Timer progressTimer;
-    private int progress = 0;
     
     public LoadingScreen() {
         initializeScreen();
@@ -100,27 +105,90 @@ public class LoadingScreen extends JFrame {
         progressBar.setOpaque(false);
     }
     
+    /**
+     * EFFECTS: shows the loading screen and starts loading the saved data in
+     * the background
+     */
     private void showLoadingScreen() {
         setVisible(true);
-        
-        // Progress bar animation timer
-        progressTimer = new Timer(30, e -> {
-            progress += 2;
-            progressBar.setValue(progress);
-            progressBar.setString("Loading... " + progress + "%");
-            
-            if (progress >= 100) {
-                progressTimer.stop();
-                // Close loading screen and open main app
-                Timer closeTimer = new Timer(500, closeEvent -> {
-                    setVisible(false);
-                    dispose();
-                    new FinancialTrackerGUI();
-                });
-                closeTimer.setRepeats(false);
-                closeTimer.start();
+        new StartupLoader(new JournaledStore(FinancialTrackerGUI.JSON_STORE)).execute();
+    }
+
+    /**
+     * Loads the saved financial history off the event dispatch thread, showing
+     * how much of the file has been parsed, and opens the main window as soon
+     * as the data is ready. Without a saved file the main window opens with no
+     * transactions. If the file cannot be read it is renamed aside first, so
+     * that saving the empty tracker starts a new file rather than replacing
+     * it; if it cannot be renamed either, the application stops
+     */
+    private class StartupLoader extends SwingWorker<FinancialTracker, Void> {
+
+        private final JournaledStore store;
+        private String movedTo;
+
+        public StartupLoader(JournaledStore store) {
+            this.store = store;
+            addPropertyChangeListener(e -> {
+                if ("progress".equals(e.getPropertyName())) {
+                    progressBar.setValue(getProgress());
+                    progressBar.setString("Loading... " + getProgress() + "%");
+                }
+            });
+        }
+
+        @Override
+        protected FinancialTracker doInBackground() throws IOException {
+            if (!Files.exists(Paths.get(FinancialTrackerGUI.JSON_STORE))) {
+                return null;
             }
-        });
-        progressTimer.start();
+            try {
+                return store.load((done, total) -> setProgress(total == 0 ? 100 : (int) (done * 100 / total)));
+            } catch (IOException | RuntimeException e) {
+                try {
+                    movedTo = store.moveAside(".unreadable-" + System.currentTimeMillis());
+                } catch (IOException moveFailure) {
+                    e.addSuppressed(moveFailure);
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        protected void done() {
+            FinancialTracker tracker = null;
+            String failure = null;
+            try {
+                tracker = get();
+            } catch (InterruptedException | ExecutionException e) {
+                failure = "Unable to read from file: " + FinancialTrackerGUI.JSON_STORE;
+            }
+            setVisible(false);
+            dispose();
+            if (failure != null && movedTo == null) {
+                stop(failure);
+                return;
+            }
+            if (tracker == null) {
+                tracker = new FinancialTracker();
+                store.attach(tracker);
+            }
+            FinancialTrackerGUI gui = new FinancialTrackerGUI(tracker, store);
+            if (failure != null) {
+                JOptionPane.showMessageDialog(gui, failure + "\nIt was moved to " + movedTo
+                        + " and saving will start a new file.");
+            }
+        }
+
+        /**
+         * Tell the user the saved file could neither be read nor moved aside,
+         * and stop without opening the main window, so nothing can overwrite
+         * the file
+         */
+        private void stop(String failure) {
+            JOptionPane.showMessageDialog(null, failure + "\nIt could not be moved aside either, so the "
+                    + "application will close to keep it from being overwritten.");
+            System.exit(1);
+        }
     }
 }
@@ -1,9 +1,11 @@
 package ui;
 
+import javax.swing.SwingUtilities;
+
 public class Main {
 
     // run application
     public static void main(String[] args) throws Exception {
-        new LoadingScreen();
+        SwingUtilities.invokeLater(LoadingScreen::new);
     }
 }
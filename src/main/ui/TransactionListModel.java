@@ -0,0 +1,298 @@
+package ui;
+
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.AbstractListModel;
+import model.FinancialTracker;
+import model.TrackerListener;
+import model.Transaction;
+import model.TransactionQuery;
+
+/**
+ * List model that shows the transactions of a financial tracker, optionally
+ * only those matching a query, without copying them. Rows are read from the
+ * tracker by index and formatted only when the list asks for them, which with
+ * a fixed cell size is only for visible rows; the text of recently shown
+ * transactions is kept in a small cache. The model listens to the tracker and
+ * fires an interval event for each change instead of rebuilding the list.
+ * When no transaction matches, the model holds a single placeholder row.
+ * The tracker must only be changed on the event dispatch thread.
+ */
+public class TransactionListModel extends AbstractListModel<String> implements TrackerListener {
+
+    private static final int CACHE_SIZE = 512;
+    private static final int INITIAL_ROWS = 64;
+
+    private FinancialTracker tracker;
+    private TransactionQuery query;
+    private int[] rows;
+    private int rowCount;
+    private Transaction[] cachedTransactions;
+    private String[] cachedText;
+
+    /**
+     * EFFECTS: constructs model showing every transaction of tracker
+     */
+    public TransactionListModel(FinancialTracker tracker) {
+        rows = new int[INITIAL_ROWS];
+        cachedTransactions = new Transaction[CACHE_SIZE];
+        cachedText = new String[CACHE_SIZE];
+        setTracker(tracker);
+    }
+
+    /**
+     * EFFECTS: returns transaction as a row of the list
+     */
+    public static String format(Transaction transaction) {
+        String sign = transaction.getAmount() >= 0 ? "+" : "";
+        return String.format("%s$%.2f - %s (%s) [%s]",
+                sign, transaction.getAmount(), transaction.getCategory(),
+                transaction.getDate(), transaction.getDescription());
+    }
+
+    /**
+     * EFFECTS: returns tracker shown by this model
+     */
+    public FinancialTracker getTracker() {
+        return tracker;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows the transactions of tracker instead, following its later
+     * changes rather than those of the previous tracker
+     */
+    public void setTracker(FinancialTracker tracker) {
+        int oldSize = 0;
+        if (this.tracker != null) {
+            oldSize = getSize();
+            this.tracker.removeListener(this);
+        }
+        this.tracker = tracker;
+        tracker.addListener(this);
+        findRows();
+        fireReplaced(oldSize);
+    }
+
+    /**
+     * EFFECTS: returns query whose matches are shown, or null if every
+     * transaction is
+     */
+    public TransactionQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows only the transactions matching query, or all of them if
+     * query is null or matches everything, finding them with one pass over
+     * the tracker
+     */
+    public void setQuery(TransactionQuery query) {
+        int oldSize = getSize();
+        this.query = query == null || query.isAll() ? null : query;
+        findRows();
+        fireReplaced(oldSize);
+    }
+
+    /**
+     * REQUIRES: rows holds, in order, the tracker indices of the transactions
+     * matching query, found since the tracker last changed
+     * MODIFIES: this
+     * EFFECTS: shows the transactions at rows as the matches of query
+     */
+    public void showResult(TransactionQuery query, int[] rows) {
+        int oldSize = getSize();
+        this.query = query.isAll() ? null : query;
+        this.rows = Arrays.copyOf(rows, Math.max(INITIAL_ROWS, rows.length));
+        rowCount = this.query == null ? 0 : rows.length;
+        fireReplaced(oldSize);
+    }
+
+    /**
+     * EFFECTS: returns number of transactions shown, not counting the
+     * placeholder row
+     */
+    public int getMatchCount() {
+        return query == null ? tracker.getTransactionCount() : rowCount;
+    }
+
+    @Override
+    public int getSize() {
+        return Math.max(1, getMatchCount());
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        if (getMatchCount() == 0) {
+            if (query == null) {
+                return "No transactions yet. Add some transactions to get started!";
+            }
+            return query.isCategoryOnly() ? "No transactions found for category: " + query.getCategory()
+                    : "No transactions match the search";
+        }
+        Transaction transaction = tracker.getTransaction(query == null ? index : rows[index]);
+        int slot = System.identityHashCode(transaction) & (CACHE_SIZE - 1);
+        if (cachedTransactions[slot] != transaction) {
+            cachedTransactions[slot] = transaction;
+            cachedText[slot] = format(transaction);
+        }
+        return cachedText[slot];
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows the added transactions that match, shifting the rows
+     * after them, and fires an interval event for the rows they take
+     */
+    @Override
+    public void transactionsAdded(int fromIndex, List<Transaction> added) {
+        int matchesBefore = query == null ? tracker.getTransactionCount() - added.size() : rowCount;
+        int first = fromIndex;
+        int count = added.size();
+        if (query != null) {
+            first = rowAtOrAfter(fromIndex);
+            shiftRows(first, count);
+            count = insertRows(first, fromIndex, added);
+        }
+        if (count == 0) {
+            return;
+        }
+        if (matchesBefore == 0) {
+            fireContentsChanged(this, 0, 0);
+            first++;
+            count--;
+        }
+        if (count > 0) {
+            fireIntervalAdded(this, first, first + count - 1);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: drops the row of the removed transaction, if it was shown,
+     * shifting the rows after it, and fires an interval event for it
+     */
+    @Override
+    public void transactionRemoved(int index, Transaction removed) {
+        int row = index;
+        if (query != null) {
+            row = rowAtOrAfter(index);
+            boolean shown = row < rowCount && rows[row] == index;
+            if (shown) {
+                System.arraycopy(rows, row + 1, rows, row, rowCount - row - 1);
+                rowCount--;
+            }
+            shiftRows(row, -1);
+            if (!shown) {
+                return;
+            }
+        }
+        if (getMatchCount() == 0) {
+            fireContentsChanged(this, 0, 0);
+        } else {
+            fireIntervalRemoved(this, row, row);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: drops every row, leaving the placeholder row
+     */
+    @Override
+    public void transactionsCleared(int count) {
+        int matchesBefore = query == null ? count : rowCount;
+        rowCount = 0;
+        if (matchesBefore > 1) {
+            fireIntervalRemoved(this, 1, matchesBefore - 1);
+        }
+        if (matchesBefore > 0) {
+            fireContentsChanged(this, 0, 0);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: finds the tracker indices of the transactions matching the
+     * query, if the model is filtered
+     */
+    private void findRows() {
+        rowCount = 0;
+        if (query == null) {
+            return;
+        }
+        int count = tracker.getTransactionCount();
+        for (int i = 0; i < count; i++) {
+            if (query.matches(tracker.getTransaction(i))) {
+                appendRow(i);
+            }
+        }
+    }
+
+    /**
+     * EFFECTS: returns the first row whose tracker index is at least index
+     */
+    private int rowAtOrAfter(int index) {
+        int found = Arrays.binarySearch(rows, 0, rowCount, index);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: adds delta to the tracker index of every row from first on
+     */
+    private void shiftRows(int first, int delta) {
+        for (int row = first; row < rowCount; row++) {
+            rows[row] += delta;
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: inserts at row the tracker indices of the added transactions
+     * matching the query, the first of which is at fromIndex, and returns how many
+     * were inserted
+     */
+    private int insertRows(int row, int fromIndex, List<Transaction> added) {
+        int tail = rowCount - row;
+        int[] after = Arrays.copyOfRange(rows, row, rowCount);
+        rowCount = row;
+        for (int i = 0; i < added.size(); i++) {
+            if (query.matches(added.get(i))) {
+                appendRow(fromIndex + i);
+            }
+        }
+        int inserted = rowCount - row;
+        for (int i = 0; i < tail; i++) {
+            appendRow(after[i]);
+        }
+        return inserted;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: adds a row showing the transaction at tracker index
+     */
+    private void appendRow(int index) {
+        if (rowCount == rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(INITIAL_ROWS, rowCount * 2));
+        }
+        rows[rowCount++] = index;
+    }
+
+    /**
+     * EFFECTS: tells listeners that every row may have changed and that the
+     * list went from oldSize rows to its current size
+     */
+    private void fireReplaced(int oldSize) {
+        int newSize = getSize();
+        if (newSize < oldSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        } else if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        }
+        if (oldSize > 0) {
+            fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+        }
+    }
+}
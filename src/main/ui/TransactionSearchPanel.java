@@ -0,0 +1,273 @@
+package ui;
+
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutionException;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import model.FinancialTracker;
+import model.Transaction;
+import model.TransactionQuery;
+import model.TransactionSearch;
+
+/**
+ * Search bar that filters a transaction list as the user types. Typing is
+ * debounced, so a burst of keystrokes starts one search; the search runs on
+ * a background thread and is cancelled when a newer one starts. Each search
+ * goes through a TransactionSearch, so a query that narrows the previous one
+ * only checks the previous matches. Searches scan a copy of the transactions
+ * taken on the event dispatch thread, which is taken again only after the
+ * tracker changes, so the tracker can change while a search runs.
+ */
+public class TransactionSearchPanel extends JPanel {
+
+    private static final int DEBOUNCE_MS = 30;
+    private static final String ALL = "All";
+
+    private final TransactionListModel model;
+    private final JTextField textField;
+    private final JComboBox<String> categoryBox;
+    private final JTextField minField;
+    private final JTextField maxField;
+    private final JTextField fromField;
+    private final JTextField toField;
+    private final JLabel statusLabel;
+    private final Timer debounce;
+    private TransactionSearch search;
+    private Transaction[] snapshot;
+    private long snapshotVersion;
+    private SearchWorker running;
+
+    /**
+     * EFFECTS: constructs search bar filtering the rows of model, offering
+     * "All" and the given categories to choose from
+     */
+    public TransactionSearchPanel(TransactionListModel model, String[] categories) {
+        super(new GridLayout(2, 1));
+        this.model = model;
+        textField = new JTextField(12);
+        categoryBox = new JComboBox<>();
+        categoryBox.addItem(ALL);
+        for (String category : categories) {
+            categoryBox.addItem(category);
+        }
+        minField = new JTextField(5);
+        maxField = new JTextField(5);
+        fromField = new JTextField(7);
+        toField = new JTextField(7);
+        statusLabel = new JLabel(" ");
+        debounce = new Timer(DEBOUNCE_MS, e -> startSearch());
+        debounce.setRepeats(false);
+        layoutFields();
+        addListeners();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: clears every criterion but the category and searches for the
+     * transactions in category, or for all of them if category is null
+     */
+    public void showCategory(String category) {
+        for (JTextField field : new JTextField[]{textField, minField, maxField, fromField, toField}) {
+            field.setText("");
+        }
+        categoryBox.setSelectedItem(category == null ? ALL : category);
+        startSearch();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: adds the labelled fields to the bar
+     */
+    private void layoutFields() {
+        JPanel textRow = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        textRow.add(new JLabel("Search:"));
+        textRow.add(textField);
+        textRow.add(categoryBox);
+        textRow.add(statusLabel);
+        JPanel rangeRow = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        rangeRow.add(new JLabel("Amount:"));
+        rangeRow.add(minField);
+        rangeRow.add(new JLabel("to"));
+        rangeRow.add(maxField);
+        rangeRow.add(new JLabel("Dates:"));
+        rangeRow.add(fromField);
+        rangeRow.add(new JLabel("to"));
+        rangeRow.add(toField);
+        add(textRow);
+        add(rangeRow);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: restarts the debounce timer whenever a criterion changes
+     */
+    private void addListeners() {
+        DocumentListener changed = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+        };
+        for (JTextField field : new JTextField[]{textField, minField, maxField, fromField, toField}) {
+            field.getDocument().addDocumentListener(changed);
+        }
+        categoryBox.addActionListener(e -> debounce.restart());
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: cancels the running search, if any, and starts one for the
+     * current criteria; a query matching everything is shown at once
+     */
+    private void startSearch() {
+        debounce.stop();
+        TransactionQuery query;
+        try {
+            query = readQuery();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            showStatus("Enter amounts as numbers and dates as YYYY-MM-DD", Color.RED);
+            return;
+        }
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+        if (query.isAll()) {
+            model.setQuery(null);
+            showStatus(" ", Color.BLACK);
+            return;
+        }
+        running = createWorker(query);
+        running.execute();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: returns worker searching for query over a copy of the shown
+     * tracker's transactions, copying them again only if the tracker was
+     * replaced or has changed since the last copy
+     */
+    private SearchWorker createWorker(TransactionQuery query) {
+        FinancialTracker tracker = model.getTracker();
+        if (search == null || search.getTracker() != tracker) {
+            search = new TransactionSearch(tracker);
+            snapshot = null;
+        }
+        if (snapshot == null || snapshotVersion != tracker.getVersion()) {
+            snapshot = tracker.getTransactions().toArray(new Transaction[0]);
+            snapshotVersion = tracker.getVersion();
+        }
+        return new SearchWorker(search, query, snapshot, snapshotVersion);
+    }
+
+    /**
+     * EFFECTS: returns query for the current criteria; throws
+     * NumberFormatException or DateTimeParseException if an amount or date
+     * cannot be parsed
+     */
+    private TransactionQuery readQuery() {
+        String category = (String) categoryBox.getSelectedItem();
+        return new TransactionQuery(ALL.equals(category) ? null : category, textField.getText().trim(),
+                parseAmount(minField, Double.NEGATIVE_INFINITY), parseAmount(maxField, Double.POSITIVE_INFINITY),
+                parseDate(fromField), parseDate(toField));
+    }
+
+    /**
+     * EFFECTS: returns amount entered in field, or unset if it is blank
+     */
+    private static double parseAmount(JTextField field, double unset) {
+        String text = field.getText().trim();
+        return text.isEmpty() ? unset : Double.parseDouble(text);
+    }
+
+    /**
+     * EFFECTS: returns date entered in field, or null if it is blank
+     */
+    private static LocalDate parseDate(JTextField field) {
+        String text = field.getText().trim();
+        return text.isEmpty() ? null : LocalDate.parse(text);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows text in the status label in color
+     */
+    private void showStatus(String text, Color color) {
+        statusLabel.setForeground(color);
+        statusLabel.setText(text);
+    }
+
+    /**
+     * Runs one search off the event dispatch thread over a copy of the
+     * transactions and shows its result in the list, unless a newer search
+     * has started, or the tracker changed while it ran, in which case the
+     * search is started again. A search that fails is reported in the status
+     * label rather than retried
+     */
+    private class SearchWorker extends SwingWorker<int[], Void> {
+
+        private final TransactionSearch search;
+        private final TransactionQuery query;
+        private final Transaction[] transactions;
+        private final long version;
+        private final long started;
+
+        public SearchWorker(TransactionSearch search, TransactionQuery query, Transaction[] transactions,
+                            long version) {
+            this.search = search;
+            this.query = query;
+            this.transactions = transactions;
+            this.version = version;
+            this.started = System.nanoTime();
+        }
+
+        @Override
+        protected int[] doInBackground() {
+            return search.search(query, transactions, version, this::isCancelled);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() || running != this) {
+                return;
+            }
+            running = null;
+            FinancialTracker tracker = search.getTracker();
+            try {
+                int[] rows = get();
+                if (tracker != model.getTracker() || tracker.getVersion() != version) {
+                    startSearch();
+                    return;
+                }
+                model.showResult(query, rows);
+                showStatus(String.format("%,d matches in %d ms", rows.length,
+                        (System.nanoTime() - started) / 1_000_000), Color.BLACK);
+                if (query.isCategoryOnly()) {
+                    FinancialTracker.logCategoryFilter(query.getCategory(), rows.length);
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                showStatus("Search failed: " + (e.getCause() != null ? e.getCause() : e), Color.RED);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package ui;
+
+import java.time.LocalDate;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+import model.FinancialTracker;
+import model.TrackerListener;
+import model.Transaction;
+import model.TransactionPermutations;
+import model.TransactionPermutations.Key;
+
+/**
+ * Table model showing the transactions of a financial tracker in columns,
+ * sortable by any column. Rows are read from the tracker through the cached
+ * sort permutation of the sort column, so sorting compares transaction fields
+ * once per column and later switches between columns or directions only
+ * change which permutation is read. The model listens to the tracker and keeps
+ * the permutations up to date before telling the table about a change. The
+ * tracker must only be changed on the event dispatch thread.
+ */
+public class TransactionTableModel extends AbstractTableModel implements TrackerListener {
+
+    private static final Key[] COLUMNS = {Key.DATE, Key.AMOUNT, Key.CATEGORY, Key.DESCRIPTION};
+    private static final String[] NAMES = {"Date", "Amount", "Category", "Description"};
+
+    private FinancialTracker tracker;
+    private TransactionPermutations permutations;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+
+    /**
+     * EFFECTS: constructs unsorted model showing the transactions of tracker
+     */
+    public TransactionTableModel(FinancialTracker tracker) {
+        setTracker(tracker);
+    }
+
+    /**
+     * EFFECTS: returns tracker shown by this model
+     */
+    public FinancialTracker getTracker() {
+        return tracker;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: shows the transactions of tracker instead, in the same sort
+     * order, following its later changes rather than those of the previous
+     * tracker
+     */
+    public void setTracker(FinancialTracker tracker) {
+        if (this.tracker != null) {
+            this.tracker.removeListener(this);
+        }
+        this.tracker = tracker;
+        permutations = new TransactionPermutations(tracker);
+        tracker.addListener(this);
+        fireTableDataChanged();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: sorts by column, ascending, or flips the direction if already
+     * sorted by it
+     */
+    public void sortBy(int column) {
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        fireTableDataChanged();
+    }
+
+    /**
+     * EFFECTS: returns column the rows are sorted by, or -1 if they are in
+     * tracker order
+     */
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    /**
+     * EFFECTS: returns true if the rows are sorted in ascending order
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * EFFECTS: returns transaction shown at row
+     */
+    public Transaction getTransactionAt(int row) {
+        if (sortColumn < 0) {
+            return tracker.getTransaction(row);
+        }
+        return tracker.getTransaction(permutations.indexAt(COLUMNS[sortColumn], ascending, row));
+    }
+
+    @Override
+    public int getRowCount() {
+        return tracker.getTransactionCount();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column != sortColumn) {
+            return NAMES[column];
+        }
+        return NAMES[column] + (ascending ? " \u25B2" : " \u25BC");
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        switch (COLUMNS[column]) {
+            case DATE:
+                return LocalDate.class;
+            case AMOUNT:
+                return Double.class;
+            default:
+                return String.class;
+        }
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Transaction transaction = getTransactionAt(row);
+        switch (COLUMNS[column]) {
+            case DATE:
+                return transaction.getDate();
+            case AMOUNT:
+                return transaction.getAmount();
+            case CATEGORY:
+                return transaction.getCategory();
+            default:
+                return transaction.getDescription();
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: merges the added transactions into the sort permutations and
+     * tells the table, with an insert event for the new rows if unsorted
+     */
+    @Override
+    public void transactionsAdded(int fromIndex, List<Transaction> added) {
+        permutations.transactionsAdded(fromIndex, added);
+        if (sortColumn < 0) {
+            fireTableRowsInserted(fromIndex, fromIndex + added.size() - 1);
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: drops the removed transaction from the sort permutations and
+     * tells the table
+     */
+    @Override
+    public void transactionRemoved(int index, Transaction removed) {
+        permutations.transactionRemoved(index, removed);
+        if (sortColumn < 0) {
+            fireTableRowsDeleted(index, index);
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: empties the sort permutations and tells the table
+     */
+    @Override
+    public void transactionsCleared(int count) {
+        permutations.transactionsCleared(count);
+        fireTableDataChanged();
+    }
+}
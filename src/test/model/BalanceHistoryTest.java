@@ -0,0 +1,66 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+
+public class BalanceHistoryTest {
+
+    private FinancialTracker tracker;
+    private LocalDate start;
+
+    @BeforeEach
+    void runBefore() {
+        tracker = new FinancialTracker();
+        start = LocalDate.of(2025, 1, 1);
+        tracker.addTransaction(new Transaction(1000, "Salary", "Salary", start));
+        tracker.addTransaction(new Transaction(-300, "Rent", "Rent", start.plusDays(10)));
+        tracker.addTransaction(new Transaction(-50, "Groceries", "Food", start));
+        tracker.addTransaction(new Transaction(-200, "Concert", "Entertainment", start.plusDays(5)));
+    }
+
+    @Test
+    void testEmpty() {
+        BalanceHistory history = new BalanceHistory(new FinancialTracker());
+        assertEquals(0, history.getDayCount());
+        assertEquals(0, history.balanceOn(start));
+    }
+
+    @Test
+    void testBucketsByDay() {
+        BalanceHistory history = new BalanceHistory(tracker);
+        assertEquals(3, history.getDayCount());
+        assertEquals(start.toEpochDay(), history.getFirstDay());
+        assertEquals(start.plusDays(10).toEpochDay(), history.getLastDay());
+        assertEquals(0, history.balanceOn(start.minusDays(1)));
+        assertEquals(950, history.balanceOn(start));
+        assertEquals(950, history.balanceOn(start.plusDays(4)));
+        assertEquals(750, history.balanceOn(start.plusDays(5)));
+        assertEquals(450, history.balanceOn(start.plusDays(30)));
+    }
+
+    @Test
+    void testDownsample() {
+        BalanceHistory history = new BalanceHistory(tracker);
+        double[] low = new double[4];
+        double[] high = new double[4];
+        long first = start.toEpochDay();
+        history.downsample(first - 1, first + 11, low, high);
+        assertArrayEquals(new double[]{0, 950, 750, 450}, low);
+        assertArrayEquals(new double[]{950, 950, 950, 750}, high);
+    }
+
+    @Test
+    void testDownsampleWithinOneDay() {
+        BalanceHistory history = new BalanceHistory(tracker);
+        double[] low = new double[3];
+        double[] high = new double[3];
+        long first = start.toEpochDay();
+        history.downsample(first + 6, first + 6.5, low, high);
+        assertArrayEquals(new double[]{750, 750, 750}, low);
+        assertArrayEquals(new double[]{750, 750, 750}, high);
+    }
+}
@@ -0,0 +1,46 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+public class EventLogTest {
+
+    private EventLog log;
+
+    @BeforeEach
+    void runBefore() {
+        log = EventLog.getInstance();
+        log.clear();
+        log.logEvent(new Event("Transaction added: Groceries"));
+        log.logEvent(new Event("Transactions filtered by category: Food"));
+        log.logEvent(new Event("Transaction added: Rent"));
+    }
+
+    @Test
+    void testGetEvent() {
+        assertEquals(4, log.getEventCount());
+        assertEquals("Event log cleared.", log.getEvent(0).getDescription());
+        assertEquals("Transaction added: Rent", log.getEvent(3).getDescription());
+    }
+
+    @Test
+    void testFindEvent() {
+        assertEquals(1, log.findEvent("transaction ADDED", 0));
+        assertEquals(3, log.findEvent("transaction added", 2));
+        assertEquals(-1, log.findEvent("transaction added", 4));
+        assertEquals(-1, log.findEvent("Salary", 0));
+    }
+
+    @Test
+    void testIndexAt() {
+        Date first = log.getEvent(0).getDate();
+        Date last = log.getEvent(3).getDate();
+        assertEquals(0, log.indexAt(new Date(first.getTime() - 1000)));
+        assertEquals(0, log.indexAt(first));
+        assertEquals(4, log.indexAt(new Date(last.getTime() + 1)));
+    }
+}
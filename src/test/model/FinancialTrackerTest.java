@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 public class FinancialTrackerTest {
@@ -70,6 +71,20 @@ public class FinancialTrackerTest {
 
     }
 
+    @Test
+    void testGetTransactionsBetween() {
+        tracker.addTransaction(income1);
+        tracker.addTransaction(income2);
+        tracker.addTransaction(expense1);
+
+        List<Transaction> found = tracker.getTransactionsBetween(testDate1, testDate1);
+        assertEquals(2, found.size());
+        assertEquals(income1, found.get(0));
+        assertEquals(expense1, found.get(1));
+        assertEquals(3, tracker.getTransactionsBetween(testDate1, testDate2).size());
+        assertTrue(tracker.getTransactionsBetween(testDate2.plusDays(1), testDate2.plusDays(9)).isEmpty());
+    }
+
     @Test
     void testGetTotalIncome() {
         tracker.addTransaction(income1);
@@ -78,6 +93,24 @@ public class FinancialTrackerTest {
         assertEquals(1500.0, tracker.getTotalIncome()); // 1000 + 500
     }
 
+    @Test
+    void testTotalsFollowChanges() {
+        long version = tracker.getVersion();
+        tracker.addTransaction(income1);
+        assertEquals(1000.0, tracker.getTotalIncome());
+        tracker.addTransactions(List.of(expense1, income2));
+        assertEquals(1500.0, tracker.getTotalIncome());
+        assertEquals(200.0, tracker.getTotalExpenses());
+        tracker.removeTransaction(income1);
+        assertEquals(500.0, tracker.getTotalIncome());
+        assertEquals(200.0, tracker.getTotalExpenses());
+        assertEquals(version + 3, tracker.getVersion());
+        tracker.clearTransactions();
+        assertEquals(0.0, tracker.getTotalIncome());
+        assertEquals(0.0, tracker.getTotalExpenses());
+        assertEquals(version + 4, tracker.getVersion());
+    }
+
     @Test
     void testGetTransactionsCount() {
         tracker.addTransaction(income1);
@@ -85,4 +118,55 @@ public class FinancialTrackerTest {
         tracker.addTransaction(income2);
         assertEquals(3, tracker.getTransactionCount());
     }
+
+    @Test
+    void testListenerNotifiedOfChanges() {
+        List<String> changes = new ArrayList<>();
+        tracker.addListener(new TrackerListener() {
+            @Override
+            public void transactionsAdded(int fromIndex, List<Transaction> added) {
+                changes.add("added " + fromIndex + " " + added.size());
+            }
+
+            @Override
+            public void transactionRemoved(int index, Transaction removed) {
+                changes.add("removed " + index + " " + removed.getDescription());
+            }
+
+            @Override
+            public void transactionsCleared(int count) {
+                changes.add("cleared " + count);
+            }
+        });
+        tracker.addTransaction(income1);
+        tracker.addTransaction(income2);
+        tracker.removeTransaction(income2);
+        tracker.removeTransaction(expense1);
+        tracker.clearTransactions();
+        tracker.addTransactions(List.of(income2, expense1));
+        tracker.addTransactions(List.of());
+
+        assertEquals(List.of("added 0 1", "added 1 1", "removed 1 Freelance", "cleared 1", "added 0 2"), changes);
+    }
+
+    @Test
+    void testAddTransactionsKeepsOrder() {
+        tracker.addTransaction(income1);
+        tracker.addTransactions(List.of(expense1, income2));
+        assertEquals(3, tracker.getTransactionCount());
+        assertEquals(income1, tracker.getTransaction(0));
+        assertEquals(expense1, tracker.getTransaction(1));
+        assertEquals(income2, tracker.getTransaction(2));
+    }
+
+    @Test
+    void testSnapshotIsIndependentCopy() {
+        tracker.addTransaction(income1);
+        FinancialTracker copy = tracker.snapshot();
+        tracker.addTransaction(income2);
+
+        assertEquals(1, copy.getTransactionCount());
+        assertSame(income1, copy.getTransaction(0));
+        assertEquals(2, tracker.getTransactionCount());
+    }
 }
@@ -0,0 +1,85 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.TransactionPermutations.Key;
+
+public class TransactionPermutationsTest {
+
+    private FinancialTracker tracker;
+    private TransactionPermutations permutations;
+
+    @BeforeEach
+    void runBefore() {
+        tracker = new FinancialTracker();
+        tracker.addTransaction(new Transaction(-50, "Groceries", "Food", LocalDate.of(2025, 3, 2)));
+        tracker.addTransaction(new Transaction(2000, "Salary", "Salary", LocalDate.of(2025, 3, 1)));
+        tracker.addTransaction(new Transaction(-900, "Apartment", "Rent", LocalDate.of(2025, 3, 1)));
+        permutations = new TransactionPermutations(tracker);
+        tracker.addListener(permutations);
+    }
+
+    @Test
+    void testSortByEachKey() {
+        assertFalse(permutations.isBuilt(Key.AMOUNT));
+        assertArrayEquals(new int[]{2, 0, 1}, order(Key.AMOUNT, true));
+        assertTrue(permutations.isBuilt(Key.AMOUNT));
+        assertArrayEquals(new int[]{1, 0, 2}, order(Key.AMOUNT, false));
+        assertArrayEquals(new int[]{1, 2, 0}, order(Key.DATE, true));
+        assertArrayEquals(new int[]{0, 2, 1}, order(Key.CATEGORY, true));
+        assertArrayEquals(new int[]{2, 0, 1}, order(Key.DESCRIPTION, true));
+    }
+
+    @Test
+    void testAddRemoveAndClear() {
+        order(Key.AMOUNT, true);
+        tracker.addTransaction(new Transaction(-100, "Bus pass", "Transportation", LocalDate.of(2025, 3, 5)));
+        assertArrayEquals(new int[]{2, 3, 0, 1}, order(Key.AMOUNT, true));
+        tracker.removeTransaction(tracker.getTransaction(0));
+        assertArrayEquals(new int[]{1, 2, 0}, order(Key.AMOUNT, true));
+        tracker.clearTransactions();
+        tracker.addTransaction(new Transaction(5, "Refund", "Other", LocalDate.of(2025, 3, 6)));
+        assertArrayEquals(new int[]{0}, order(Key.AMOUNT, true));
+    }
+
+    @Test
+    void testIncrementalMatchesFreshSort() {
+        Random random = new Random(42);
+        for (Key key : Key.values()) {
+            order(key, true);
+        }
+        for (int round = 0; round < 50; round++) {
+            List<Transaction> batch = new ArrayList<>();
+            for (int i = random.nextInt(20); i >= 0; i--) {
+                batch.add(new Transaction(random.nextInt(200) - 100, "Item " + random.nextInt(30),
+                        "C" + random.nextInt(5), LocalDate.of(2025, 1, 1 + random.nextInt(28))));
+            }
+            tracker.addTransactions(batch);
+            if (random.nextBoolean()) {
+                tracker.removeTransaction(tracker.getTransaction(random.nextInt(tracker.getTransactionCount())));
+            }
+        }
+        TransactionPermutations fresh = new TransactionPermutations(tracker);
+        for (Key key : Key.values()) {
+            for (int row = 0; row < tracker.getTransactionCount(); row++) {
+                assertEquals(fresh.indexAt(key, true, row), permutations.indexAt(key, true, row));
+            }
+        }
+    }
+
+    private int[] order(Key key, boolean ascending) {
+        int[] indices = new int[tracker.getTransactionCount()];
+        for (int row = 0; row < indices.length; row++) {
+            indices[row] = permutations.indexAt(key, ascending, row);
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+
+public class TransactionSearchTest {
+
+    private FinancialTracker tracker;
+    private TransactionSearch search;
+    private int cancelChecks;
+
+    @BeforeEach
+    void runBefore() {
+        tracker = new FinancialTracker();
+        for (int i = 0; i < 10000; i++) {
+            String category = i % 10 == 0 ? "Food" : "Rent";
+            tracker.addTransaction(new Transaction(-i, "Item " + i, category, LocalDate.of(2025, 1, 1 + i % 28)));
+        }
+        search = new TransactionSearch(tracker);
+        cancelChecks = 0;
+    }
+
+    @Test
+    void testMatches() {
+        Transaction groceries = new Transaction(-45.5, "Weekly Groceries", "Food", LocalDate.of(2025, 3, 10));
+        assertTrue(TransactionQuery.ALL.matches(groceries));
+        assertTrue(TransactionQuery.byCategory("Food").matches(groceries));
+        assertFalse(TransactionQuery.byCategory("Rent").matches(groceries));
+        assertTrue(query("Food", "GROC", -50, 0, null, null).matches(groceries));
+        assertFalse(query(null, "rent", -50, 0, null, null).matches(groceries));
+        assertFalse(query(null, "", -40, 0, null, null).matches(groceries));
+        assertTrue(query(null, "", -50, 0, LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 10)).matches(groceries));
+        assertFalse(query(null, "", -50, 0, LocalDate.of(2025, 3, 11), null).matches(groceries));
+    }
+
+    @Test
+    void testRefines() {
+        TransactionQuery food = TransactionQuery.byCategory("Food");
+        assertTrue(food.refines(TransactionQuery.ALL));
+        assertFalse(TransactionQuery.ALL.refines(food));
+        assertTrue(query("Food", "gro", -50, 0, null, null).refines(food));
+        assertTrue(query(null, "groc", 0, 0, null, null).refines(query(null, "GRO", -10, 10, null, null)));
+        assertFalse(query(null, "gr", 0, 0, null, null).refines(query(null, "gro", 0, 0, null, null)));
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        assertTrue(query(null, "", -1, 1, march.plusDays(1), march.plusDays(2))
+                .refines(query(null, "", -1, 1, march, null)));
+        assertFalse(query(null, "", -1, 1, null, null).refines(query(null, "", -1, 1, march, null)));
+        assertTrue(TransactionQuery.byCategory("Food").isCategoryOnly());
+        assertFalse(TransactionQuery.byCategory("Food").isAll());
+        assertTrue(TransactionQuery.ALL.isAll());
+    }
+
+    @Test
+    void testSearchRefinesLastResult() {
+        int[] food = search.search(TransactionQuery.byCategory("Food"), this::countCheck);
+        assertEquals(1000, food.length);
+        assertEquals(3, cancelChecks);
+        cancelChecks = 0;
+        int[] item5 = search.search(query("Food", "item 5", Double.NEGATIVE_INFINITY, 0, null, null),
+                this::countCheck);
+        assertEquals(1, cancelChecks);
+        assertEquals(111, item5.length);
+        assertEquals(50, item5[0]);
+        assertEquals(500, item5[1]);
+        assertEquals(590, item5[10]);
+        assertEquals(5990, item5[110]);
+    }
+
+    @Test
+    void testSearchAfterChangeScansTracker() {
+        search.search(TransactionQuery.byCategory("Food"), () -> false);
+        tracker.addTransaction(new Transaction(-1, "Snack", "Food", LocalDate.of(2025, 2, 1)));
+        int[] snacks = search.search(query("Food", "snack", Double.NEGATIVE_INFINITY, 0, null, null), this::countCheck);
+        assertEquals(3, cancelChecks);
+        assertArrayEquals(new int[]{10000}, snacks);
+    }
+
+    @Test
+    void testSearchCopyWhileTrackerChanges() {
+        Transaction[] copy = tracker.getTransactions().toArray(new Transaction[0]);
+        long version = tracker.getVersion();
+        tracker.removeTransaction(tracker.getTransaction(0));
+        int[] food = search.search(TransactionQuery.byCategory("Food"), copy, version, () -> false);
+        assertEquals(1000, food.length);
+        assertEquals(0, food[0]);
+        int[] current = search.search(TransactionQuery.byCategory("Food"), this::countCheck);
+        assertEquals(3, cancelChecks);
+        assertEquals(999, current.length);
+        assertEquals(9, current[0]);
+    }
+
+    @Test
+    void testSearchCancelled() {
+        assertNull(search.search(TransactionQuery.byCategory("Food"), () -> true));
+        int[] all = search.search(query(null, "item", Double.NEGATIVE_INFINITY, 0, null, null), () -> false);
+        assertEquals(10000, all.length);
+    }
+
+    private boolean countCheck() {
+        cancelChecks++;
+        return false;
+    }
+
+    private static TransactionQuery query(String category, String text, double min, double max,
+                                          LocalDate from, LocalDate to) {
+        return new TransactionQuery(category, text, min, max, from, to);
+    }
+}
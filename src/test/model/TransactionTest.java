@@ -24,4 +24,12 @@ public class TransactionTest {
         assertEquals("Income", transaction.getCategory());
         assertEquals(testDate, transaction.getDate());
     }
+
+    @Test
+    void testHasCategory() {
+        assertTrue(transaction.hasCategory("Income"));
+        assertTrue(transaction.hasCategory(new String("Income")));
+        assertFalse(transaction.hasCategory("Food"));
+        assertFalse(transaction.hasCategory("income"));
+    }
 }
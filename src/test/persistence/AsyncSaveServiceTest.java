@@ -0,0 +1,150 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncSaveServiceTest extends JsonTest {
+
+    private static final String DESTINATION = "./data/testAsyncSave.json";
+
+    private FinancialTracker tracker;
+    private AsyncSaveService service;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(DESTINATION));
+        tracker = new FinancialTracker();
+        tracker.addTransaction(new Transaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15)));
+        service = new AsyncSaveService(DESTINATION);
+    }
+
+    @Test
+    void testSaveWritesFile() {
+        try {
+            service.save(tracker).get(10, TimeUnit.SECONDS);
+            service.shutdown();
+
+            List<Transaction> loaded = new JsonReader(DESTINATION).read().getTransactions();
+            assertEquals(1, loaded.size());
+            checkTransaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15), loaded.get(0));
+            assertFalse(Files.exists(Paths.get(DESTINATION + ".tmp")));
+        } catch (Exception e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testSaveFailsForInvalidDestination() {
+        AsyncSaveService invalid = new AsyncSaveService("./data/noSuchDirectory/testAsyncSave.json");
+        try {
+            invalid.save(tracker).get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        } catch (Exception e) {
+            fail("Unexpected exception");
+        } finally {
+            invalid.shutdown();
+        }
+    }
+
+    @Test
+    void testUncheckedFailureCompletesFuture() {
+        List<IOException> failures = new CopyOnWriteArrayList<>();
+        service.addListener(new SaveListener() {
+            @Override
+            public void saveProgress(long written, long total) {
+                throw new IllegalStateException("broken listener");
+            }
+
+            @Override
+            public void saveCompleted() {
+            }
+
+            @Override
+            public void saveFailed(IOException e) {
+                failures.add(e);
+            }
+        });
+        try {
+            service.save(tracker).get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals(1, failures.size());
+        } catch (Exception e) {
+            fail("Unexpected exception");
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testPendingSavesAreCoalesced() {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service.addListener(new BlockingListener(writing, release));
+        try {
+            Future<Void> first = service.save(tracker);
+            assertTrue(writing.await(10, TimeUnit.SECONDS));
+            tracker.addTransaction(new Transaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16)));
+            Future<Void> second = service.save(tracker);
+            tracker.addTransaction(new Transaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1)));
+            Future<Void> third = service.save(tracker);
+            assertNotSame(first, second);
+            assertSame(second, third);
+
+            release.countDown();
+            third.get(10, TimeUnit.SECONDS);
+            assertTrue(first.isDone());
+            service.shutdown();
+            assertEquals(3, new JsonReader(DESTINATION).read().getTransactionCount());
+        } catch (Exception e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    // Represents a save listener that holds up the first save until released
+    private static class BlockingListener implements SaveListener {
+        private final CountDownLatch writing;
+        private final CountDownLatch release;
+
+        BlockingListener(CountDownLatch writing, CountDownLatch release) {
+            this.writing = writing;
+            this.release = release;
+        }
+
+        @Override
+        public void saveProgress(long written, long total) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void saveCompleted() {
+        }
+
+        @Override
+        public void saveFailed(IOException e) {
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BPlusTreeTest {
+
+    private static final String FILE = "./data/testBPlusTree.db";
+    private static final int PAGE_SIZE = 256;
+    private static final int COUNT = 5000;
+
+    private FileChannel channel;
+    private BufferPool pool;
+    private BPlusTree tree;
+    private List<Long> keys;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        channel = FileChannel.open(Paths.get(FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        pool = new BufferPool(channel, PAGE_SIZE, 8, 0);
+        tree = new BPlusTree(pool, BPlusTree.create(pool));
+        keys = new ArrayList<>();
+        for (long i = 0; i < COUNT; i++) {
+            keys.add(i * 3);
+        }
+        Collections.shuffle(keys, new Random(42));
+        for (long key : keys) {
+            tree.insert(key / 100, key, key * 10);
+        }
+        Collections.sort(keys);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        channel.close();
+    }
+
+    @Test
+    void testInsertKeepsKeyOrder() throws IOException {
+        assertEquals(COUNT, tree.size());
+        assertTrue(pool.getPageCount() > 8);
+        assertTrue(pool.getCachedPageCount() <= 8);
+        checkKeys(tree);
+    }
+
+    @Test
+    void testPositionAndRank() throws IOException {
+        for (int i = 0; i < COUNT; i += 37) {
+            long key = keys.get(i);
+            BPlusTree.Cursor cursor = tree.at(i);
+            assertTrue(cursor.next());
+            assertEquals(key, cursor.getLo());
+            assertEquals(i, tree.rank(key / 100, key));
+            assertEquals(i + 1, tree.rank(key / 100, key + 1));
+        }
+        assertFalse(tree.at(COUNT).next());
+    }
+
+    @Test
+    void testSeek() throws IOException {
+        BPlusTree.Cursor cursor = tree.seek(10, Long.MIN_VALUE);
+        assertTrue(cursor.next());
+        assertEquals(10, cursor.getHi());
+        assertEquals(1002, cursor.getLo());
+        assertEquals(10020, cursor.getValue());
+        assertFalse(tree.seek(Long.MAX_VALUE, 0).next());
+    }
+
+    @Test
+    void testDelete() throws IOException {
+        for (int i = 0; i < COUNT; i += 2) {
+            long key = keys.get(i);
+            assertTrue(tree.delete(key / 100, key));
+            assertFalse(tree.delete(key / 100, key));
+        }
+        assertEquals(COUNT / 2, tree.size());
+        List<Long> remaining = new ArrayList<>();
+        for (int i = 1; i < COUNT; i += 2) {
+            remaining.add(keys.get(i));
+        }
+        keys = remaining;
+        checkKeys(tree);
+        assertEquals(1, tree.rank(keys.get(1) / 100, keys.get(1)));
+    }
+
+    @Test
+    void testReopenAfterFlush() throws IOException {
+        pool.flush();
+        BufferPool reopened = new BufferPool(channel, PAGE_SIZE, 4, pool.getPageCount());
+        checkKeys(new BPlusTree(reopened, tree.getRoot()));
+    }
+
+    // EFFECTS: checks that a cursor over tree returns exactly the expected keys in order
+    private void checkKeys(BPlusTree tree) throws IOException {
+        BPlusTree.Cursor cursor = tree.at(0);
+        for (long key : keys) {
+            assertTrue(cursor.next());
+            assertEquals(key / 100, cursor.getHi());
+            assertEquals(key, cursor.getLo());
+            assertEquals(key * 10, cursor.getValue());
+        }
+        assertFalse(cursor.next());
+    }
+}
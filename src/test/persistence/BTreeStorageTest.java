@@ -0,0 +1,142 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.TrackerListener;
+import model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BTreeStorageTest extends JsonTest {
+
+    private static final String FILE = "./data/testBTreeStorage.db";
+    private static final int COUNT = 3000;
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private BTreeStorage storage;
+    private FinancialTracker tracker;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(FILE));
+        Files.deleteIfExists(Paths.get(BTreeStorage.recordPath(FILE)));
+        storage = new BTreeStorage(FILE, 16);
+        storage.open();
+        tracker = new FinancialTracker(storage);
+    }
+
+    @Test
+    void testTransactionsAreKeptInDateOrder() throws IOException {
+        addAll();
+        assertEquals(COUNT, tracker.getTransactionCount());
+        for (int i = 0; i < COUNT; i++) {
+            checkDay(i, tracker.getTransaction(i));
+        }
+        List<Transaction> all = tracker.getTransactions();
+        assertEquals(COUNT, all.size());
+        checkDay(COUNT - 1, all.get(COUNT - 1));
+        storage.close();
+    }
+
+    @Test
+    void testQueries() throws IOException {
+        addAll();
+        List<Transaction> range = tracker.getTransactionsBetween(START.plusDays(100), START.plusDays(149));
+        assertEquals(50, range.size());
+        for (int i = 0; i < range.size(); i++) {
+            checkDay(100 + i, range.get(i));
+        }
+        List<Transaction> food = tracker.getTransactionsByCategory("Food");
+        assertEquals(COUNT / 3, food.size());
+        for (int i = 0; i < food.size(); i++) {
+            checkDay(3 * i + 1, food.get(i));
+        }
+        assertTrue(tracker.getTransactionsByCategory("Travel").isEmpty());
+        storage.close();
+    }
+
+    @Test
+    void testRemoveReportsPosition() throws IOException {
+        addAll();
+        List<Integer> removedAt = new ArrayList<>();
+        tracker.addListener(new TrackerListener() {
+            @Override
+            public void transactionsAdded(int fromIndex, List<Transaction> added) {
+            }
+
+            @Override
+            public void transactionRemoved(int index, Transaction removed) {
+                removedAt.add(index);
+            }
+
+            @Override
+            public void transactionsCleared(int count) {
+            }
+        });
+        assertTrue(tracker.removeTransaction(tracker.getTransaction(500)));
+        assertTrue(tracker.removeTransaction(tracker.getTransaction(10)));
+        assertFalse(tracker.removeTransaction(transaction(11)));
+        assertFalse(tracker.removeTransaction(new Transaction(1.0, "Missing", "Food", START)));
+        assertEquals(Arrays.asList(500, 10), removedAt);
+        assertEquals(COUNT - 2, tracker.getTransactionCount());
+        checkDay(501, tracker.getTransaction(499));
+        storage.close();
+    }
+
+    @Test
+    void testReopenKeepsTransactions() throws IOException {
+        addAll();
+        storage.close();
+
+        BTreeStorage reopened = new BTreeStorage(FILE, 16);
+        reopened.open();
+        FinancialTracker loaded = new FinancialTracker(reopened);
+        assertEquals(COUNT, loaded.getTransactionCount());
+        checkDay(1234, loaded.getTransaction(1234));
+        loaded.addTransaction(transaction(-1));
+        checkDay(-1, loaded.getTransaction(0));
+        reopened.close();
+    }
+
+    @Test
+    void testClear() throws IOException {
+        addAll();
+        tracker.clearTransactions();
+        assertEquals(0, tracker.getTransactionCount());
+        assertTrue(tracker.getTransactions().isEmpty());
+        tracker.addTransaction(transaction(7));
+        checkDay(7, tracker.getTransaction(0));
+        storage.close();
+    }
+
+    // EFFECTS: adds the test transactions to the tracker in an order unrelated to their dates
+    private void addAll() {
+        List<Transaction> added = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            added.add(transaction((i * 7) % COUNT));
+        }
+        tracker.addTransactions(added);
+    }
+
+    // EFFECTS: returns the test transaction dated day days after START
+    private Transaction transaction(int day) {
+        String category = Math.floorMod(day, 3) == 1 ? "Food" : "Other";
+        return new Transaction(day, "Day " + day, category, START.plusDays(day));
+    }
+
+    // EFFECTS: checks that transaction is the test transaction dated day days after START
+    private void checkDay(int day, Transaction transaction) {
+        Transaction expected = transaction(day);
+        checkTransaction(expected.getAmount(), expected.getDescription(), expected.getCategory(),
+                expected.getDate(), transaction);
+    }
+}
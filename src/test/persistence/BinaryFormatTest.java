@@ -0,0 +1,135 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatTest extends JsonTest {
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./data/my\0illegal:fileName.bin");
+            writer.open();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderNotBinaryFile() {
+        try {
+            new BinaryReader("./data/testReaderGeneralFinancialTracker.json").read();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testWriteReadEmptyFinancialTracker() {
+        try {
+            write(new FinancialTracker(), "./data/testBinaryEmpty.bin");
+            FinancialTracker tracker = new BinaryReader("./data/testBinaryEmpty.bin").read();
+            assertEquals(0, tracker.getTransactionCount());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriteReadGeneralFinancialTracker() {
+        try {
+            FinancialTracker tracker = new FinancialTracker();
+            tracker.addTransaction(new Transaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15)));
+            tracker.addTransaction(new Transaction(-25.5, "Café & bakery", "Food", LocalDate.of(2025, 7, 18)));
+            tracker.addTransaction(new Transaction(-12.34, "Salary", "Food", LocalDate.of(1969, 12, 31)));
+            write(tracker, "./data/testBinaryGeneral.bin");
+
+            BinaryReader reader = new BinaryReader("./data/testBinaryGeneral.bin");
+            reader.open();
+            assertEquals(3, reader.getRecordCount());
+            checkTransaction(-12.34, "Salary", "Food", LocalDate.of(1969, 12, 31), reader.getTransaction(2));
+            checkTransaction(-25.5, "Café & bakery", "Food", LocalDate.of(2025, 7, 18), reader.getTransaction(1));
+            checkTransaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15), reader.getTransaction(0));
+            reader.close();
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testConvertJsonToBinaryAndBack() {
+        try {
+            FormatConverter.jsonToBinary("./data/testReaderLargeSet.json", "./data/testBinaryLargeSet.bin");
+            FormatConverter.binaryToJson("./data/testBinaryLargeSet.bin", "./data/testBinaryLargeSet.json");
+
+            List<Transaction> expected = new JsonReader("./data/testReaderLargeSet.json").read().getTransactions();
+            List<Transaction> actual = new JsonReader("./data/testBinaryLargeSet.json").read().getTransactions();
+            assertEquals(15, actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Transaction t = expected.get(i);
+                checkTransaction(t.getAmount(), t.getDescription(), t.getCategory(), t.getDate(), actual.get(i));
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReaderWrongVersion() {
+        try {
+            write(new FinancialTracker(), "./data/testBinaryVersion.bin");
+            try (RandomAccessFile file = new RandomAccessFile("./data/testBinaryVersion.bin", "rw")) {
+                file.seek(4);
+                file.writeInt(BinaryFormat.VERSION + 1);
+            }
+            new BinaryReader("./data/testBinaryVersion.bin").read();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderCorruptFile() throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        tracker.addTransaction(new Transaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15)));
+        write(tracker, "./data/testBinaryCorrupt.bin");
+        try (RandomAccessFile file = new RandomAccessFile("./data/testBinaryCorrupt.bin", "rw")) {
+            file.seek(BinaryFormat.HEADER_SIZE + BinaryFormat.CATEGORY_OFFSET);
+            file.writeInt(7);
+        }
+        try {
+            new BinaryReader("./data/testBinaryCorrupt.bin").read();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("testBinaryCorrupt.bin"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile("./data/testBinaryCorrupt.bin", "rw")) {
+            file.setLength(BinaryFormat.HEADER_SIZE + 8);
+        }
+        try {
+            new BinaryReader("./data/testBinaryCorrupt.bin").read();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("testBinaryCorrupt.bin"));
+        }
+    }
+
+    // EFFECTS: writes tracker to destination in binary format
+    private void write(FinancialTracker tracker, String destination) throws IOException {
+        BinaryWriter writer = new BinaryWriter(destination);
+        writer.open();
+        writer.write(tracker);
+        writer.close();
+    }
+}
@@ -0,0 +1,112 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedStreamsTest extends JsonTest {
+
+    private static final String PLAIN = "./data/testCompressedPlain.json";
+    private static final String FAST = "./data/testCompressedFast.json.gz";
+    private static final String BEST = "./data/testCompressedBest.json.gz";
+
+    @Test
+    void testCompressedFilesReadByAllReaders() {
+        try {
+            FinancialTracker tracker = largeTracker();
+            writeStream(tracker, PLAIN, CompressedStreams.UNCOMPRESSED);
+            writeStream(tracker, FAST, Deflater.BEST_SPEED);
+            JsonWriter writer = new JsonWriter(BEST);
+            writer.setCompressionLevel(Deflater.BEST_COMPRESSION);
+            writer.open();
+            writer.write(tracker);
+            writer.close();
+
+            long plainSize = Files.size(Paths.get(PLAIN));
+            assertTrue(Files.size(Paths.get(FAST)) * 4 < plainSize);
+            assertTrue(Files.size(Paths.get(BEST)) <= Files.size(Paths.get(FAST)));
+            for (String source : new String[] {PLAIN, FAST, BEST}) {
+                checkSame(tracker, new JsonReader(source).read());
+                checkSame(tracker, new JsonStreamReader(source).read());
+                checkSame(tracker, new ParallelJsonReader(source, 2).read());
+                Files.delete(Paths.get(source));
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testPlainInputIsUnchanged() {
+        try (InputStream in = CompressedStreams.newInputStream("./data/testReaderEmptyFinancialTracker.json")) {
+            byte[] expected = Files.readAllBytes(Paths.get("./data/testReaderEmptyFinancialTracker.json"));
+            assertArrayEquals(expected, in.readAllBytes());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testCompressedStoreSnapshot() {
+        try {
+            Files.deleteIfExists(Paths.get(FAST + ".journal"));
+            JournaledStore store = new JournaledStore(FAST);
+            store.setCompressionLevel(Deflater.DEFAULT_COMPRESSION);
+            FinancialTracker tracker = new FinancialTracker();
+            store.attach(tracker);
+            tracker.addTransaction(new Transaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16)));
+            store.commit();
+            store.close();
+
+            try (InputStream in = Files.newInputStream(Paths.get(FAST))) {
+                assertEquals(0x1f, in.read());
+                assertEquals(0x8b, in.read());
+            }
+            List<Transaction> loaded = new JournaledStore(FAST).load().getTransactions();
+            assertEquals(1, loaded.size());
+            checkTransaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16), loaded.get(0));
+            Files.delete(Paths.get(FAST + ".journal"));
+            Files.delete(Paths.get(FAST));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    // EFFECTS: returns tracker holding a few thousand repetitive transactions
+    private FinancialTracker largeTracker() {
+        FinancialTracker tracker = new FinancialTracker();
+        for (int i = 0; i < 5000; i++) {
+            tracker.addTransaction(new Transaction(i % 2 == 0 ? 1500.0 : -42.5, "Transaction " + i,
+                    i % 2 == 0 ? "Income" : "Food", LocalDate.of(2025, 1, 1).plusDays(i % 60)));
+        }
+        return tracker;
+    }
+
+    // EFFECTS: writes tracker to destination with stream writer at compression level
+    private void writeStream(FinancialTracker tracker, String destination, int level) throws IOException {
+        JsonStreamWriter writer = new JsonStreamWriter(destination);
+        writer.setCompressionLevel(level);
+        writer.open();
+        writer.write(tracker);
+        writer.close();
+    }
+
+    // EFFECTS: checks that actual holds the same transactions as expected
+    private void checkSame(FinancialTracker expected, FinancialTracker actual) {
+        assertEquals(expected.getTransactionCount(), actual.getTransactionCount());
+        for (int i = 0; i < expected.getTransactionCount(); i++) {
+            Transaction t = expected.getTransaction(i);
+            checkTransaction(t.getAmount(), t.getDescription(), t.getCategory(), t.getDate(), actual.getTransaction(i));
+        }
+    }
+}
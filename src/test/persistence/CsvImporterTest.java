@@ -0,0 +1,112 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvImporterTest extends JsonTest {
+
+    private static final String STATEMENT = "./data/testImportStatement.csv";
+    private static final String GENERATED = "./data/testImportGenerated.csv";
+    private static final String REJECTS = "./data/testImportRejects.csv";
+
+    private FinancialTracker tracker;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(REJECTS));
+        tracker = new FinancialTracker();
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(Paths.get(GENERATED));
+        Files.deleteIfExists(Paths.get(REJECTS));
+    }
+
+    @Test
+    void testImportWithHeaderMapping() {
+        try {
+            CsvImporter importer = new CsvImporter(STATEMENT, REJECTS);
+            assertEquals(3, importer.importInto(tracker));
+            assertEquals(4, importer.getRejectedCount());
+
+            List<Transaction> imported = tracker.getTransactions();
+            checkTransaction(1500.0, "Salary, January", "Income", LocalDate.of(2025, 1, 15), imported.get(0));
+            checkTransaction(-52.75, "Groceries \"Fresh\" Market", "Food", LocalDate.of(2025, 1, 16), imported.get(1));
+            checkTransaction(-12.5, "Multi\nline note", "Other", LocalDate.of(2025, 1, 19), imported.get(2));
+
+            List<String> rejects = Files.readAllLines(Paths.get(REJECTS), StandardCharsets.UTF_8);
+            assertEquals(5, rejects.size());
+            assertEquals("Date,Description,Amount,Category,error", rejects.get(0));
+            assertEquals("2025-01-17,Coffee,abc,Food,\"line 5: invalid amount: abc\"", rejects.get(1));
+            assertEquals("2025-02-30,Rent,-800,Rent,\"line 6: invalid date: 2025-02-30\"", rejects.get(2));
+            assertTrue(rejects.get(3).startsWith("2025-01-18,,-5,Food,\"line 7: "));
+            assertEquals("2025-01-20,Short row,\"line 10: expected 4 columns but found 2\"", rejects.get(4));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testImportWithCustomMapping() {
+        try {
+            Files.write(Paths.get(GENERATED), "03/01/2025;Bus pass;-45.5\n12/31/2024;Refund;20\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            CsvColumnMapping mapping = new CsvColumnMapping(2, 1, CsvColumnMapping.ABSENT, 0);
+            mapping.setDelimiter(';');
+            mapping.setHeader(false);
+            mapping.setDatePattern("MM/dd/yyyy");
+            CsvImporter importer = new CsvImporter(GENERATED, REJECTS);
+            importer.setMapping(mapping);
+
+            assertEquals(2, importer.importInto(tracker));
+            assertEquals(0, importer.getRejectedCount());
+            assertFalse(Files.exists(Paths.get(REJECTS)));
+            checkTransaction(-45.5, "Bus pass", "Other", LocalDate.of(2025, 3, 1), tracker.getTransaction(0));
+            checkTransaction(20.0, "Refund", "Other", LocalDate.of(2024, 12, 31), tracker.getTransaction(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testImportWithoutRequiredColumn() {
+        try {
+            Files.write(Paths.get(GENERATED), "date,amount,memo\n2025-01-01,5,x\n".getBytes(StandardCharsets.UTF_8));
+            new CsvImporter(GENERATED, REJECTS).importInto(tracker);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals(0, tracker.getTransactionCount());
+        }
+    }
+
+    @Test
+    void testLargeImportKeepsOrder() {
+        try {
+            StringBuilder csv = new StringBuilder("amount,description,category,date\n");
+            for (int i = 0; i < 20000; i++) {
+                csv.append(i).append(".5,Row ").append(i).append(",Food,2025-01-01\n");
+            }
+            Files.write(Paths.get(GENERATED), csv.toString().getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(20000, new CsvImporter(GENERATED, REJECTS).importInto(tracker));
+            assertEquals(20000, tracker.getTransactionCount());
+            checkTransaction(8192.5, "Row 8192", "Food", LocalDate.of(2025, 1, 1), tracker.getTransaction(8192));
+            checkTransaction(19999.5, "Row 19999", "Food", LocalDate.of(2025, 1, 1), tracker.getTransaction(19999));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
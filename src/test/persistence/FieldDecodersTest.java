@@ -0,0 +1,61 @@
+package persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldDecodersTest {
+
+    @Test
+    void testEpochDayMatchesLocalDate() {
+        LocalDate date = LocalDate.of(1899, 12, 25);
+        while (date.getYear() < 2101) {
+            assertEquals(date.toEpochDay(), FieldDecoders.parseEpochDay(date.toString()));
+            date = date.plusDays(3);
+        }
+        assertEquals(LocalDate.of(0, 1, 1).toEpochDay(), FieldDecoders.parseEpochDay("0000-01-01"));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), FieldDecoders.parseEpochDay("2024-02-29"));
+        assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), FieldDecoders.parseEpochDay("2000-02-29"));
+    }
+
+    @Test
+    void testEpochDayFallsBackOnUnusualText() {
+        assertEquals(LocalDate.of(12345, 1, 1).toEpochDay(), FieldDecoders.parseEpochDay("+12345-01-01"));
+        assertThrows(DateTimeParseException.class, () -> FieldDecoders.parseEpochDay("2025-02-29"));
+        assertThrows(DateTimeParseException.class, () -> FieldDecoders.parseEpochDay("1900-02-29"));
+        assertThrows(DateTimeParseException.class, () -> FieldDecoders.parseEpochDay("2025-13-01"));
+        assertThrows(DateTimeParseException.class, () -> FieldDecoders.parseEpochDay("2025/01/01"));
+        assertThrows(DateTimeParseException.class, () -> FieldDecoders.parseEpochDay("2025-1-1"));
+    }
+
+    @Test
+    void testCents() {
+        assertEquals(150000, FieldDecoders.parseCents("1500.0"));
+        assertEquals(-30025, FieldDecoders.parseCents("-300.25"));
+        assertEquals(1000, FieldDecoders.parseCents("10"));
+        assertEquals(5, FieldDecoders.parseCents("0.05"));
+        assertEquals(Long.MIN_VALUE, FieldDecoders.parseCents("0.333"));
+        assertEquals(Long.MIN_VALUE, FieldDecoders.parseCents("1.5E3"));
+        assertEquals(Long.MIN_VALUE, FieldDecoders.parseCents("12."));
+        assertEquals(Long.MIN_VALUE, FieldDecoders.parseCents("-0.0"));
+        assertEquals(Long.MIN_VALUE, FieldDecoders.parseCents("-"));
+        assertEquals(Long.MIN_VALUE, FieldDecoders.parseCents("1234567890123456"));
+    }
+
+    @Test
+    void testAmountMatchesParseDouble() {
+        String[] texts = {"1500.0", "-300.25", "0.1", "0.07", "99999999.99", "-0.0", "0.333", "1.5E3", "+2", "12."};
+        for (String text : texts) {
+            assertEquals(Double.parseDouble(text), FieldDecoders.parseAmount(text));
+        }
+        for (long cents = -100000; cents <= 100000; cents += 7) {
+            String text = (cents < 0 ? "-" : "") + Math.abs(cents) / 100 + "."
+                    + String.format("%02d", Math.abs(cents) % 100);
+            assertEquals(Double.parseDouble(text), FieldDecoders.parseAmount(text));
+        }
+        assertThrows(NumberFormatException.class, () -> FieldDecoders.parseAmount("true"));
+    }
+}
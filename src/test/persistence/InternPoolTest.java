@@ -0,0 +1,89 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternPoolTest {
+
+    @Test
+    void testSharesEqualStrings() {
+        InternPool pool = new InternPool();
+        String rent = pool.description(new String("Monthly Rent"));
+        assertSame(rent, pool.description(new String("Monthly Rent")));
+        String housing = pool.category(new String("Housing"));
+        assertSame(housing, pool.category(new String("Housing")));
+        assertNotSame(rent, pool.category(new String("Monthly Rent")));
+        assertEquals(5, pool.getLookups());
+        assertEquals(2, pool.getHits());
+        assertEquals(Transaction.CATEGORIES.size() + 3, pool.getPooledCount());
+        assertEquals(2 * 24 + 32 + 24, pool.getSavedBytes());
+        assertEquals("Shared 2 of 5 strings, saving about 1 KB", pool.summary());
+    }
+
+    @Test
+    void testDescriptionTableIsBounded() {
+        InternPool pool = new InternPool();
+        for (int i = 0; i < InternPool.MAX_DESCRIPTIONS; i++) {
+            pool.description("Unique " + i);
+        }
+        String late = new String("Late");
+        assertSame(late, pool.description(late));
+        assertNotSame(late, pool.description(new String("Late")));
+        assertEquals(Transaction.CATEGORIES.size() + InternPool.MAX_DESCRIPTIONS, pool.getPooledCount());
+        assertEquals(0, pool.getHits());
+    }
+
+    @Test
+    void testCategoriesAreCanonical() {
+        InternPool pool = new InternPool();
+        for (String category : Transaction.CATEGORIES) {
+            assertSame(category, pool.category(new String(category)));
+        }
+        Transaction loaded = new Transaction(-5, "Coffee", pool.category(new String("Food")), LocalDate.now());
+        assertTrue(loaded.hasCategory(Transaction.CATEGORIES.get(0)));
+        assertEquals(Transaction.CATEGORIES.size() + 1, pool.getHits());
+    }
+
+    @Test
+    void testFrequentDescriptionReplacesRareOne() {
+        InternPool pool = new InternPool();
+        for (int i = 0; i < InternPool.MAX_DESCRIPTIONS; i++) {
+            pool.description("Unique " + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            pool.description(new String("Monthly Rent"));
+        }
+        String rent = pool.description(new String("Monthly Rent"));
+        assertSame(rent, pool.description(new String("Monthly Rent")));
+        assertEquals(Transaction.CATEGORIES.size() + InternPool.MAX_DESCRIPTIONS, pool.getPooledCount());
+    }
+
+    @Test
+    void testLoadSharesStrings() throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        for (int i = 0; i < 10; i++) {
+            tracker.addTransaction(new Transaction(-1200, "Monthly Rent", "Housing", LocalDate.of(2025, 1 + i, 1)));
+            tracker.addTransaction(new Transaction(-i, "Coffee " + i, "Food", LocalDate.of(2025, 1 + i, 2)));
+        }
+        JsonWriter writer = new JsonWriter("./data/testInternPool.json");
+        writer.open();
+        writer.write(tracker);
+        writer.close();
+        ParallelJsonReader reader = new ParallelJsonReader("./data/testInternPool.json");
+        FinancialTracker loaded = reader.read();
+        for (int i = 2; i < 20; i += 2) {
+            assertSame(loaded.getTransaction(0).getDescription(), loaded.getTransaction(i).getDescription());
+            assertSame(loaded.getTransaction(0).getCategory(), loaded.getTransaction(i).getCategory());
+            assertSame(loaded.getTransaction(1).getCategory(), loaded.getTransaction(i + 1).getCategory());
+        }
+        assertEquals(40, reader.getInternPool().getLookups());
+        assertEquals(9 + 9 + 10, reader.getInternPool().getHits());
+        assertEquals(10, loaded.getTransactionsByCategory("Food").size());
+    }
+}
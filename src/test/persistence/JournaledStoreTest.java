@@ -0,0 +1,285 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledStoreTest extends JsonTest {
+
+    private static final String SNAPSHOT = "./data/testJournaledStore.json";
+    private static final String JOURNAL = SNAPSHOT + ".journal";
+
+    private Transaction salary;
+    private Transaction groceries;
+    private Transaction rent;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(SNAPSHOT));
+        Files.deleteIfExists(Paths.get(JOURNAL));
+        salary = new Transaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15));
+        groceries = new Transaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16));
+        rent = new Transaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1));
+    }
+
+    @Test
+    void testLoadWithoutSnapshot() {
+        JournaledStore store = new JournaledStore(SNAPSHOT);
+        try {
+            store.load();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testMoveAsideKeepsUnreadableFiles() throws IOException {
+        Files.write(Paths.get(SNAPSHOT), "not json".getBytes(StandardCharsets.UTF_8));
+        Files.write(Paths.get(JOURNAL), "journal".getBytes(StandardCharsets.UTF_8));
+        JournaledStore store = new JournaledStore(SNAPSHOT);
+        try {
+            store.load();
+            fail("Exception expected");
+        } catch (IOException | JSONException e) {
+            // pass
+        }
+        String moved = store.moveAside(".unreadable");
+        FinancialTracker tracker = new FinancialTracker();
+        store.attach(tracker);
+        tracker.addTransaction(salary);
+        store.commit();
+        store.close();
+
+        assertEquals(SNAPSHOT + ".unreadable", moved);
+        assertEquals("not json", new String(Files.readAllBytes(Paths.get(moved)), StandardCharsets.UTF_8));
+        assertTrue(Files.exists(Paths.get(JOURNAL + ".unreadable")));
+        assertEquals(1, new JournaledStore(SNAPSHOT).load().getTransactionCount());
+        Files.delete(Paths.get(moved));
+        Files.delete(Paths.get(JOURNAL + ".unreadable"));
+    }
+
+    @Test
+    void testFirstCommitWritesSnapshot() {
+        try {
+            JournaledStore store = new JournaledStore(SNAPSHOT);
+            FinancialTracker tracker = new FinancialTracker();
+            store.attach(tracker);
+            tracker.addTransaction(salary);
+            store.commit();
+            store.close();
+
+            assertEquals(1, new JsonReader(SNAPSHOT).read().getTransactionCount());
+            List<Transaction> loaded = new JournaledStore(SNAPSHOT).load().getTransactions();
+            assertEquals(1, loaded.size());
+            checkTransaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15), loaded.get(0));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testCommitAppendsToJournalOnly() {
+        try {
+            saveInitialSnapshot();
+            long snapshotSize = Files.size(Paths.get(SNAPSHOT));
+
+            JournaledStore store = new JournaledStore(SNAPSHOT);
+            FinancialTracker tracker = store.load();
+            tracker.addTransaction(groceries);
+            tracker.removeTransaction(tracker.getTransaction(0));
+            store.commit();
+            tracker.addTransaction(rent);
+            store.close();
+
+            assertEquals(snapshotSize, Files.size(Paths.get(SNAPSHOT)));
+            List<Transaction> loaded = new JournaledStore(SNAPSHOT).load().getTransactions();
+            assertEquals(1, loaded.size());
+            checkTransaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16), loaded.get(0));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testFailedLoadKeepsTrackerJournaled() throws IOException {
+        saveInitialSnapshot();
+        Path snapshot = Paths.get(SNAPSHOT);
+        byte[] saved = Files.readAllBytes(snapshot);
+        FileTime modified = Files.getLastModifiedTime(snapshot);
+        JournaledStore store = new JournaledStore(SNAPSHOT);
+        FinancialTracker tracker = store.load();
+        Files.write(snapshot, "not json".getBytes(StandardCharsets.UTF_8));
+        try {
+            store.load();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+        Files.write(snapshot, saved);
+        Files.setLastModifiedTime(snapshot, modified);
+        tracker.addTransaction(groceries);
+        store.commit();
+        store.close();
+
+        List<Transaction> loaded = new JournaledStore(SNAPSHOT).load().getTransactions();
+        assertEquals(2, loaded.size());
+        checkTransaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16), loaded.get(1));
+    }
+
+    @Test
+    void testTouchedSnapshotKeepsJournal() throws IOException {
+        saveInitialSnapshot();
+        JournaledStore store = new JournaledStore(SNAPSHOT);
+        FinancialTracker tracker = store.load();
+        tracker.addTransactions(List.of(groceries, rent));
+        store.commit();
+        store.close();
+        Files.setLastModifiedTime(Paths.get(SNAPSHOT), FileTime.fromMillis(0));
+
+        assertEquals(3, new JournaledStore(SNAPSHOT).load().getTransactionCount());
+        assertEquals(3, new JournaledStore(SNAPSHOT).load().getTransactionCount());
+    }
+
+    @Test
+    void testJournalOfOtherSnapshotIsKept() throws IOException {
+        saveInitialSnapshot();
+        JournaledStore store = new JournaledStore(SNAPSHOT);
+        store.load().addTransaction(groceries);
+        store.commit();
+        store.close();
+        byte[] journal = Files.readAllBytes(Paths.get(JOURNAL));
+        JsonWriter writer = new JsonWriter(SNAPSHOT);
+        writer.open();
+        writer.write(new FinancialTracker());
+        writer.close();
+        try {
+            new JournaledStore(SNAPSHOT).load();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+        assertArrayEquals(journal, Files.readAllBytes(Paths.get(JOURNAL)));
+
+        store = new JournaledStore(SNAPSHOT);
+        FinancialTracker tracker = new FinancialTracker();
+        store.attach(tracker);
+        tracker.addTransaction(rent);
+        store.commit();
+        store.close();
+        assertEquals(1, new JournaledStore(SNAPSHOT).load().getTransactionCount());
+        try (Stream<Path> files = Files.list(Paths.get(SNAPSHOT).getParent())) {
+            List<Path> kept = files.filter(p -> p.getFileName().toString().startsWith("testJournaledStore.json"
+                    + ".journal.unmatched-")).collect(Collectors.toList());
+            assertEquals(1, kept.size());
+            assertArrayEquals(journal, Files.readAllBytes(kept.get(0)));
+            Files.delete(kept.get(0));
+        }
+    }
+
+    @Test
+    void testClearIsReplayed() {
+        try {
+            saveInitialSnapshot();
+            JournaledStore store = new JournaledStore(SNAPSHOT);
+            FinancialTracker tracker = store.load();
+            tracker.clearTransactions();
+            tracker.addTransaction(rent);
+            store.commit();
+            store.close();
+
+            List<Transaction> loaded = new JournaledStore(SNAPSHOT).load().getTransactions();
+            assertEquals(1, loaded.size());
+            checkTransaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1), loaded.get(0));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testCompactionFoldsJournalIntoSnapshot() {
+        try {
+            saveInitialSnapshot();
+            JournaledStore store = new JournaledStore(SNAPSHOT, 1);
+            FinancialTracker tracker = store.load();
+            tracker.addTransaction(groceries);
+            tracker.addTransaction(rent);
+            store.commit();
+            store.close();
+
+            assertEquals(3, new JsonReader(SNAPSHOT).read().getTransactionCount());
+            assertEquals(1, Files.readAllLines(Paths.get(JOURNAL)).size());
+            List<Transaction> loaded = new JournaledStore(SNAPSHOT).load().getTransactions();
+            assertEquals(3, loaded.size());
+            checkTransaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1), loaded.get(2));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReplacedSnapshotReplaysAfterLastCheckpoint() {
+        try {
+            saveInitialSnapshot();
+            String journal = "{\"op\":\"base\",\"length\":1,\"modified\":1}\n"
+                    + "{\"op\":\"add\",\"transaction\":" + salary.toJson() + "}\n"
+                    + "{\"op\":\"commit\"}\n{\"op\":\"checkpoint\"}\n"
+                    + "{\"op\":\"add\",\"transaction\":" + rent.toJson() + "}\n"
+                    + "{\"op\":\"commit\"}\n{\"op\":\"add\",\"tr";
+            Files.write(Paths.get(JOURNAL), journal.getBytes(StandardCharsets.UTF_8));
+
+            List<Transaction> loaded = new JournaledStore(SNAPSHOT).load().getTransactions();
+            assertEquals(2, loaded.size());
+            checkTransaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15), loaded.get(0));
+            checkTransaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1), loaded.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testUnfinishedRebaseIsIgnored() {
+        try {
+            saveInitialSnapshot();
+            String header = Files.readAllLines(Paths.get(JOURNAL)).get(0);
+            String journal = header + "\n"
+                    + "{\"op\":\"add\",\"transaction\":" + groceries.toJson() + "}\n"
+                    + "{\"op\":\"commit\"}\n{\"op\":\"rebase\"}\n"
+                    + "{\"op\":\"add\",\"transaction\":" + rent.toJson() + "}\n"
+                    + "{\"op\":\"commit\"}\n";
+            Files.write(Paths.get(JOURNAL), journal.getBytes(StandardCharsets.UTF_8));
+
+            List<Transaction> loaded = new JournaledStore(SNAPSHOT).load().getTransactions();
+            assertEquals(2, loaded.size());
+            checkTransaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15), loaded.get(0));
+            checkTransaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16), loaded.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    // EFFECTS: saves a snapshot holding only the salary transaction
+    private void saveInitialSnapshot() throws IOException {
+        JournaledStore store = new JournaledStore(SNAPSHOT);
+        FinancialTracker tracker = new FinancialTracker();
+        store.attach(tracker);
+        tracker.addTransaction(salary);
+        store.commit();
+        store.close();
+    }
+}
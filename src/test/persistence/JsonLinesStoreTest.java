@@ -0,0 +1,193 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesStoreTest extends JsonTest {
+
+    private static final String FILE = "./data/testJsonLinesStore.jsonl";
+
+    private Transaction salary;
+    private Transaction groceries;
+    private Transaction rent;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(FILE));
+        salary = new Transaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15));
+        groceries = new Transaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16));
+        rent = new Transaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1));
+    }
+
+    @Test
+    void testLoadMissingFile() {
+        try {
+            new JsonLinesStore(FILE).load();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testFirstCommitWritesOneLinePerTransaction() throws IOException {
+        JsonLinesStore store = new JsonLinesStore(FILE);
+        FinancialTracker tracker = new FinancialTracker();
+        store.attach(tracker);
+        tracker.addTransactions(Arrays.asList(salary, groceries));
+        store.commit();
+        store.close();
+
+        List<String> lines = Files.readAllLines(Paths.get(FILE), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList(salary.toJson().toString(), groceries.toJson().toString()), lines);
+        List<Transaction> loaded = new JsonLinesStore(FILE).load().getTransactions();
+        assertEquals(2, loaded.size());
+        checkTransaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16), loaded.get(1));
+    }
+
+    @Test
+    void testCommitAppendsAddedTransactions() throws IOException {
+        writeLines(salary.toJson().toString());
+        byte[] before = Files.readAllBytes(Paths.get(FILE));
+        JsonLinesStore store = new JsonLinesStore(FILE);
+        FinancialTracker tracker = store.load();
+        tracker.addTransaction(groceries);
+        tracker.addTransaction(rent);
+        store.commit();
+        store.commit();
+        store.close();
+
+        byte[] after = Files.readAllBytes(Paths.get(FILE));
+        String appended = groceries.toJson().toString() + "\n" + rent.toJson().toString() + "\n";
+        assertEquals(before.length + appended.length(), after.length);
+        assertArrayEquals(before, Arrays.copyOf(after, before.length));
+        assertEquals(3, new JsonLinesReader(FILE).read().getTransactionCount());
+    }
+
+    @Test
+    void testRemoveRewritesFile() throws IOException {
+        writeLines(salary.toJson().toString(), groceries.toJson().toString());
+        JsonLinesStore store = new JsonLinesStore(FILE);
+        FinancialTracker tracker = store.load();
+        tracker.removeTransaction(tracker.getTransaction(0));
+        tracker.addTransaction(rent);
+        store.commit();
+        store.close();
+
+        List<Transaction> loaded = new JsonLinesStore(FILE).load().getTransactions();
+        assertEquals(2, loaded.size());
+        checkTransaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16), loaded.get(0));
+        checkTransaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1), loaded.get(1));
+        assertFalse(Files.exists(Paths.get(FILE + ".tmp")));
+    }
+
+    @Test
+    void testTornLastLineIsDropped() throws IOException {
+        String torn = groceries.toJson().toString().substring(0, 20);
+        Files.write(Paths.get(FILE), (salary.toJson().toString() + "\n" + torn).getBytes(StandardCharsets.UTF_8));
+        JsonLinesStore store = new JsonLinesStore(FILE);
+        assertEquals(torn.length(), store.recover());
+        assertEquals(0, store.recover());
+
+        FinancialTracker tracker = store.load();
+        assertEquals(1, tracker.getTransactionCount());
+        tracker.addTransaction(rent);
+        store.commit();
+        assertEquals(2, new JsonLinesReader(FILE).read().getTransactionCount());
+    }
+
+    @Test
+    void testAppendAfterTornLineDropsIt() throws IOException {
+        writeLines(salary.toJson().toString());
+        JsonLinesStore store = new JsonLinesStore(FILE);
+        FinancialTracker tracker = store.load();
+        Files.write(Paths.get(FILE), groceries.toJson().toString().substring(0, 20).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        tracker.addTransaction(rent);
+        store.commit();
+        store.close();
+
+        List<Transaction> loaded = new JsonLinesStore(FILE).load().getTransactions();
+        assertEquals(2, loaded.size());
+        checkTransaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1), loaded.get(1));
+    }
+
+    @Test
+    void testFailedCommitIsRetried() throws IOException {
+        writeLines(salary.toJson().toString());
+        byte[] saved = Files.readAllBytes(Paths.get(FILE));
+        JsonLinesStore store = new JsonLinesStore(FILE);
+        FinancialTracker tracker = store.load();
+        tracker.addTransaction(groceries);
+        Files.delete(Paths.get(FILE));
+        Files.createDirectory(Paths.get(FILE));
+        try {
+            store.commit();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+        Files.delete(Paths.get(FILE));
+        Files.write(Paths.get(FILE), saved);
+        store.commit();
+        store.commit();
+        store.close();
+
+        List<Transaction> loaded = new JsonLinesStore(FILE).load().getTransactions();
+        assertEquals(2, loaded.size());
+        checkTransaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16), loaded.get(1));
+    }
+
+    @Test
+    void testCompleteLastLineWithoutBreakIsKept() throws IOException {
+        Files.write(Paths.get(FILE), salary.toJson().toString().getBytes(StandardCharsets.UTF_8));
+        JsonLinesStore store = new JsonLinesStore(FILE);
+        assertEquals(0, store.recover());
+        assertEquals(Arrays.asList(salary.toJson().toString()),
+                Files.readAllLines(Paths.get(FILE), StandardCharsets.UTF_8));
+        assertEquals(1, store.load().getTransactionCount());
+    }
+
+    @Test
+    void testParallelReadMatchesFileOrder() throws IOException {
+        int count = 40000;
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            Transaction t = new Transaction(i, "Item " + i, "Category " + (i % 7), LocalDate.ofEpochDay(i % 20000));
+            lines.append(t.toJson().toString()).append('\n');
+        }
+        Files.write(Paths.get(FILE), lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<Transaction> loaded = new JsonLinesReader(FILE, 4).read().getTransactions();
+        assertEquals(count, loaded.size());
+        for (int i = 0; i < count; i += 997) {
+            checkTransaction(i, "Item " + i, "Category " + (i % 7), LocalDate.ofEpochDay(i % 20000), loaded.get(i));
+        }
+        checkTransaction(count - 1, "Item " + (count - 1), "Category " + ((count - 1) % 7),
+                LocalDate.ofEpochDay((count - 1) % 20000), loaded.get(count - 1));
+    }
+
+    @Test
+    void testReadEmptyFile() throws IOException {
+        Files.write(Paths.get(FILE), new byte[0]);
+        assertEquals(0, new JsonLinesReader(FILE).read().getTransactionCount());
+    }
+
+    // EFFECTS: writes given lines to the file, each followed by a line break
+    private void writeLines(String... lines) throws IOException {
+        Files.write(Paths.get(FILE), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,159 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStreamReaderTest extends JsonTest {
+
+    @Test
+    void testReaderNonExistentFile() {
+        JsonStreamReader reader = new JsonStreamReader("./data/noSuchFile.json");
+        try {
+            reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderEmptyFinancialTracker() {
+        JsonStreamReader reader = new JsonStreamReader("./data/testReaderEmptyFinancialTracker.json");
+        try {
+            FinancialTracker tracker = reader.read();
+            assertEquals(0, tracker.getTransactionCount());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderGeneralFinancialTracker() {
+        JsonStreamReader reader = new JsonStreamReader("./data/testReaderGeneralFinancialTracker.json");
+        try {
+            FinancialTracker tracker = reader.read();
+            List<Transaction> transactions = tracker.getTransactions();
+            assertEquals(2, transactions.size());
+            checkTransaction(1000.0, "Salary", "Income",
+                    LocalDate.of(2025, 1, 15), transactions.get(0));
+            checkTransaction(-50.0, "Groceries", "Food",
+                    LocalDate.of(2025, 1, 16), transactions.get(1));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderMatchesJsonReader() {
+        String[] sources = {"./data/FinancialHistory.json", "./data/testReaderLargeSet.json",
+            "./data/testReaderEdgeCaseFinancialTracker.json", "./data/testReaderSpecialChars.json"};
+        try {
+            for (String source : sources) {
+                List<Transaction> expected = new JsonReader(source).read().getTransactions();
+                List<Transaction> actual = new JsonStreamReader(source).read().getTransactions();
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Transaction t = expected.get(i);
+                    checkTransaction(t.getAmount(), t.getDescription(), t.getCategory(),
+                            t.getDate(), actual.get(i));
+                }
+            }
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderEmptyFile() {
+        JsonStreamReader reader = new JsonStreamReader("./data/testReaderEmptyFile.json");
+        try {
+            reader.read();
+            fail("Exception expected for empty file");
+        } catch (Exception e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testReaderInvalidDateFormat() {
+        JsonStreamReader reader = new JsonStreamReader("./data/testReaderInvalidDate.json");
+        try {
+            reader.read();
+            fail("Exception expected for invalid date format");
+        } catch (Exception e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testReaderMissingRequiredFields() {
+        JsonStreamReader reader = new JsonStreamReader("./data/testReaderMissingFields.json");
+        try {
+            reader.read();
+            fail("Exception expected for missing required fields");
+        } catch (Exception e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testTokenizerEscapesAndSkippedValues() {
+        JsonTokenizer tokenizer = new JsonTokenizer(new StringReader(
+                "{\"skip\": [1, {\"a\": null}, true], \"text\": \"tab\\there \\u00e9 \\\"q\\\"\", \"n\": \"-1.5\"}"));
+        try {
+            tokenizer.beginObject();
+            assertTrue(tokenizer.hasNext());
+            assertEquals("skip", tokenizer.nextName());
+            tokenizer.skipValue();
+            assertTrue(tokenizer.hasNext());
+            assertEquals("text", tokenizer.nextName());
+            assertEquals("tab\there é \"q\"", tokenizer.nextString());
+            assertTrue(tokenizer.hasNext());
+            assertEquals("n", tokenizer.nextName());
+            assertEquals(-1.5, tokenizer.nextDouble());
+            assertFalse(tokenizer.hasNext());
+            tokenizer.endObject();
+            assertEquals(-1, tokenizer.peek());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testTokenizerMissingComma() {
+        JsonTokenizer tokenizer = new JsonTokenizer(new StringReader("[1 2]"));
+        try {
+            tokenizer.beginArray();
+            assertTrue(tokenizer.hasNext());
+            assertEquals(1.0, tokenizer.nextDouble());
+            tokenizer.hasNext();
+            fail("Exception expected for missing comma");
+        } catch (Exception e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testTokenizerUnquotedBadNumber() {
+        JsonTokenizer tokenizer = new JsonTokenizer(new StringReader("{\"amount\": abc}"));
+        try {
+            tokenizer.beginObject();
+            assertEquals("amount", tokenizer.nextName());
+            tokenizer.nextDouble();
+            fail("JSONException expected for a bad number");
+        } catch (JSONException e) {
+            assertTrue(e.getMessage().startsWith("Value abc is not a number"));
+        } catch (IOException e) {
+            fail("IOException should not have been thrown");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStreamWriterTest extends JsonTest {
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            JsonStreamWriter writer = new JsonStreamWriter("./data/my\0illegal:fileName.json");
+            writer.open();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testWriterMatchesDomWriter() {
+        try {
+            FinancialTracker tracker = new FinancialTracker();
+            checkMatchesDomWriter(tracker);
+            tracker.addTransaction(new Transaction(2500.0, "Freelance work", "Income",
+                    LocalDate.of(2025, 7, 18)));
+            checkMatchesDomWriter(tracker);
+            tracker.addTransaction(new Transaction(-25.50, "Café \"corner\" & bakery\n", "Food",
+                    LocalDate.of(2025, 7, 18)));
+            tracker.addTransaction(new Transaction(1.23123123E8, "</script>", "Other",
+                    LocalDate.of(2025, 8, 4)));
+            checkMatchesDomWriter(tracker);
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterCompactMatchesToString() {
+        try {
+            FinancialTracker tracker = new FinancialTracker();
+            tracker.addTransaction(new Transaction(1000.0, "Salary", "Income",
+                    LocalDate.of(2025, 1, 15)));
+            tracker.addTransaction(new Transaction(-50.0, "Groceries", "Food",
+                    LocalDate.of(2025, 1, 16)));
+            JsonStreamWriter writer = new JsonStreamWriter("./data/testStreamWriterCompact.json", true);
+            writer.open();
+            writer.write(tracker);
+            writer.close();
+
+            assertEquals(tracker.toJson().toString(), readString("./data/testStreamWriterCompact.json"));
+
+            List<Transaction> transactions = new JsonStreamReader("./data/testStreamWriterCompact.json")
+                    .read().getTransactions();
+            assertEquals(2, transactions.size());
+            checkTransaction(1000.0, "Salary", "Income",
+                    LocalDate.of(2025, 1, 15), transactions.get(0));
+            checkTransaction(-50.0, "Groceries", "Food",
+                    LocalDate.of(2025, 1, 16), transactions.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    // EFFECTS: writes tracker with both writers and checks that the files are identical
+    private void checkMatchesDomWriter(FinancialTracker tracker) throws IOException {
+        JsonWriter domWriter = new JsonWriter("./data/testStreamWriterDom.json");
+        domWriter.open();
+        domWriter.write(tracker);
+        domWriter.close();
+
+        JsonStreamWriter streamWriter = new JsonStreamWriter("./data/testStreamWriterGeneral.json");
+        streamWriter.open();
+        streamWriter.write(tracker);
+        streamWriter.close();
+
+        assertEquals(readString("./data/testStreamWriterDom.json"),
+                readString("./data/testStreamWriterGeneral.json"));
+    }
+
+    // EFFECTS: returns contents of file decoded as UTF-8
+    private String readString(String source) throws IOException {
+        return new String(Files.readAllBytes(Paths.get(source)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package persistence;
+
+import model.EventLog;
+import model.FinancialTracker;
+import model.Transaction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import org.json.JSONObject;
+
+// Represents a benchmark comparing the field decoders and readers on a generated file with the
+// same records as testReaderLargeSet.json, scaled up to the requested number of rows. Run with
+// java -cp <classes> persistence.LoadBenchmark [rows] [rounds]
+public class LoadBenchmark {
+
+    private static final String SOURCE = "./data/benchmarkLargeSet.json";
+    private static final String[] CATEGORIES = {"Income", "Expense", "Food", "Rent", "Travel"};
+
+    // EFFECTS: runs benchmark with rows records (default one million), repeating each measurement
+    // rounds times (default three) so later rounds show warmed-up times
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        FinancialTracker tracker = generate(rows);
+        JsonStreamWriter writer = new JsonStreamWriter(SOURCE);
+        writer.open();
+        writer.write(tracker);
+        writer.close();
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                System.out.println("Round " + round + " (" + rows + " rows)");
+                benchmarkDecoders(tracker);
+                benchmarkReaders();
+            }
+        } finally {
+            Files.deleteIfExists(Paths.get(SOURCE));
+        }
+    }
+
+    // EFFECTS: returns tracker holding rows transactions in the style of testReaderLargeSet.json
+    private static FinancialTracker generate(int rows) {
+        FinancialTracker tracker = new FinancialTracker();
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            double amount = (i % 2 == 0 ? 1 : -1) * ((i * 37L) % 500000) / 100.0;
+            tracker.addTransaction(new Transaction(amount, "Transaction " + (i + 1),
+                    CATEGORIES[i % CATEGORIES.length], start.plusDays(i % 3650)));
+        }
+        EventLog.getInstance().clear();
+        return tracker;
+    }
+
+    // EFFECTS: prints time taken to decode the dates and amounts of tracker with the general
+    // parsers and with FieldDecoders
+    private static void benchmarkDecoders(FinancialTracker tracker) {
+        int count = tracker.getTransactionCount();
+        String[] dates = new String[count];
+        String[] amounts = new String[count];
+        for (int i = 0; i < count; i++) {
+            dates[i] = tracker.getTransaction(i).getDate().toString();
+            amounts[i] = JSONObject.numberToString(tracker.getTransaction(i).getAmount());
+        }
+        benchmarkDates(dates);
+        benchmarkAmounts(amounts);
+    }
+
+    // EFFECTS: prints time taken to decode dates with LocalDate.parse and with FieldDecoders
+    private static void benchmarkDates(String[] dates) {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (String date : dates) {
+            sum += LocalDate.parse(date).toEpochDay();
+        }
+        report("LocalDate.parse", start, sum);
+        start = System.nanoTime();
+        for (String date : dates) {
+            sum += FieldDecoders.parseEpochDay(date);
+        }
+        report("FieldDecoders.parseEpochDay", start, sum);
+    }
+
+    // EFFECTS: prints time taken to decode amounts with Double.parseDouble and with FieldDecoders
+    private static void benchmarkAmounts(String[] amounts) {
+        double sum = 0;
+        long start = System.nanoTime();
+        for (String amount : amounts) {
+            sum += Double.parseDouble(amount);
+        }
+        report("Double.parseDouble", start, (long) sum);
+        start = System.nanoTime();
+        for (String amount : amounts) {
+            sum += FieldDecoders.parseAmount(amount);
+        }
+        report("FieldDecoders.parseAmount", start, (long) sum);
+    }
+
+    // EFFECTS: prints time taken by each reader to load the generated file
+    private static void benchmarkReaders() throws IOException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        TrackerReader[] readers = {new JsonReader(SOURCE), new JsonStreamReader(SOURCE),
+            new ParallelJsonReader(SOURCE, 1), new ParallelJsonReader(SOURCE, processors)};
+        String[] names = {"JsonReader", "JsonStreamReader", "ParallelJsonReader x1",
+            "ParallelJsonReader x" + processors};
+        for (int i = 0; i < readers.length; i++) {
+            long start = System.nanoTime();
+            int count = readers[i].read().getTransactionCount();
+            report(names[i], start, count);
+            EventLog.getInstance().clear();
+        }
+    }
+
+    // EFFECTS: prints elapsed time since start for named measurement; check is printed so the
+    // measured work cannot be optimized away
+    private static void report(String name, long start, long check) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("  %-30s %6d ms  (%d)%n", name, millis, check);
+    }
+}
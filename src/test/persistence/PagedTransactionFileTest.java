@@ -0,0 +1,157 @@
+package persistence;
+
+import model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedTransactionFileTest extends JsonTest {
+
+    private static final String FILE = "./data/testPagedTransactions.jsonl";
+    private static final int COUNT = 5000;
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(PagedTransactionFile.indexPath(FILE)));
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < COUNT; i++) {
+            lines.append(transaction(i).toJson().toString()).append('\n');
+        }
+        Files.write(Paths.get(FILE), lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testOpenBuildsIndex() throws IOException {
+        PagedTransactionFile file = new PagedTransactionFile(FILE);
+        file.open();
+        assertTrue(Files.exists(Paths.get(PagedTransactionFile.indexPath(FILE))));
+        assertEquals(COUNT, file.getTransactionCount());
+        assertEquals((COUNT + PagedTransactionFile.PAGE_SIZE - 1) / PagedTransactionFile.PAGE_SIZE,
+                file.getPageCount());
+        assertEquals(0, file.getCachedPageCount());
+        checkSummaries(file);
+        file.close();
+    }
+
+    @Test
+    void testReopenReadsSameIndex() throws IOException {
+        PagedTransactionFile built = new PagedTransactionFile(FILE);
+        built.open();
+        built.close();
+        byte[] index = Files.readAllBytes(Paths.get(PagedTransactionFile.indexPath(FILE)));
+
+        PagedTransactionFile file = new PagedTransactionFile(FILE);
+        file.open();
+        assertArrayEquals(index, Files.readAllBytes(Paths.get(PagedTransactionFile.indexPath(FILE))));
+        assertEquals(COUNT, file.getTransactionCount());
+        checkSummaries(file);
+        checkLine(COUNT - 1, file.getTransaction(COUNT - 1));
+        file.close();
+    }
+
+    @Test
+    void testStaleIndexIsRebuilt() throws IOException {
+        PagedTransactionFile file = new PagedTransactionFile(FILE);
+        file.open();
+        file.close();
+        Files.write(Paths.get(FILE), (transaction(COUNT).toJson().toString() + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        file = new PagedTransactionFile(FILE);
+        file.open();
+        assertEquals(COUNT + 1, file.getTransactionCount());
+        checkLine(COUNT, file.getTransaction(COUNT));
+        file.close();
+    }
+
+    @Test
+    void testPagesAreReadOnDemandAndEvicted() throws IOException {
+        PagedTransactionFile file = new PagedTransactionFile(FILE, 2);
+        file.open();
+        for (int i = 0; i < COUNT; i += 7) {
+            checkLine(i, file.getTransaction(i));
+            assertTrue(file.getCachedPageCount() <= 2);
+        }
+        file.getTransaction(0);
+        assertEquals(2, file.getCachedPageCount());
+        file.close();
+    }
+
+    @Test
+    void testDateQueryReadsOnlyOverlappingPages() throws IOException {
+        PagedTransactionFile file = new PagedTransactionFile(FILE);
+        file.open();
+        List<Transaction> found = file.getTransactionsBetween(START.plusDays(100), START.plusDays(199));
+        assertEquals(100, found.size());
+        checkLine(100, found.get(0));
+        checkLine(199, found.get(99));
+        assertEquals(1, file.getCachedPageCount());
+
+        assertEquals(COUNT / 5, file.getTransactionsByCategory("Category 3").size());
+        assertEquals(file.getPageCount(), file.getCachedPageCount());
+        file.close();
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        Files.write(Paths.get(FILE), new byte[0]);
+        PagedTransactionFile file = new PagedTransactionFile(FILE);
+        file.open();
+        assertEquals(0, file.getTransactionCount());
+        assertEquals(0, file.getPageCount());
+        assertEquals(0.0, file.getTotalIncome());
+        assertTrue(file.getTransactionsBetween(START, START.plusDays(COUNT)).isEmpty());
+        file.close();
+    }
+
+    @Test
+    void testOpenMissingFile() {
+        try {
+            new PagedTransactionFile("./data/noSuchFile.jsonl").open();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    // EFFECTS: returns the transaction written on line i of the test file; every other one is
+    // an expense
+    private Transaction transaction(int i) {
+        double amount = i % 2 == 0 ? i : -i;
+        return new Transaction(amount, "Item " + i, "Category " + (i % 5), START.plusDays(i));
+    }
+
+    // EFFECTS: checks that transaction is the one written on line i of the test file
+    private void checkLine(int i, Transaction transaction) {
+        Transaction expected = transaction(i);
+        checkTransaction(expected.getAmount(), expected.getDescription(), expected.getCategory(),
+                expected.getDate(), transaction);
+    }
+
+    // EFFECTS: checks that page summaries of file describe the transactions of the test file
+    private void checkSummaries(PagedTransactionFile file) {
+        double income = 0.0;
+        double expenses = 0.0;
+        for (int i = 0; i < COUNT; i++) {
+            income += i % 2 == 0 ? i : 0;
+            expenses += i % 2 == 0 ? 0 : i;
+        }
+        assertEquals(income, file.getTotalIncome(), 1e-6);
+        assertEquals(expenses, file.getTotalExpenses(), 1e-6);
+        PageSummary second = file.getPageSummary(1);
+        assertEquals(PagedTransactionFile.PAGE_SIZE, second.getFirstIndex());
+        assertEquals(PagedTransactionFile.PAGE_SIZE, second.getCount());
+        assertEquals(START.plusDays(PagedTransactionFile.PAGE_SIZE), second.getFirstDate());
+        assertEquals(START.plusDays(2 * PagedTransactionFile.PAGE_SIZE - 1), second.getLastDate());
+    }
+}
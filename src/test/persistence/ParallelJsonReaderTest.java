@@ -0,0 +1,126 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelJsonReaderTest extends JsonTest {
+
+    @Test
+    void testReaderNonExistentFile() {
+        ParallelJsonReader reader = new ParallelJsonReader("./data/noSuchFile.json");
+        try {
+            reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderEmptyFinancialTracker() {
+        try {
+            FinancialTracker tracker = new ParallelJsonReader("./data/testReaderEmptyFinancialTracker.json").read();
+            assertEquals(0, tracker.getTransactionCount());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderEmptyFile() {
+        try {
+            new ParallelJsonReader("./data/testReaderEmptyFile.json").read();
+            fail("Exception expected for empty file");
+        } catch (Exception e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testReaderMissingRequiredFields() {
+        try {
+            new ParallelJsonReader("./data/testReaderMissingFields.json").read();
+            fail("Exception expected for missing required fields");
+        } catch (Exception e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testReaderMatchesStreamReader() {
+        try {
+            String source = "./data/testParallelReaderLarge.json";
+            FinancialTracker expected = new FinancialTracker();
+            for (int i = 0; i < 20000; i++) {
+                expected.addTransaction(new Transaction(i - 0.25, "Item {\"" + i + "\"}, [x]", "Cat" + (i % 7),
+                        LocalDate.of(2024, 1, 1).plusDays(i % 400)));
+            }
+            JsonStreamWriter writer = new JsonStreamWriter(source);
+            writer.open();
+            writer.write(expected);
+            writer.close();
+
+            List<Transaction> parallel = new ParallelJsonReader(source, 4).read().getTransactions();
+            List<Transaction> serial = new JsonStreamReader(source).read().getTransactions();
+            Files.delete(Paths.get(source));
+            assertEquals(serial.size(), parallel.size());
+            for (int i = 0; i < serial.size(); i++) {
+                Transaction t = serial.get(i);
+                checkTransaction(t.getAmount(), t.getDescription(), t.getCategory(), t.getDate(), parallel.get(i));
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testSplitterCutsAtRecordBoundaries() {
+        String json = "{\"other\": [\"transactions\"], \"transactions\": [{\"d\": \"}, {\\\"\"}, {\"d\": 1}, {}]}";
+        try {
+            Path file = Files.write(Paths.get("./data/testRecordSplitter.json"), json.getBytes(StandardCharsets.UTF_8));
+            List<long[]> chunks;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                chunks = new RecordSplitter(channel, 1).split();
+            }
+            Files.delete(file);
+            assertEquals(3, chunks.size());
+            assertEquals("{\"d\": \"}, {\\\"\"}", json.substring((int) chunks.get(0)[0], (int) chunks.get(0)[1]));
+            assertEquals(" {\"d\": 1}", json.substring((int) chunks.get(1)[0], (int) chunks.get(1)[1]));
+            assertEquals(" {}", json.substring((int) chunks.get(2)[0], (int) chunks.get(2)[1]));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testSplitterWithoutTransactions() {
+        try {
+            Path file = Files.write(Paths.get("./data/testRecordSplitter.json"),
+                    "{\"transactions\": 5}".getBytes(StandardCharsets.UTF_8));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                new RecordSplitter(channel, 1).split();
+                fail("JSONException expected");
+            } catch (JSONException e) {
+                // pass
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedStoreTest extends JsonTest {
+
+    private static final String DIRECTORY = "./data/testPartitionedStore";
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    private PartitionedStore store;
+    private Transaction salary;
+    private Transaction groceries;
+    private Transaction rent;
+    private Transaction bonus;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        if (Files.exists(Paths.get(DIRECTORY))) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(DIRECTORY))) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+        }
+        store = new PartitionedStore(DIRECTORY);
+        salary = new Transaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15));
+        groceries = new Transaction(-50.0, "Groceries", "Food", LocalDate.of(2025, 1, 16));
+        rent = new Transaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1));
+        bonus = new Transaction(300.0, "Bonus", "Income", LocalDate.of(2025, 3, 31));
+    }
+
+    @Test
+    void testLoadEmptyDirectory() throws IOException {
+        assertEquals(0, store.load().getTransactionCount());
+        assertTrue(store.getPartitionCounts().isEmpty());
+    }
+
+    @Test
+    void testCommitWritesOnePartitionPerMonth() throws IOException {
+        saveAll();
+
+        assertEquals(Arrays.asList(salary.toJson().toString(), groceries.toJson().toString()),
+                Files.readAllLines(Paths.get(store.partitionPath(JANUARY)), StandardCharsets.UTF_8));
+        PartitionedStore reopened = new PartitionedStore(DIRECTORY);
+        List<Transaction> loaded = reopened.load().getTransactions();
+        assertEquals(4, loaded.size());
+        checkTransaction(1000.0, "Salary", "Income", LocalDate.of(2025, 1, 15), loaded.get(0));
+        checkTransaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1), loaded.get(2));
+        checkTransaction(300.0, "Bonus", "Income", LocalDate.of(2025, 3, 31), loaded.get(3));
+        assertEquals(2, reopened.getPartitionCounts().get(JANUARY));
+        assertEquals(3, reopened.getPartitionCounts().size());
+    }
+
+    @Test
+    void testAddAppendsToItsMonthOnly() throws IOException {
+        saveAll();
+        FinancialTracker tracker = store.load();
+        markOld(JANUARY);
+        markOld(MARCH);
+        tracker.addTransaction(new Transaction(-20.0, "Bus Pass", "Transportation", LocalDate.of(2025, 2, 3)));
+        store.commit();
+
+        assertEquals(OLD, Files.getLastModifiedTime(Paths.get(store.partitionPath(JANUARY))));
+        assertEquals(OLD, Files.getLastModifiedTime(Paths.get(store.partitionPath(MARCH))));
+        assertEquals(2, Files.readAllLines(Paths.get(store.partitionPath(FEBRUARY))).size());
+        assertEquals(2, store.getPartitionCounts().get(FEBRUARY));
+        assertEquals(5, new PartitionedStore(DIRECTORY).load().getTransactionCount());
+    }
+
+    @Test
+    void testRemoveRewritesItsMonthAndDropsEmptyPartitions() throws IOException {
+        saveAll();
+        FinancialTracker tracker = store.load();
+        markOld(JANUARY);
+        tracker.removeTransaction(tracker.getTransaction(3));
+        tracker.removeTransaction(tracker.getTransaction(2));
+        store.commit();
+
+        assertEquals(OLD, Files.getLastModifiedTime(Paths.get(store.partitionPath(JANUARY))));
+        assertFalse(Files.exists(Paths.get(store.partitionPath(FEBRUARY))));
+        assertFalse(Files.exists(Paths.get(store.partitionPath(MARCH))));
+        PartitionedStore reopened = new PartitionedStore(DIRECTORY);
+        assertEquals(2, reopened.load().getTransactionCount());
+        assertEquals(1, reopened.getPartitionCounts().size());
+    }
+
+    @Test
+    void testRangeLoadReadsOnlyItsPartitions() throws IOException {
+        saveAll();
+        Files.write(Paths.get(store.partitionPath(JANUARY)), "not json\n".getBytes(StandardCharsets.UTF_8));
+
+        List<Transaction> loaded = new PartitionedStore(DIRECTORY).load(FEBRUARY, MARCH).getTransactions();
+        assertEquals(2, loaded.size());
+        checkTransaction(-800.0, "Monthly Rent", "Rent", LocalDate.of(2025, 2, 1), loaded.get(0));
+        checkTransaction(300.0, "Bonus", "Income", LocalDate.of(2025, 3, 31), loaded.get(1));
+    }
+
+    @Test
+    void testClearDeletesEveryPartition() throws IOException {
+        saveAll();
+        FinancialTracker tracker = store.load();
+        tracker.clearTransactions();
+        tracker.addTransaction(bonus);
+        store.commit();
+
+        assertFalse(Files.exists(Paths.get(store.partitionPath(JANUARY))));
+        assertEquals(1, new PartitionedStore(DIRECTORY).load().getTransactionCount());
+    }
+
+    @Test
+    void testFailedAppendIsRetriedWithoutDuplicates() throws IOException {
+        saveAll();
+        FinancialTracker tracker = store.load();
+        tracker.addTransaction(new Transaction(-20.0, "Bus Pass", "Transportation", LocalDate.of(2025, 1, 3)));
+        tracker.addTransaction(new Transaction(-30.0, "Dinner", "Food", LocalDate.of(2025, 2, 3)));
+        Path february = Paths.get(store.partitionPath(FEBRUARY));
+        byte[] saved = Files.readAllBytes(february);
+        Files.delete(february);
+        Files.createDirectory(february);
+        try {
+            store.commit();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+        Files.delete(february);
+        Files.write(february, saved);
+        store.commit();
+
+        PartitionedStore reopened = new PartitionedStore(DIRECTORY);
+        assertEquals(6, reopened.load().getTransactionCount());
+        assertEquals(3, reopened.getPartitionCounts().get(JANUARY));
+        assertEquals(2, reopened.getPartitionCounts().get(FEBRUARY));
+    }
+
+    @Test
+    void testListedPartitionThatIsMissingCountsAsEmpty() throws IOException {
+        saveAll();
+        Files.delete(Paths.get(store.partitionPath(MARCH)));
+
+        PartitionedStore reopened = new PartitionedStore(DIRECTORY);
+        assertEquals(3, reopened.load().getTransactionCount());
+        assertNull(reopened.getPartitionCounts().get(MARCH));
+        assertEquals(1, reopened.load(FEBRUARY, MARCH).getTransactionCount());
+    }
+
+    @Test
+    void testUnlistedPartitionIsDeleted() throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        store.attach(tracker);
+        tracker.addTransactions(Arrays.asList(salary, rent));
+        store.commit();
+        store.close();
+        Files.write(Paths.get(store.partitionPath(MARCH)), Arrays.asList(bonus.toJson().toString()),
+                StandardCharsets.UTF_8);
+
+        tracker = store.load();
+        assertEquals(2, tracker.getTransactionCount());
+        assertFalse(Files.exists(Paths.get(store.partitionPath(MARCH))));
+        tracker.addTransaction(bonus);
+        store.commit();
+        assertEquals(3, new PartitionedStore(DIRECTORY).load().getTransactionCount());
+    }
+
+    @Test
+    void testEmptiedPartitionIsKeptUntilManifestIsWritten() throws IOException {
+        saveAll();
+        FinancialTracker tracker = store.load();
+        tracker.removeTransaction(tracker.getTransaction(3));
+        Path temp = Paths.get(DIRECTORY, PartitionedStore.MANIFEST + ".tmp");
+        Files.createDirectory(temp);
+        try {
+            store.commit();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+        assertTrue(Files.exists(Paths.get(store.partitionPath(MARCH))));
+        assertEquals(4, new PartitionedStore(DIRECTORY).load().getTransactionCount());
+
+        Files.delete(temp);
+        tracker = store.load();
+        tracker.removeTransaction(tracker.getTransaction(3));
+        store.commit();
+        assertFalse(Files.exists(Paths.get(store.partitionPath(MARCH))));
+        assertEquals(3, new PartitionedStore(DIRECTORY).load().getTransactionCount());
+    }
+
+    @Test
+    void testCommitAfterCloseWritesNothing() throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        store.attach(tracker);
+        tracker.addTransaction(salary);
+        store.close();
+        store.commit();
+
+        assertEquals(0, new PartitionedStore(DIRECTORY).load().getTransactionCount());
+    }
+
+    // EFFECTS: saves a tracker holding the test transactions to a new store directory
+    private void saveAll() throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        store.attach(tracker);
+        tracker.addTransactions(Arrays.asList(salary, groceries, rent, bonus));
+        store.commit();
+        store.close();
+    }
+
+    // EFFECTS: sets modification time of the partition of month far in the past
+    private void markOld(YearMonth month) throws IOException {
+        Files.setLastModifiedTime(Paths.get(store.partitionPath(month)), OLD);
+    }
+}
@@ -0,0 +1,58 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordSinkTest {
+
+    @Test
+    void testJsonSinkMatchesToJson() throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        checkMatchesToJson(tracker);
+        tracker.addTransaction(new Transaction(2500.0, "Freelance work", "Income", LocalDate.of(2025, 7, 18)));
+        checkMatchesToJson(tracker);
+        tracker.addTransaction(new Transaction(-25.5, "Café \"corner\" & bakery\n", "Food",
+                LocalDate.of(2025, 7, 18)));
+        tracker.addTransaction(new Transaction(1.23123123E8, "</script>", "Other", LocalDate.of(-5, 1, 1)));
+        tracker.addTransaction(new Transaction(0.1 + 0.2, "", "", LocalDate.of(12025, 12, 31)));
+        tracker.addTransaction(new Transaction(0.0, "Zero", "Other", LocalDate.of(2025, 1, 9)));
+        checkMatchesToJson(tracker);
+    }
+
+    @Test
+    void testJsonSinkTransaction() throws IOException {
+        Transaction transaction = new Transaction(-4.05, "Bus", "Transport", LocalDate.of(2025, 3, 1));
+        assertEquals(transaction.toJson().toString(4), write(transaction, true));
+        assertEquals("{\"date\":\"2025-03-01\",\"amount\":-4.05,\"description\":\"Bus\",\"category\":\"Transport\"}",
+                write(transaction, false));
+    }
+
+    @Test
+    void testCsvSink() throws IOException {
+        FinancialTracker tracker = new FinancialTracker();
+        tracker.addTransaction(new Transaction(2500.0, "Freelance work", "Income", LocalDate.of(2025, 7, 18)));
+        tracker.addTransaction(new Transaction(-25.5, "Café, \"corner\"", "Food", LocalDate.of(2025, 7, 19)));
+        StringWriter text = new StringWriter();
+        tracker.writeTo(new CsvSink(text));
+        assertEquals("2025-07-18,2500,Freelance work,Income\n2025-07-19,-25.5,\"Café, \"\"corner\"\"\",Food\n",
+                text.toString());
+    }
+
+    private void checkMatchesToJson(FinancialTracker tracker) throws IOException {
+        assertEquals(tracker.toJson().toString(4), write(tracker, true));
+        assertEquals(tracker.toJson().toString(), write(tracker, false));
+    }
+
+    private String write(Writable writable, boolean pretty) throws IOException {
+        StringWriter text = new StringWriter();
+        writable.writeTo(new JsonSink(text, pretty));
+        return text.toString();
+    }
+}
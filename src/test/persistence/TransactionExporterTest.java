@@ -0,0 +1,131 @@
+package persistence;
+
+import model.FinancialTracker;
+import model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionExporterTest extends JsonTest {
+
+    private static final String CSV = "./data/testExport.csv";
+    private static final String JSONL = "./data/testExport.jsonl";
+
+    private FinancialTracker tracker;
+
+    @BeforeEach
+    void runBefore() {
+        tracker = new FinancialTracker();
+        tracker.addTransaction(new Transaction(1500.0, "Salary", "Income", LocalDate.of(2025, 1, 15)));
+        tracker.addTransaction(new Transaction(-52.75, "Groceries, \"Fresh\"", "Food", LocalDate.of(2025, 1, 16)));
+        tracker.addTransaction(new Transaction(0.05, "Interest\nQ1", "Income", LocalDate.of(2025, 2, 1)));
+        tracker.addTransaction(new Transaction(-0.5, "Café </b>", "Food", LocalDate.of(2025, 3, 1)));
+        tracker.addTransaction(new Transaction(12345678.9, "Big", "Other", LocalDate.of(2025, 3, 2)));
+        tracker.addTransaction(new Transaction(0.001, "Tiny", "Other", LocalDate.of(2025, 3, 3)));
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(Paths.get(CSV));
+        Files.deleteIfExists(Paths.get(JSONL));
+    }
+
+    @Test
+    void testJsonLinesMatchCompactJson() {
+        try {
+            TransactionExporter exporter = new TransactionExporter(JSONL, TransactionExporter.Format.JSON_LINES);
+            assertEquals(6, exporter.export(tracker));
+
+            List<String> lines = Files.readAllLines(Paths.get(JSONL), StandardCharsets.UTF_8);
+            assertEquals(6, lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                assertEquals(tracker.getTransaction(i).toJson().toString(), lines.get(i));
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testCsvRoundTripsThroughImporter() {
+        try {
+            assertEquals(6, new TransactionExporter(CSV, TransactionExporter.Format.CSV).export(tracker));
+
+            List<String> lines = Files.readAllLines(Paths.get(CSV), StandardCharsets.UTF_8);
+            assertEquals("date,amount,description,category", lines.get(0));
+            assertEquals("2025-01-15,1500,Salary,Income", lines.get(1));
+            assertEquals("2025-01-16,-52.75,\"Groceries, \"\"Fresh\"\"\",Food", lines.get(2));
+
+            FinancialTracker imported = new FinancialTracker();
+            assertEquals(6, new CsvImporter(CSV, CSV + ".rejects").importInto(imported));
+            for (int i = 0; i < 6; i++) {
+                Transaction t = tracker.getTransaction(i);
+                checkTransaction(t.getAmount(), t.getDescription(), t.getCategory(), t.getDate(),
+                        imported.getTransaction(i));
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testFilterByCategoryAndDateRange() {
+        try {
+            TransactionExporter exporter = new TransactionExporter(CSV, TransactionExporter.Format.CSV);
+            exporter.setCategory("Food");
+            assertEquals(2, exporter.export(tracker));
+            exporter.setDateRange(LocalDate.of(2025, 2, 1), null);
+            assertEquals(1, exporter.export(tracker));
+            exporter.setCategory(null);
+            exporter.setDateRange(LocalDate.of(2025, 1, 16), LocalDate.of(2025, 3, 1));
+            assertEquals(3, exporter.export(tracker));
+
+            List<String> lines = Files.readAllLines(Paths.get(CSV), StandardCharsets.UTF_8);
+            assertEquals(5, lines.size());
+            assertTrue(lines.get(4).startsWith("2025-03-01,-0.5,"));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testChannelWriterKeepsSurrogatePairsAcrossBuffers() {
+        String text = "a\uD83D\uDE00bc\uD83D\uDCB0\u00e9xyz\uD83D\uDE00";
+        try {
+            ChannelWriter writer = new ChannelWriter(FileChannel.open(Paths.get(CSV), StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), 2);
+            writer.write(text.substring(0, 2));
+            writer.write(text.charAt(2));
+            writer.write(text.toCharArray(), 3, text.length() - 3);
+            writer.close();
+            assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(Paths.get(CSV)));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testChannelWriterReplacesUnpairedSurrogates() {
+        String text = "a\uD83Db\uDE00c\uD83D";
+        try {
+            ChannelWriter writer = new ChannelWriter(FileChannel.open(Paths.get(CSV), StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), 2);
+            writer.write(text);
+            writer.close();
+            assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(Paths.get(CSV)));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}